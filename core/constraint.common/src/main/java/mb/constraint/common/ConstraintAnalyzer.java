@@ -5,10 +5,8 @@ import mb.common.message.KeyedMessages;
 import mb.common.message.KeyedMessagesBuilder;
 import mb.common.message.Messages;
 import mb.common.message.Severity;
-import mb.common.region.Region;
 import mb.common.util.MapView;
 import mb.jsglr.common.ResourceKeyAttachment;
-import mb.jsglr.common.TermTracer;
 import mb.nabl2.terms.stratego.StrategoBlob;
 import mb.nabl2.terms.stratego.StrategoTermIndices;
 import mb.nabl2.terms.stratego.TermIndex;
@@ -31,11 +29,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 
 public class ConstraintAnalyzer {
     public static class Result implements Serializable {
@@ -43,17 +40,57 @@ public class ConstraintAnalyzer {
         public final IStrategoTerm parsedAst;
         public final IStrategoTerm analyzedAst;
         public final IStrategoTerm analysis;
+        private volatile @Nullable StructuralDigest parsedAstDigest;
 
         public Result(
             ResourceKey resource,
             IStrategoTerm parsedAst,
             IStrategoTerm analyzedAst,
             IStrategoTerm analysis
+        ) {
+            this(resource, parsedAst, analyzedAst, analysis, null);
+        }
+
+        Result(
+            ResourceKey resource,
+            IStrategoTerm parsedAst,
+            IStrategoTerm analyzedAst,
+            IStrategoTerm analysis,
+            @Nullable StructuralDigest parsedAstDigest
         ) {
             this.resource = resource;
             this.parsedAst = parsedAst;
             this.analyzedAst = analyzedAst;
             this.analysis = analysis;
+            this.parsedAstDigest = parsedAstDigest;
+        }
+
+        /**
+         * Creates a copy of this result with {@code analysis}, keeping the digest of the parsed AST.
+         */
+        Result withAnalysis(IStrategoTerm analysis) {
+            return new Result(resource, parsedAst, analyzedAst, analysis, parsedAstDigest);
+        }
+
+        /**
+         * Creates a copy of this result with {@code parsedAst} and its {@code parsedAstDigest}, which must be equal to
+         * the digest of the parsed AST of this result.
+         */
+        Result withParsedAst(IStrategoTerm parsedAst, StructuralDigest parsedAstDigest) {
+            return new Result(resource, parsedAst, analyzedAst, analysis, parsedAstDigest);
+        }
+
+        /**
+         * Gets the {@link StructuralDigest digest} of the parsed AST, computing it on first use. The digest is
+         * serialized together with this result, such that it is computed only once per parsed AST.
+         */
+        StructuralDigest getParsedAstDigest() {
+            @Nullable StructuralDigest digest = parsedAstDigest;
+            if(digest == null) {
+                digest = StructuralDigest.of(parsedAst);
+                parsedAstDigest = digest;
+            }
+            return digest;
         }
 
         @Override public boolean equals(@Nullable Object o) {
@@ -180,6 +217,13 @@ public class ConstraintAnalyzer {
         public final ArrayList<Result> results;
         public final KeyedMessages messages;
 
+        /**
+         * Index from resource to position in {@link #results}. Not serialized, but (re)built on first lookup, as the
+         * hash codes of resource keys are not guaranteed to be stable across serialization. Volatile, such that an
+         * index built by one thread is safely published to others.
+         */
+        private transient volatile @Nullable HashMap<ResourceKey, Integer> resultIndex;
+
         public MultiFileResult(@Nullable ProjectResult projectResult, ArrayList<Result> results, KeyedMessages messages) {
             this.projectResult = projectResult;
             this.results = results;
@@ -199,8 +243,28 @@ public class ConstraintAnalyzer {
         }
 
         public @Nullable Result getResult(ResourceKey resource) {
-            // OPTO: linear search to lookup. Cannot use HashMap because it does not serialize properly.
-            return results.stream().filter((r) -> r.resource.equals(resource)).findFirst().orElse(null);
+            final @Nullable Integer index = getResultIndex().get(resource);
+            if(index == null) return null;
+            return results.get(index);
+        }
+
+        /**
+         * Gets the messages of {@code resource}, without copying messages of other resources.
+         */
+        public Messages getMessages(ResourceKey resource) {
+            return new Messages(messages.getMessagesOfKey(resource));
+        }
+
+        private HashMap<ResourceKey, Integer> getResultIndex() {
+            @Nullable HashMap<ResourceKey, Integer> index = resultIndex;
+            if(index == null) {
+                index = new HashMap<>(results.size() * 2);
+                for(int i = 0; i < results.size(); ++i) {
+                    index.putIfAbsent(results.get(i).resource, i); // putIfAbsent: keep first result, like a linear search.
+                }
+                resultIndex = index; // Concurrent first lookups may each build an index, but they are equal.
+            }
+            return index;
         }
 
         @Override public boolean equals(@Nullable Object o) {
@@ -297,7 +361,7 @@ public class ConstraintAnalyzer {
 
         /// 1. Compute changeset from given asts and cache.
 
-        final HashMap<ResourceKey, IStrategoTerm> addedOrChangedAsts = new HashMap<>();
+        final LinkedHashMap<ResourceKey, IStrategoTerm> addedOrChangedAsts = new LinkedHashMap<>(); // Linked: keep the order of the given ASTs in the results.
         for(Entry<ResourceKey, IStrategoTerm> entry : asts.entrySet()) {
             final ResourceKey resource = entry.getKey();
             final IStrategoTerm ast = entry.getValue();
@@ -349,17 +413,25 @@ public class ConstraintAnalyzer {
             final IStrategoTerm change;
             final @Nullable Result cachedResult = context.getResult(resource);
             if(cachedResult != null) {
-                if(!multiFile || cachedResult.parsedAst.hashCode() != ast.hashCode() || !cachedResult.parsedAst.equals(ast) || !regionsEqual(cachedResult.parsedAst, ast)) {
+                // Only multi-file analysis reuses cached results. An AST that is not identical to the cached AST is
+                // unchanged when their digests are equal. The AST and its digest are then kept with the result, such
+                // that the digest is computed only once per parsed AST.
+                final @Nullable StructuralDigest digest = multiFile && cachedResult.parsedAst != ast ? StructuralDigest.of(ast) : null;
+                final boolean unchanged = multiFile && (digest == null || digest.equals(cachedResult.getParsedAstDigest()));
+                if(!unchanged) {
                     change = termFactory.makeAppl("Changed", ast, cachedResult.analysis);
                     context.removeResult(resource); // TODO: is it needed to remove this?
-                    expects.put(resource, new Full(resource, ast));
+                    expects.put(resource, new Full(resource, ast, digest));
                 } else {
+                    if(digest != null) {
+                        context.updateResult(resource, cachedResult.withParsedAst(ast, digest));
+                    }
                     change = termFactory.makeAppl("Cached", cachedResult.analysis);
                     expects.put(resource, new Update(resource));
                 }
             } else {
                 change = termFactory.makeAppl("Added", ast);
-                expects.put(resource, new Full(resource, ast));
+                expects.put(resource, new Full(resource, ast, null));
             }
             changeTerms.add(termFactory.makeTuple(termFactory.makeString(resource.toString()), change));
         }
@@ -469,19 +541,6 @@ public class ConstraintAnalyzer {
         return new MultiFileResult(projectResult, results, messagesBuilder.build());
     }
 
-    private boolean regionsEqual(IStrategoTerm ast1, IStrategoTerm ast2) {
-        final @Nullable Region region1 = TermTracer.getRegion(ast1);
-        final @Nullable Region region2 = TermTracer.getRegion(ast2);
-        if(!Objects.equals(region1, region2)) return false;
-        if(ast1.getSubtermCount() != ast2.getSubtermCount()) return false;
-        final Iterator<IStrategoTerm> iterator1 = ast1.iterator();
-        final Iterator<IStrategoTerm> iterator2 = ast2.iterator();
-        while(iterator1.hasNext() && iterator2.hasNext()) {
-            if(!regionsEqual(iterator1.next(), iterator2.next())) return false;
-        }
-        return true;
-    }
-
     abstract class Expect {
         final ResourceKey resource;
 
@@ -520,10 +579,12 @@ public class ConstraintAnalyzer {
 
     class Full extends Expect {
         final IStrategoTerm parsedAst;
+        final @Nullable StructuralDigest parsedAstDigest;
 
-        Full(ResourceKey resourceKey, IStrategoTerm parsedAst) {
+        Full(ResourceKey resourceKey, IStrategoTerm parsedAst, @Nullable StructuralDigest parsedAstDigest) {
             super(resourceKey);
             this.parsedAst = parsedAst;
+            this.parsedAstDigest = parsedAstDigest;
         }
 
         @Override
@@ -539,7 +600,7 @@ public class ConstraintAnalyzer {
                 final IStrategoTerm analyzedAst = results.get(0);
                 final IStrategoTerm analysis = results.get(1);
                 addResultMessages(results.get(2), results.get(3), results.get(4), messagesBuilder, resourceService, rootDirectory);
-                context.updateResult(resource, parsedAst, analyzedAst, analysis);
+                context.updateResult(resource, new Result(resource, parsedAst, analyzedAst, analysis, parsedAstDigest));
             } else if(match(resultTerm, "Failed", 0) != null) {
                 addFailMessage("Analysis failed", messagesBuilder);
                 context.removeResult(resource);
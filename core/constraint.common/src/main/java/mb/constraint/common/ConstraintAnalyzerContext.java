@@ -2,22 +2,75 @@ package mb.constraint.common;
 
 import mb.constraint.common.ConstraintAnalyzer.ProjectResult;
 import mb.constraint.common.ConstraintAnalyzer.Result;
+import mb.log.api.Logger;
 import mb.resource.ResourceKey;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spoofax.interpreter.terms.IStrategoTerm;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Analysis results of a constraint analyzer, which are updated incrementally by {@link ConstraintAnalyzer}.
+ *
+ * When a {@link ConstraintAnalyzerResultStore result store} is {@link #setResultStore set}, changed per-file results
+ * are written to the store with {@link #flushResultStore}, which increments the generation of this context. Serializing
+ * this context then only serializes the resources that have results, except for results that have not been flushed
+ * yet, which are serialized together with this context. Serialization never writes to the store. After
+ * deserialization, results are loaded from the store when they are first accessed. Results that cannot be loaded,
+ * because they are missing, unreadable, or were overwritten by a later flush, are dropped and logged, causing their
+ * file to be analyzed again.
+ *
+ * With a result store, equality is based on the resources that have results, the generation, the results that have
+ * not been flushed yet, and the project results, such that comparing contexts does not load results. Thread-safe.
+ */
 public class ConstraintAnalyzerContext implements Serializable {
     private final boolean multiFile;
     private final @Nullable ResourceKey root;
+    private @Nullable ConstraintAnalyzerResultStore resultStore;
+    private transient @Nullable Logger logger;
 
-    private final LinkedHashMap<ResourceKey, Result> results = new LinkedHashMap<>();
+    /**
+     * Random ID of this context, written with every result in the result store, such that this context never loads a
+     * result written by another context. Serialized with this context.
+     */
+    private final UUID storeId = UUID.randomUUID();
+
+    /**
+     * Generation of this context, incremented by every {@link #flushResultStore flush} that changes the result store.
+     */
+    private long generation = 0;
+    /**
+     * Results per resource. A {@code null} value indicates a result that is in the result store, but not yet loaded.
+     */
+    private transient LinkedHashMap<ResourceKey, @Nullable Result> results = new LinkedHashMap<>();
+    /**
+     * Generation with which the result of each resource was written to the result store.
+     */
+    private transient HashMap<ResourceKey, Long> storedGenerations = new HashMap<>();
     private final LinkedHashMap<ResourceKey, ProjectResult> projectResults = new LinkedHashMap<>();
 
+    /**
+     * Resources whose result must be written to the result store.
+     */
+    private transient HashSet<ResourceKey> changedResults = new HashSet<>();
+    /**
+     * Resources whose result must be deleted from the result store.
+     */
+    private transient HashSet<ResourceKey> removedResults = new HashSet<>();
+
 
     public ConstraintAnalyzerContext(boolean multiFile, @Nullable ResourceKey root) {
         this.multiFile = multiFile;
@@ -25,97 +78,330 @@ public class ConstraintAnalyzerContext implements Serializable {
     }
 
 
-    public @Nullable Result getResult(ResourceKey resource) {
-        return results.get(resource);
+    public synchronized @Nullable ConstraintAnalyzerResultStore getResultStore() {
+        return resultStore;
+    }
+
+    /**
+     * Sets the store that per-file results are written to by {@link #flushResultStore}, or {@code null} to serialize
+     * results together with this context. All results will be written to a new store. Failures to load results from the
+     * store are logged to {@code logger}.
+     */
+    public synchronized void setResultStore(@Nullable ConstraintAnalyzerResultStore resultStore, @Nullable Logger logger) {
+        this.logger = logger;
+        if(Objects.equals(resultStore, this.resultStore)) return;
+        loadResults();
+        this.resultStore = resultStore;
+        storedGenerations.clear();
+        changedResults.clear();
+        removedResults.clear();
+        if(resultStore != null) {
+            changedResults.addAll(results.keySet());
+        }
+    }
+
+    /**
+     * Writes the results that changed since the last flush to the result store, and deletes removed results from it.
+     * Does nothing if there is no result store, or if no results changed.
+     *
+     * @throws IOException when writing to or deleting from the result store fails. Results that were not written are
+     * written by the next flush.
+     */
+    public synchronized void flushResultStore() throws IOException {
+        if(resultStore == null || (changedResults.isEmpty() && removedResults.isEmpty())) return;
+        final long newGeneration = generation + 1;
+        generation = newGeneration;
+        for(ResourceKey resource : new ArrayList<>(removedResults)) {
+            resultStore.delete(resource);
+            removedResults.remove(resource);
+        }
+        for(ResourceKey resource : new ArrayList<>(changedResults)) {
+            final @Nullable Result result = results.get(resource);
+            if(result != null) {
+                resultStore.write(result, storeId, newGeneration);
+                storedGenerations.put(resource, newGeneration);
+            }
+            changedResults.remove(resource);
+        }
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
     }
 
-    public @Nullable IStrategoTerm getAnalysisTerm(ResourceKey resource) {
+    public UUID getStoreId() {
+        return storeId;
+    }
+
+
+    public synchronized @Nullable Result getResult(ResourceKey resource) {
+        final @Nullable Result result = results.get(resource);
+        if(result != null || !results.containsKey(resource)) return result;
+        return loadResult(resource);
+    }
+
+    public synchronized @Nullable IStrategoTerm getAnalysisTerm(ResourceKey resource) {
         if(multiFile && root != null) {
             final @Nullable ProjectResult projectResult = projectResults.get(root);
             if(projectResult != null) {
                 return projectResult.analysis;
             }
         }
-        return results.get(resource).analysis;
+        final @Nullable Result result = getResult(resource);
+        if(result == null) return null;
+        return result.analysis;
     }
 
-    public Set<Entry<ResourceKey, Result>> getResultEntries() {
-        return results.entrySet();
+    /**
+     * Gets a copy of the result entries, loading all results that are not yet loaded.
+     */
+    public synchronized Set<Entry<ResourceKey, Result>> getResultEntries() {
+        loadResults();
+        final LinkedHashMap<ResourceKey, Result> copy = new LinkedHashMap<>(results);
+        return Collections.unmodifiableSet(copy.entrySet());
     }
 
-    public Set<ResourceKey> getResultResources() {
-        return results.keySet();
+    /**
+     * Gets a copy of the resources that have results, without loading results.
+     */
+    public synchronized Set<ResourceKey> getResultResources() {
+        return new LinkedHashSet<>(results.keySet());
     }
 
-    void updateResult(ResourceKey resource, IStrategoTerm parsedAst, IStrategoTerm analyzedAst, IStrategoTerm analysis) {
-        results.put(resource, new Result(resource, parsedAst, analyzedAst, analysis));
+    synchronized void updateResult(ResourceKey resource, IStrategoTerm parsedAst, IStrategoTerm analyzedAst, IStrategoTerm analysis) {
+        updateResult(resource, new Result(resource, parsedAst, analyzedAst, analysis));
     }
 
-    void updateResult(ResourceKey resource, IStrategoTerm analysis) {
-        final @Nullable Result result = results.get(resource);
+    synchronized void updateResult(ResourceKey resource, Result result) {
+        results.put(resource, result);
+        resultChanged(resource);
+    }
+
+    synchronized void updateResult(ResourceKey resource, IStrategoTerm analysis) {
+        final @Nullable Result result = getResult(resource);
         if(result == null) {
             throw new RuntimeException("BUG: attempting to update analysis result for '" + resource + "' to '" + analysis + "', but no existing result was found for it");
         } else {
-            results.put(resource, new Result(resource, result.parsedAst, result.analyzedAst, analysis));
+            results.put(resource, result.withAnalysis(analysis));
+            resultChanged(resource);
         }
     }
 
-    void removeResult(ResourceKey resource) {
+    synchronized void removeResult(ResourceKey resource) {
         results.remove(resource);
+        resultRemoved(resource);
     }
 
 
-    public @Nullable ProjectResult getProjectResult(ResourceKey resource) {
+    public synchronized @Nullable ProjectResult getProjectResult(ResourceKey resource) {
         return projectResults.get(resource);
     }
 
-    public Set<Entry<ResourceKey, ProjectResult>> getProjectResultEntries() {
-        return projectResults.entrySet();
+    public synchronized Set<Entry<ResourceKey, ProjectResult>> getProjectResultEntries() {
+        return Collections.unmodifiableSet(new LinkedHashMap<>(projectResults).entrySet());
     }
 
-    public Set<ResourceKey> getProjectResultResources() {
-        return projectResults.keySet();
+    public synchronized Set<ResourceKey> getProjectResultResources() {
+        return new LinkedHashSet<>(projectResults.keySet());
     }
 
-    void updateProjectResult(ResourceKey resource, IStrategoTerm analysis) {
+    synchronized void updateProjectResult(ResourceKey resource, IStrategoTerm analysis) {
         projectResults.put(resource, new ProjectResult(resource, analysis));
     }
 
-    void removeProjectResult(ResourceKey resource) {
+    synchronized void removeProjectResult(ResourceKey resource) {
         projectResults.remove(resource);
     }
 
 
-    public void clear() {
+    public synchronized void clear() {
+        for(ResourceKey resource : results.keySet()) {
+            resultRemoved(resource);
+        }
         results.clear();
         projectResults.clear();
     }
 
 
+    private void resultChanged(ResourceKey resource) {
+        if(resultStore == null) return;
+        changedResults.add(resource);
+        removedResults.remove(resource);
+        storedGenerations.remove(resource);
+    }
+
+    private void resultRemoved(ResourceKey resource) {
+        if(resultStore == null) return;
+        changedResults.remove(resource);
+        removedResults.add(resource);
+        storedGenerations.remove(resource);
+    }
+
+    private @Nullable Result loadResult(ResourceKey resource) {
+        @Nullable Result result = null;
+        final @Nullable Long storedGeneration = storedGenerations.get(resource);
+        if(resultStore != null && storedGeneration != null) {
+            try {
+                result = resultStore.read(resource, storeId, storedGeneration);
+                if(result == null && logger != null) {
+                    logger.warn("Analysis result of '{}' is missing from result store '{}'; analyzing it again", resource, resultStore);
+                }
+            } catch(IOException e) {
+                if(logger != null) {
+                    logger.warn("Reading analysis result of '{}' from result store '{}' failed; analyzing it again", e, resource, resultStore);
+                }
+            }
+        }
+        if(result != null) {
+            results.put(resource, result);
+        } else {
+            // Drop unreadable results, so that their file is analyzed again.
+            results.remove(resource);
+            storedGenerations.remove(resource);
+        }
+        return result;
+    }
+
+    private void loadResults() {
+        if(!results.containsValue(null)) return;
+        for(ResourceKey resource : new ArrayList<>(results.keySet())) {
+            if(results.get(resource) == null) {
+                loadResult(resource);
+            }
+        }
+    }
+
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        if(resultStore == null) {
+            out.writeObject(results);
+            return;
+        }
+        // Results that have been flushed are serialized as their resource and the generation they were stored with.
+        // Other results (changed, or not yet loaded from a previous store) are serialized as a whole.
+        out.writeInt(results.size());
+        for(Entry<ResourceKey, @Nullable Result> entry : results.entrySet()) {
+            final ResourceKey resource = entry.getKey();
+            final @Nullable Long storedGeneration = storedGenerations.get(resource);
+            out.writeObject(resource);
+            if(storedGeneration != null && !changedResults.contains(resource)) {
+                out.writeBoolean(true);
+                out.writeLong(storedGeneration);
+            } else {
+                out.writeBoolean(false);
+                out.writeObject(entry.getValue());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        storedGenerations = new HashMap<>();
+        changedResults = new HashSet<>();
+        removedResults = new HashSet<>();
+        if(resultStore == null) {
+            results = (LinkedHashMap<ResourceKey, @Nullable Result>)in.readObject();
+            return;
+        }
+        results = new LinkedHashMap<>();
+        final int size = in.readInt();
+        for(int i = 0; i < size; ++i) {
+            final ResourceKey resource = (ResourceKey)in.readObject();
+            if(in.readBoolean()) {
+                storedGenerations.put(resource, in.readLong());
+                results.put(resource, null); // Loaded lazily.
+            } else {
+                final @Nullable Result result = (Result)in.readObject();
+                results.put(resource, result);
+                changedResults.add(resource);
+            }
+        }
+    }
+
+
+    private synchronized Identity identity() {
+        if(resultStore == null) {
+            return new Identity(multiFile, root, null, null, 0, new LinkedHashMap<>(results), new LinkedHashMap<>(projectResults));
+        }
+        // Only compare the resources that have results, the store ID, and the generation, instead of loading all flushed results.
+        final LinkedHashMap<ResourceKey, @Nullable Result> unflushedResults = new LinkedHashMap<>();
+        for(Entry<ResourceKey, @Nullable Result> entry : results.entrySet()) {
+            final ResourceKey resource = entry.getKey();
+            unflushedResults.put(resource, storedGenerations.containsKey(resource) ? null : entry.getValue());
+        }
+        return new Identity(multiFile, root, resultStore, storeId, generation, unflushedResults, new LinkedHashMap<>(projectResults));
+    }
+
     @Override public boolean equals(@Nullable Object o) {
         if(this == o) return true;
         if(o == null || getClass() != o.getClass()) return false;
         final ConstraintAnalyzerContext that = (ConstraintAnalyzerContext)o;
-        if(multiFile != that.multiFile) return false;
-        if(root != null ? !root.equals(that.root) : that.root != null) return false;
-        if(!results.equals(that.results)) return false;
-        return projectResults.equals(that.projectResults);
+        return identity().equals(that.identity());
     }
 
     @Override public int hashCode() {
-        int result = (multiFile ? 1 : 0);
-        result = 31 * result + (root != null ? root.hashCode() : 0);
-        result = 31 * result + results.hashCode();
-        result = 31 * result + projectResults.hashCode();
-        return result;
+        return identity().hashCode();
     }
 
-    @Override public String toString() {
+    @Override public synchronized String toString() {
         return "ConstraintAnalyzerContext{" +
             "multiFile=" + multiFile +
             ", root=" + root +
+            ", resultStore=" + resultStore +
+            ", storeId=" + storeId +
+            ", generation=" + generation +
             ", results=" + results +
             ", projectResults=" + projectResults +
             '}';
     }
+
+
+    private static class Identity {
+        private final boolean multiFile;
+        private final @Nullable ResourceKey root;
+        private final @Nullable ConstraintAnalyzerResultStore resultStore;
+        private final @Nullable UUID storeId;
+        private final long generation;
+        /**
+         * Results per resource, where the results that are in the result store are {@code null}.
+         */
+        private final LinkedHashMap<ResourceKey, @Nullable Result> results;
+        private final LinkedHashMap<ResourceKey, ProjectResult> projectResults;
+
+        private Identity(
+            boolean multiFile,
+            @Nullable ResourceKey root,
+            @Nullable ConstraintAnalyzerResultStore resultStore,
+            @Nullable UUID storeId,
+            long generation,
+            LinkedHashMap<ResourceKey, @Nullable Result> results,
+            LinkedHashMap<ResourceKey, ProjectResult> projectResults
+        ) {
+            this.multiFile = multiFile;
+            this.root = root;
+            this.resultStore = resultStore;
+            this.storeId = storeId;
+            this.generation = generation;
+            this.results = results;
+            this.projectResults = projectResults;
+        }
+
+        @Override public boolean equals(@Nullable Object o) {
+            if(this == o) return true;
+            if(o == null || getClass() != o.getClass()) return false;
+            final Identity that = (Identity)o;
+            return multiFile == that.multiFile
+                && generation == that.generation
+                && Objects.equals(root, that.root)
+                && Objects.equals(resultStore, that.resultStore)
+                && Objects.equals(storeId, that.storeId)
+                && results.equals(that.results)
+                && projectResults.equals(that.projectResults);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(multiFile, root, resultStore, storeId, generation, results, projectResults);
+        }
+    }
 }
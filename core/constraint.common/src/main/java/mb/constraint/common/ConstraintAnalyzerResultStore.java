@@ -0,0 +1,151 @@
+package mb.constraint.common;
+
+import mb.constraint.common.ConstraintAnalyzer.Result;
+import mb.resource.ResourceKey;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * On-disk store for the per-file {@link Result analysis results} of a {@link ConstraintAnalyzerContext}, with one
+ * entry file per analyzed file. When a context has a store, it {@link ConstraintAnalyzerContext#flushResultStore
+ * writes} changed results to this store, only serializes the resources it has results for, and loads results from this
+ * store lazily when they are first accessed.
+ *
+ * Each entry is written with the {@link ConstraintAnalyzerContext#getStoreId() store ID} of the context that wrote it,
+ * and the generation of the context flush that wrote it. Reading an entry with a different store ID or generation than
+ * expected fails, such that an older serialized copy of a context never loads a result that was overwritten by a newer
+ * flush, and a context never loads a result written by another context, such as a context of another process or a
+ * recreated context. The header is checked before deserializing the result, so entries that were not written by the
+ * expected context are never deserialized.
+ *
+ * The parsed AST, analyzed AST, and analysis term of a result are written together with a single object stream, so
+ * subterms they share are written once. Terms are written with Java serialization instead of an ATerm format, as
+ * ASTs must keep their origin attachments, and analysis terms may contain blobs.
+ */
+public class ConstraintAnalyzerResultStore implements Serializable {
+    private static final long serialVersionUID = 1;
+
+    private final File directory;
+
+
+    public ConstraintAnalyzerResultStore(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Reads the result of {@code resource}, or returns {@code null} if there is no entry for it.
+     *
+     * @throws IOException when the entry cannot be read, or when it was written with a store ID other than {@code
+     * expectedStoreId} or a generation other than {@code expectedGeneration}.
+     */
+    public @Nullable Result read(ResourceKey resource, UUID expectedStoreId, long expectedGeneration) throws IOException {
+        final File file = getEntryFile(resource);
+        if(!file.exists()) return null;
+        try(final ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            final UUID storeId = new UUID(inputStream.readLong(), inputStream.readLong());
+            if(!storeId.equals(expectedStoreId)) {
+                throw new IOException("Analysis result entry '" + file + "' was written by a context with store ID " + storeId + " instead of " + expectedStoreId);
+            }
+            final long generation = inputStream.readLong();
+            if(generation != expectedGeneration) {
+                throw new IOException("Analysis result entry '" + file + "' was written by generation " + generation + " instead of generation " + expectedGeneration);
+            }
+            final Object obj = inputStream.readObject();
+            if(!(obj instanceof Result)) {
+                throw new IOException("Analysis result entry '" + file + "' does not contain an analysis result, but '" + obj + "'");
+            }
+            final Result result = (Result)obj;
+            if(!result.resource.equals(resource)) {
+                throw new IOException("Analysis result entry '" + file + "' contains the result of '" + result.resource + "' instead of '" + resource + "'");
+            }
+            return result;
+        } catch(ClassNotFoundException e) {
+            throw new IOException("Reading analysis result entry '" + file + "' failed unexpectedly", e);
+        }
+    }
+
+    /**
+     * Writes {@code result} with {@code storeId} and {@code generation}, replacing the existing entry of its resource.
+     * Entries are written to a temporary file first and then moved, so that an interrupted write does not leave a
+     * corrupt entry.
+     */
+    public void write(Result result, UUID storeId, long generation) throws IOException {
+        final Path file = getEntryFile(result.resource).toPath();
+        Files.createDirectories(directory.toPath());
+        final Path tempFile = Files.createTempFile(directory.toPath(), file.getFileName().toString(), ".tmp");
+        try {
+            try(final ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                outputStream.writeLong(storeId.getMostSignificantBits());
+                outputStream.writeLong(storeId.getLeastSignificantBits());
+                outputStream.writeLong(generation);
+                outputStream.writeObject(result);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Deletes the entry of {@code resource}, if it exists.
+     */
+    public void delete(ResourceKey resource) throws IOException {
+        Files.deleteIfExists(getEntryFile(resource).toPath());
+    }
+
+
+    private File getEntryFile(ResourceKey resource) {
+        return new File(directory, hash(resource.toString()) + ".result");
+    }
+
+    private static String hash(String string) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch(NoSuchAlgorithmException e) {
+            throw new RuntimeException("BUG: SHA-1 message digest is not available", e);
+        }
+        final byte[] bytes = digest.digest(string.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for(byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+
+    @Override public boolean equals(@Nullable Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        final ConstraintAnalyzerResultStore that = (ConstraintAnalyzerResultStore)o;
+        return directory.equals(that.directory);
+    }
+
+    @Override public int hashCode() {
+        return directory.hashCode();
+    }
+
+    @Override public String toString() {
+        return "ConstraintAnalyzerResultStore{" +
+            "directory=" + directory +
+            '}';
+    }
+}
@@ -0,0 +1,189 @@
+package mb.constraint.common;
+
+import mb.common.region.Region;
+import mb.jsglr.common.TermTracer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spoofax.interpreter.terms.IStrategoInt;
+import org.spoofax.interpreter.terms.IStrategoLong;
+import org.spoofax.interpreter.terms.IStrategoPlaceholder;
+import org.spoofax.interpreter.terms.IStrategoReal;
+import org.spoofax.interpreter.terms.IStrategoString;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+
+import java.io.Serializable;
+
+/**
+ * Region-aware 128-bit structural digest of a term, used by {@link ConstraintAnalyzer} to detect that a parsed AST
+ * changed. Two terms with the same structure (kinds, constructors, values, annotations, and subterms) and the same
+ * source regions have the same digest.
+ *
+ * The term is digested as a sequence of 64-bit words with the 128-bit x64 variant of MurmurHash3. Equal digests are
+ * trusted to mean equal terms, without comparing the terms themselves. Blobs wrap arbitrary objects and are therefore
+ * only digested by their hash code.
+ */
+final class StructuralDigest implements Serializable {
+    private final long digest1;
+    private final long digest2;
+
+
+    private StructuralDigest(long digest1, long digest2) {
+        this.digest1 = digest1;
+        this.digest2 = digest2;
+    }
+
+    static StructuralDigest of(IStrategoTerm term) {
+        final Hasher hasher = new Hasher();
+        digest(term, hasher);
+        return hasher.finish();
+    }
+
+
+    private static void digest(IStrategoTerm term, Hasher hasher) {
+        hasher.add(term.getType().ordinal());
+        switch(term.getType()) {
+            case APPL:
+                hasher.add(term.getConstructor().getArity());
+                hasher.add(term.getConstructor().getName());
+                break;
+            case STRING:
+                hasher.add(((IStrategoString)term).stringValue());
+                break;
+            case INT:
+                hasher.add(((IStrategoInt)term).intValue());
+                break;
+            case LONG:
+                hasher.add(((IStrategoLong)term).longValue());
+                break;
+            case REAL:
+                hasher.add(Double.doubleToLongBits(((IStrategoReal)term).realValue()));
+                break;
+            case PLACEHOLDER:
+                digest(((IStrategoPlaceholder)term).getTemplate(), hasher);
+                break;
+            case BLOB:
+                hasher.add(term.hashCode());
+                break;
+            default:
+                // Lists and tuples are digested by their kind and subterms only.
+                break;
+        }
+        final @Nullable Region region = TermTracer.getRegion(term);
+        if(region != null) {
+            hasher.add(((long)region.getStartOffset() << 32) | (region.getEndOffset() & 0xFFFFFFFFL));
+        } else {
+            hasher.add(-1);
+        }
+        hasher.add(term.getSubtermCount());
+        for(IStrategoTerm subterm : term) {
+            digest(subterm, hasher);
+        }
+        final IStrategoTerm annotations = term.getAnnotations();
+        hasher.add(annotations.getSubtermCount());
+        for(IStrategoTerm annotation : annotations) {
+            digest(annotation, hasher);
+        }
+    }
+
+    /**
+     * Incremental MurmurHash3 x64 128-bit hasher over 64-bit words, which processes the words in blocks of two.
+     */
+    private static final class Hasher {
+        private static final long c1 = 0x87C37B91114253D5L;
+        private static final long c2 = 0x4CF5AD432745937FL;
+
+        private long h1 = 0;
+        private long h2 = 0;
+        private long pending = 0;
+        private boolean hasPending = false;
+        private long length = 0;
+
+        void add(String value) {
+            add(value.length());
+            // Pack four 16-bit characters into each word.
+            final int count = value.length();
+            int i = 0;
+            for(; i + 3 < count; i += 4) {
+                add(((long)value.charAt(i) << 48) | ((long)value.charAt(i + 1) << 32) | ((long)value.charAt(i + 2) << 16) | value.charAt(i + 3));
+            }
+            long word = 0;
+            for(; i < count; ++i) {
+                word = (word << 16) | value.charAt(i);
+            }
+            if(count % 4 != 0) {
+                add(word);
+            }
+        }
+
+        void add(long word) {
+            length += 8;
+            if(!hasPending) {
+                pending = word;
+                hasPending = true;
+                return;
+            }
+            hasPending = false;
+            h1 ^= mixK1(pending);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52DCE729;
+            h2 ^= mixK2(word);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495AB5;
+        }
+
+        StructuralDigest finish() {
+            if(hasPending) {
+                h1 ^= mixK1(pending);
+            }
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+            return new StructuralDigest(h1, h2);
+        }
+
+        private static long mixK1(long k1) {
+            k1 *= c1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= c2;
+            return k1;
+        }
+
+        private static long mixK2(long k2) {
+            k2 *= c2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= c1;
+            return k2;
+        }
+
+        private static long fmix(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+
+    @Override public boolean equals(@Nullable Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        final StructuralDigest that = (StructuralDigest)o;
+        return digest1 == that.digest1 && digest2 == that.digest2;
+    }
+
+    @Override public int hashCode() {
+        return (int)(digest1 ^ (digest1 >>> 32));
+    }
+
+    @Override public String toString() {
+        return String.format("%016x%016x", digest1, digest2);
+    }
+}
@@ -0,0 +1,210 @@
+package mb.constraint.common;
+
+import mb.constraint.common.ConstraintAnalyzer.Result;
+import mb.resource.ResourceKey;
+import mb.resource.fs.FSPath;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+import org.spoofax.interpreter.terms.ITermFactory;
+import org.spoofax.terms.TermFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link ConstraintAnalyzerContext} class together with a {@link ConstraintAnalyzerResultStore}.
+ */
+public final class ConstraintAnalyzerContextTests {
+    private final ITermFactory termFactory = new TermFactory();
+
+    @Test
+    public void writeObject_shouldNotWriteToStore_andSerializeUnflushedResults(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ResourceKey file = new FSPath(tempDir.resolve("a.txt"));
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(file, ast("A"), ast("A'"), ast("analysis"));
+
+        // Act
+        final ConstraintAnalyzerContext copy = roundTrip(context);
+
+        // Assert
+        assertFalse(storeDirectory.exists());
+        assertEquals(new Result(file, ast("A"), ast("A'"), ast("analysis")), copy.getResult(file));
+    }
+
+    @Test
+    public void flushResultStore_shouldWriteChangedResults_whichAreLoadedLazily(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ResourceKey file = new FSPath(tempDir.resolve("a.txt"));
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(file, ast("A"), ast("A'"), ast("analysis"));
+
+        // Act
+        context.flushResultStore();
+        final ConstraintAnalyzerContext copy = roundTrip(context);
+
+        // Assert
+        assertEquals(1, context.getGeneration());
+        assertEquals(1, copy.getGeneration());
+        assertEquals(context.getStoreId(), copy.getStoreId());
+        assertTrue(copy.getResultResources().contains(file));
+        assertEquals(new Result(file, ast("A"), ast("A'"), ast("analysis")), copy.getResult(file));
+    }
+
+    @Test
+    public void flushResultStore_shouldNotIncrementGeneration_whenNothingChanged(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(new FSPath(tempDir.resolve("a.txt")), ast("A"), ast("A'"), ast("analysis"));
+        context.flushResultStore();
+
+        // Act
+        context.flushResultStore();
+
+        // Assert
+        assertEquals(1, context.getGeneration());
+    }
+
+    @Test
+    public void flushResultStore_shouldDeleteRemovedResults(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ResourceKey file = new FSPath(tempDir.resolve("a.txt"));
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(file, ast("A"), ast("A'"), ast("analysis"));
+        context.flushResultStore();
+        final ConstraintAnalyzerContext copy = roundTrip(context);
+
+        // Act
+        context.removeResult(file);
+        context.flushResultStore();
+
+        // Assert
+        assertNull(context.getResult(file));
+        assertNull(copy.getResult(file));
+        assertFalse(copy.getResultResources().contains(file));
+    }
+
+    @Test
+    public void getResult_shouldDropResult_whenOverwrittenByLaterFlush(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ResourceKey file = new FSPath(tempDir.resolve("a.txt"));
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(file, ast("A"), ast("A'"), ast("analysis"));
+        context.flushResultStore();
+        final ConstraintAnalyzerContext staleCopy = roundTrip(context);
+        context.updateResult(file, ast("B"), ast("B'"), ast("analysis"));
+        context.flushResultStore();
+
+        // Act
+        final @Nullable Result result = staleCopy.getResult(file);
+
+        // Assert
+        assertNull(result);
+        assertFalse(staleCopy.getResultResources().contains(file));
+        assertEquals(new Result(file, ast("B"), ast("B'"), ast("analysis")), roundTrip(context).getResult(file));
+    }
+
+    @Test
+    public void getResult_shouldDropResult_whenOverwrittenByOtherContextWithSameGeneration(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ResourceKey file = new FSPath(tempDir.resolve("a.txt"));
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(file, ast("A"), ast("A'"), ast("analysis"));
+        context.flushResultStore();
+        final ConstraintAnalyzerContext copy = roundTrip(context);
+        final ConstraintAnalyzerContext otherContext = createContext(tempDir, storeDirectory);
+        otherContext.updateResult(file, ast("B"), ast("B'"), ast("analysis"));
+        otherContext.flushResultStore();
+
+        // Act
+        final @Nullable Result result = copy.getResult(file);
+
+        // Assert
+        assertEquals(context.getGeneration(), otherContext.getGeneration());
+        assertNotEquals(context.getStoreId(), otherContext.getStoreId());
+        assertNull(result);
+        assertFalse(copy.getResultResources().contains(file));
+        assertEquals(new Result(file, ast("B"), ast("B'"), ast("analysis")), roundTrip(otherContext).getResult(file));
+    }
+
+    @Test
+    public void equals_shouldNotLoadResults(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ResourceKey file = new FSPath(tempDir.resolve("a.txt"));
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(file, ast("A"), ast("A'"), ast("analysis"));
+        context.flushResultStore();
+        final ConstraintAnalyzerContext copy1 = roundTrip(context);
+        final ConstraintAnalyzerContext copy2 = roundTrip(context);
+
+        // Act
+        final boolean equal = copy1.equals(copy2);
+        final int hashCode1 = copy1.hashCode();
+        final int hashCode2 = copy2.hashCode();
+        new ConstraintAnalyzerResultStore(storeDirectory).delete(file);
+
+        // Assert
+        assertTrue(equal);
+        assertEquals(hashCode1, hashCode2);
+        assertNull(copy1.getResult(file)); // Was not loaded by equals or hashCode, and is now missing from the store.
+    }
+
+    @Test
+    public void equals_shouldDifferentiateGenerations(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final File storeDirectory = tempDir.resolve("store").toFile();
+        final ResourceKey file = new FSPath(tempDir.resolve("a.txt"));
+        final ConstraintAnalyzerContext context = createContext(tempDir, storeDirectory);
+        context.updateResult(file, ast("A"), ast("A'"), ast("analysis"));
+        context.flushResultStore();
+        final ConstraintAnalyzerContext before = roundTrip(context);
+
+        // Act
+        context.updateResult(file, ast("B"), ast("B'"), ast("analysis"));
+        context.flushResultStore();
+
+        // Assert
+        assertNotEquals(before, roundTrip(context));
+    }
+
+
+    private ConstraintAnalyzerContext createContext(Path tempDir, File storeDirectory) {
+        final ConstraintAnalyzerContext context = new ConstraintAnalyzerContext(true, new FSPath(tempDir));
+        context.setResultStore(new ConstraintAnalyzerResultStore(storeDirectory), null);
+        return context;
+    }
+
+    private IStrategoTerm ast(String name) {
+        return termFactory.makeAppl(name);
+    }
+
+    private static ConstraintAnalyzerContext roundTrip(ConstraintAnalyzerContext context) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(final ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(context);
+        }
+        try(final ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (ConstraintAnalyzerContext)inputStream.readObject();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package mb.constraint.common;
+
+import org.junit.jupiter.api.Test;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+import org.spoofax.interpreter.terms.ITermFactory;
+import org.spoofax.jsglr.client.imploder.IToken;
+import org.spoofax.jsglr.client.imploder.ImploderAttachment;
+import org.spoofax.jsglr.client.imploder.Token;
+import org.spoofax.terms.TermFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests the {@link StructuralDigest} class.
+ */
+public final class StructuralDigestTests {
+    private final ITermFactory termFactory = new TermFactory();
+
+    @Test
+    public void of_shouldReturnEqualDigests_whenGivenEqualTerms() {
+        // Arrange
+        final IStrategoTerm term1 = termFactory.makeAppl("A", termFactory.makeString("x"), termFactory.makeList(termFactory.makeInt(1)));
+        final IStrategoTerm term2 = termFactory.makeAppl("A", termFactory.makeString("x"), termFactory.makeList(termFactory.makeInt(1)));
+
+        // Act & Assert
+        assertEquals(StructuralDigest.of(term1), StructuralDigest.of(term2));
+    }
+
+    @Test
+    public void of_shouldDifferentiateListsAndTuples() {
+        // Arrange
+        final IStrategoTerm list = termFactory.makeList(termFactory.makeInt(1), termFactory.makeInt(2));
+        final IStrategoTerm tuple = termFactory.makeTuple(termFactory.makeInt(1), termFactory.makeInt(2));
+
+        // Act & Assert
+        assertNotEquals(StructuralDigest.of(list), StructuralDigest.of(tuple));
+    }
+
+    @Test
+    public void of_shouldDifferentiateIntsAndLongs() {
+        // Arrange
+        final IStrategoTerm intTerm = termFactory.makeInt(1);
+        final IStrategoTerm longTerm = termFactory.makeLong(1);
+
+        // Act & Assert
+        assertNotEquals(StructuralDigest.of(intTerm), StructuralDigest.of(longTerm));
+    }
+
+    @Test
+    public void of_shouldDigestAnnotations() {
+        // Arrange
+        final IStrategoTerm term = termFactory.makeAppl("A");
+        final IStrategoTerm annotated1 = termFactory.annotateTerm(term, termFactory.makeList(termFactory.makeString("x")));
+        final IStrategoTerm annotated2 = termFactory.annotateTerm(term, termFactory.makeList(termFactory.makeString("y")));
+
+        // Act & Assert
+        assertNotEquals(StructuralDigest.of(term), StructuralDigest.of(annotated1));
+        assertNotEquals(StructuralDigest.of(annotated1), StructuralDigest.of(annotated2));
+    }
+
+    @Test
+    public void of_shouldDigestPlaceholderTemplates() {
+        // Arrange
+        final IStrategoTerm placeholder1 = termFactory.makePlaceholder(termFactory.makeAppl("A"));
+        final IStrategoTerm placeholder2 = termFactory.makePlaceholder(termFactory.makeAppl("B"));
+
+        // Act & Assert
+        assertNotEquals(StructuralDigest.of(placeholder1), StructuralDigest.of(placeholder2));
+    }
+
+    @Test
+    public void of_shouldDifferentiateStrings_whoseCharactersPackIntoEqualWords() {
+        // Arrange
+        final IStrategoTerm string1 = termFactory.makeString("abcde");
+        final IStrategoTerm string2 = termFactory.makeString("abcd\0e");
+
+        // Act & Assert
+        assertNotEquals(StructuralDigest.of(string1), StructuralDigest.of(string2));
+    }
+
+    @Test
+    public void of_shouldReturnEqualDigests_whenGivenEqualTermsWithEqualRegions() {
+        // Arrange
+        final IStrategoTerm term1 = withRegion(termFactory.makeAppl("A", withRegion(termFactory.makeString("x"), 2, 2)), 0, 3);
+        final IStrategoTerm term2 = withRegion(termFactory.makeAppl("A", withRegion(termFactory.makeString("x"), 2, 2)), 0, 3);
+
+        // Act & Assert
+        assertEquals(StructuralDigest.of(term1), StructuralDigest.of(term2));
+    }
+
+    @Test
+    public void of_shouldDifferentiateRegions() {
+        // Arrange
+        final IStrategoTerm term = withRegion(termFactory.makeAppl("A", withRegion(termFactory.makeString("x"), 2, 2)), 0, 3);
+        final IStrategoTerm moved = withRegion(termFactory.makeAppl("A", withRegion(termFactory.makeString("x"), 4, 4)), 2, 5);
+        final IStrategoTerm movedSubterm = withRegion(termFactory.makeAppl("A", withRegion(termFactory.makeString("x"), 3, 3)), 0, 3);
+
+        // Act & Assert
+        assertNotEquals(StructuralDigest.of(term), StructuralDigest.of(moved));
+        assertNotEquals(StructuralDigest.of(term), StructuralDigest.of(movedSubterm));
+    }
+
+    @Test
+    public void of_shouldDifferentiateTermsWithAndWithoutRegions() {
+        // Arrange
+        final IStrategoTerm withoutRegion = termFactory.makeAppl("A", termFactory.makeString("x"));
+        final IStrategoTerm withRegion = withRegion(termFactory.makeAppl("A", termFactory.makeString("x")), 0, 3);
+
+        // Act & Assert
+        assertNotEquals(StructuralDigest.of(withoutRegion), StructuralDigest.of(withRegion));
+    }
+
+
+    private static IStrategoTerm withRegion(IStrategoTerm term, int startOffset, int endOffset) {
+        final Token left = new Token(null, "test", -1, -1, -1, startOffset, startOffset, IToken.Kind.TK_IDENTIFIER);
+        final Token right = new Token(null, "test", -1, -1, -1, endOffset, endOffset, IToken.Kind.TK_IDENTIFIER);
+        ImploderAttachment.putImploderAttachment(term, false, "Test", left, right, false, false, false, false);
+        return term;
+    }
+}
@@ -9,19 +9,29 @@ import mb.common.util.MapView;
 import mb.constraint.common.ConstraintAnalyzer;
 import mb.constraint.common.ConstraintAnalyzerContext;
 import mb.constraint.common.ConstraintAnalyzerException;
+import mb.constraint.common.ConstraintAnalyzerResultStore;
+import mb.log.api.Logger;
+import mb.log.api.LoggerFactory;
 import mb.pie.api.ExecContext;
 import mb.pie.api.Function;
 import mb.pie.api.SerializableFunction;
 import mb.pie.api.Supplier;
 import mb.pie.api.TaskDef;
 import mb.resource.ResourceKey;
+import mb.resource.ResourceRuntimeException;
+import mb.resource.ResourceService;
 import mb.resource.hierarchical.ResourcePath;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spoofax.interpreter.terms.IStrategoTerm;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 public abstract class ConstraintAnalyzeMultiTaskDef implements TaskDef<ConstraintAnalyzeMultiTaskDef.Input, Result<ConstraintAnalyzeMultiTaskDef.Output, ?>> {
     public static class Input implements Serializable {
@@ -117,6 +127,46 @@ public abstract class ConstraintAnalyzeMultiTaskDef implements TaskDef<Constrain
         }
     }
 
+    private volatile @Nullable Executor astPrefetchExecutor = null;
+
+    /**
+     * Sets the executor that is used to {@link #prefetchAsts prefetch} ASTs concurrently when analyzing a project
+     * without a previous analysis (cold analysis), or {@code null} to disable prefetching, which is the default.
+     */
+    public void setAstPrefetchExecutor(@Nullable Executor executor) {
+        this.astPrefetchExecutor = executor;
+    }
+
+    private volatile @Nullable ResourceService resultStoreResourceService = null;
+    private volatile @Nullable Logger resultStoreLogger = null;
+
+    /**
+     * Enables {@link ConstraintAnalyzerResultStore storing} per-file analysis results in the build directory of each
+     * analyzed project, at {@code build/spoofax-analysis-results/<task definition ID>}, or disables it when {@code
+     * resourceService} is {@code null}, in which case all analysis results are serialized together with the analysis
+     * context, which is the default. {@code resourceService} is used to find the build directory on the local
+     * filesystem; projects that are not on the local filesystem do not use a result store. Failures to read from or
+     * write to the store are logged with a logger from {@code loggerFactory}. Generated adapters call this when the
+     * {@code store-analysis-results} option is enabled.
+     */
+    public void setResultStoreResourceService(@Nullable ResourceService resourceService, LoggerFactory loggerFactory) {
+        this.resultStoreResourceService = resourceService;
+        this.resultStoreLogger = loggerFactory.create(ConstraintAnalyzeMultiTaskDef.class);
+    }
+
+    /**
+     * Prefetches the ASTs of {@code files} concurrently on {@code executor}, before their AST suppliers are required
+     * one by one. PIE does not support requiring tasks concurrently, so implementations must not use {@code context}
+     * from other threads; they should only prepare work (such as parsing) that the tasks of the AST suppliers can pick
+     * up, without changing their results. Does nothing by default.
+     */
+    protected void prefetchAsts(ExecContext context, ResourcePath root, Iterable<ResourceKey> files, Executor executor) throws Exception {}
+
+    /**
+     * Drops all results of {@link #prefetchAsts prefetching} that were not used. Does nothing by default.
+     */
+    protected void clearPrefetchedAsts() {}
+
     protected abstract ConstraintAnalyzer.MultiFileResult analyze(
         ExecContext context,
         ResourcePath root,
@@ -126,18 +176,36 @@ public abstract class ConstraintAnalyzeMultiTaskDef implements TaskDef<Constrain
 
     @Override public Result<Output, ?> exec(ExecContext context, Input input) throws Exception {
         final KeyedMessagesBuilder messagesBuilder = new KeyedMessagesBuilder();
-        final HashMap<ResourceKey, IStrategoTerm> asts = new HashMap<>();
-        context.require(input.astSuppliersFunction, input.root).forEach(entry -> {
-            final ResourceKey file = entry.getKey();
-            final Result<IStrategoTerm, ?> result = context.require(entry.getValue());
-            result.ifElse(
-                ast -> asts.put(file, ast),
-                e -> messagesBuilder.addMessage("Getting AST for analysis failed", e, Severity.Error, file)
-            );
-        });
+        final LinkedHashMap<ResourceKey, IStrategoTerm> asts = new LinkedHashMap<>(); // Linked: keep the order of the AST suppliers.
+        final MapView<ResourceKey, ? extends Supplier<? extends Result<IStrategoTerm, ?>>> astSuppliers = context.require(input.astSuppliersFunction, input.root);
+        final @Nullable Executor executor = astPrefetchExecutor;
+        // Only prefetch on cold analysis: otherwise, most AST supplier tasks are up-to-date and prefetching is wasted.
+        final boolean prefetch = executor != null && !(context.getInternalObject() instanceof ConstraintAnalyzerContext);
+        try {
+            if(prefetch) {
+                final ArrayList<ResourceKey> files = new ArrayList<>(astSuppliers.size());
+                for(Map.Entry<ResourceKey, ? extends Supplier<? extends Result<IStrategoTerm, ?>>> entry : astSuppliers.entrySet()) {
+                    files.add(entry.getKey());
+                }
+                prefetchAsts(context, input.root, files, executor);
+            }
+            astSuppliers.forEach(entry -> {
+                final ResourceKey file = entry.getKey();
+                final Result<IStrategoTerm, ?> result = context.require(entry.getValue());
+                result.ifElse(
+                    ast -> asts.put(file, ast),
+                    e -> messagesBuilder.addMessage("Getting AST for analysis failed", e, Severity.Error, file)
+                );
+            });
+        } finally {
+            if(prefetch) {
+                clearPrefetchedAsts();
+            }
+        }
         try {
             final ConstraintAnalyzerContext constraintAnalyzerContext = getConstraintAnalyzerContext(context, input.root);
             final ConstraintAnalyzer.MultiFileResult result = analyze(context, input.root, MapView.of(asts), constraintAnalyzerContext);
+            flushResultStore(constraintAnalyzerContext);
             context.setInternalObject(constraintAnalyzerContext);
             return Result.ofOk(new Output(messagesBuilder.build(), constraintAnalyzerContext, result));
         } catch(ConstraintAnalyzerException e) {
@@ -147,10 +215,42 @@ public abstract class ConstraintAnalyzeMultiTaskDef implements TaskDef<Constrain
 
     private ConstraintAnalyzerContext getConstraintAnalyzerContext(ExecContext context, ResourcePath rootDirectory) {
         final @Nullable Serializable obj = context.getInternalObject();
+        final ConstraintAnalyzerContext constraintAnalyzerContext;
         if(obj instanceof ConstraintAnalyzerContext) {
-            return (ConstraintAnalyzerContext)obj;
+            constraintAnalyzerContext = (ConstraintAnalyzerContext)obj;
+        } else {
+            constraintAnalyzerContext = new ConstraintAnalyzerContext(true, rootDirectory);
+        }
+        final @Nullable File directory = getResultStoreDirectory(rootDirectory);
+        constraintAnalyzerContext.setResultStore(directory != null ? new ConstraintAnalyzerResultStore(directory) : null, resultStoreLogger);
+        return constraintAnalyzerContext;
+    }
+
+    private @Nullable File getResultStoreDirectory(ResourcePath rootDirectory) {
+        final @Nullable ResourceService resourceService = resultStoreResourceService;
+        if(resourceService == null) return null;
+        final ResourcePath directory = rootDirectory.appendRelativePath("build/spoofax-analysis-results").appendRelativePath(getId());
+        try {
+            return resourceService.toLocalFile(directory);
+        } catch(ResourceRuntimeException e) {
+            final @Nullable Logger logger = resultStoreLogger;
+            if(logger != null) {
+                logger.warn("Cannot store analysis results in '{}'; storing them together with the analysis context instead", e, directory);
+            }
+            return null;
+        }
+    }
+
+    private void flushResultStore(ConstraintAnalyzerContext constraintAnalyzerContext) {
+        try {
+            constraintAnalyzerContext.flushResultStore();
+        } catch(IOException e) {
+            // Results that were not written are serialized together with the context, and written by the next flush.
+            final @Nullable Logger logger = resultStoreLogger;
+            if(logger != null) {
+                logger.warn("Writing analysis results to result store '{}' failed", e, constraintAnalyzerContext.getResultStore());
+            }
         }
-        return new ConstraintAnalyzerContext(true, rootDirectory);
     }
 
 
@@ -172,7 +272,7 @@ class SingleFileMapper implements SerializableFunction<Result<ConstraintAnalyzeM
         return outputResult.flatMapOrElse(output -> {
             final ConstraintAnalyzer.@Nullable Result result = output.result.getResult(resource);
             if(result != null) {
-                final Messages messages = new Messages(output.result.messages.getMessagesOfKey(resource));
+                final Messages messages = output.result.getMessages(resource);
                 return Result.ofOk(new ConstraintAnalyzeMultiTaskDef.SingleFileOutput(output.context, new ConstraintAnalyzer.SingleFileResult(
                     output.result.projectResult,
                     result.resource,
@@ -92,24 +92,10 @@ public class ESVStyler {
             return null;
         }
 
-        // LEGACY: for some reason, when using concrete syntax extensions, all sorts are appended with _sort.
-        final String massagedSort = sort.replace("_sort", "");
-
+        final ESVStylingRules.SortStyles sortStyles = rules.sortStyles(sort);
         if(term.getTermType() == IStrategoTerm.APPL) {
-            final String cons = ((IStrategoAppl) term).getConstructor().getName();
-            if(rules.hasSortConsStyle(massagedSort, cons)) {
-                return rules.sortConsStyle(massagedSort, cons);
-            } else if(rules.hasConsStyle(cons)) {
-                return rules.consStyle(cons);
-            } else if(rules.hasSortStyle(massagedSort)) {
-                return rules.sortStyle(massagedSort);
-            }
+            return sortStyles.consStyle(((IStrategoAppl)term).getConstructor().getName());
         }
-
-        if(rules.hasSortStyle(massagedSort)) {
-            return rules.sortStyle(massagedSort);
-        }
-
-        return null;
+        return sortStyles.sortStyle();
     }
 }
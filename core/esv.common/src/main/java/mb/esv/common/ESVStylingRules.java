@@ -11,6 +11,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ESVStylingRules implements Serializable {
     private final HashMap<SortCons, Style> sortConsToStyle = new HashMap<>();
@@ -18,6 +20,11 @@ public class ESVStylingRules implements Serializable {
     private final HashMap<String, Style> sortToStyle = new HashMap<>();
     private final HashMap<TokenType, Style> tokenTypeToStyle = new HashMap<>();
 
+    /**
+     * Resolved styles per sort as it occurs in parsed ASTs, created on demand by {@link #sortStyles}.
+     */
+    private transient volatile @Nullable ConcurrentHashMap<String, SortStyles> sortStylesCache;
+
 
     public static ESVStylingRules fromStream(InputStream inputStream) throws IOException {
         final TermReader termReader = new TermReader(new TermFactory());
@@ -64,16 +71,49 @@ public class ESVStylingRules implements Serializable {
     }
 
 
+    /**
+     * Gets the resolved styles of terms with {@code sort}, as it occurs in the imploder attachments of parsed ASTs.
+     * Styles are resolved once per sort, and cached, so that looking up the style of a term does not allocate.
+     */
+    public SortStyles sortStyles(String sort) {
+        @Nullable ConcurrentHashMap<String, SortStyles> cache = sortStylesCache;
+        if(cache == null) {
+            cache = new ConcurrentHashMap<>();
+            sortStylesCache = cache;
+        }
+        final @Nullable SortStyles sortStyles = cache.get(sort);
+        if(sortStyles != null) return sortStyles;
+        final SortStyles newSortStyles = createSortStyles(sort);
+        final @Nullable SortStyles existing = cache.putIfAbsent(sort, newSortStyles);
+        return existing != null ? existing : newSortStyles;
+    }
+
+    private SortStyles createSortStyles(String sort) {
+        // LEGACY: for some reason, when using concrete syntax extensions, all sorts are appended with _sort.
+        final String massagedSort = sort.replace("_sort", "");
+        final HashMap<String, Style> sortConsStyles = new HashMap<>();
+        for(Map.Entry<SortCons, Style> entry : sortConsToStyle.entrySet()) {
+            if(entry.getKey().sort.equals(massagedSort)) {
+                sortConsStyles.put(entry.getKey().cons, entry.getValue());
+            }
+        }
+        return new SortStyles(sortConsStyles, consToStyle, sortToStyle.get(massagedSort));
+    }
+
+
     void mapSortConsToStyle(String sort, String cons, Style style) {
         sortConsToStyle.put(new SortCons(sort, cons), style);
+        sortStylesCache = null;
     }
 
     void mapConsToStyle(String cons, Style style) {
         consToStyle.put(cons, style);
+        sortStylesCache = null;
     }
 
     void mapSortToStyle(String sort, Style style) {
         sortToStyle.put(sort, style);
+        sortStylesCache = null;
     }
 
     void mapTokenTypeToStyle(TokenType type, Style style) {
@@ -99,6 +139,41 @@ public class ESVStylingRules implements Serializable {
         return result;
     }
 
+    /**
+     * Resolved styles of terms of a single sort. For constructor applications, the style of the sort and constructor
+     * takes precedence over the style of the constructor, which takes precedence over the style of the sort.
+     */
+    public static class SortStyles {
+        private final HashMap<String, Style> sortConsStyles;
+        private final HashMap<String, Style> consStyles;
+        private final @Nullable Style sortStyle;
+
+        private SortStyles(HashMap<String, Style> sortConsStyles, HashMap<String, Style> consStyles, @Nullable Style sortStyle) {
+            this.sortConsStyles = sortConsStyles;
+            this.consStyles = consStyles;
+            this.sortStyle = sortStyle;
+        }
+
+        /**
+         * Gets the style of constructor applications of {@code cons}, or {@code null} if there is none.
+         */
+        public @Nullable Style consStyle(String cons) {
+            final @Nullable Style sortConsStyle = sortConsStyles.get(cons);
+            if(sortConsStyle != null) return sortConsStyle;
+            final @Nullable Style consStyle = consStyles.get(cons);
+            if(consStyle != null) return consStyle;
+            return sortStyle;
+        }
+
+        /**
+         * Gets the style of terms of this sort, or {@code null} if there is none.
+         */
+        public @Nullable Style sortStyle() {
+            return sortStyle;
+        }
+    }
+
+
     @Override public String toString() {
         return "StylingRules{" +
             "sortConsToStyle=" + sortConsToStyle +
@@ -1,10 +1,12 @@
 plugins {
   id("org.metaborg.gradle.config.java-library")
+  id("org.metaborg.gradle.config.junit-testing")
 }
 
 dependencies {
   api(platform(project(":spoofax.depconstraints")))
   annotationProcessor(platform(project(":spoofax.depconstraints")))
+  testAnnotationProcessor(platform(project(":spoofax.depconstraints")))
 
   api("org.metaborg:common")
 
@@ -16,4 +18,6 @@ dependencies {
   compileOnly("org.derive4j:derive4j-annotation")
 
   annotationProcessor("org.derive4j:derive4j")
+
+  testCompileOnly("org.checkerframework:checker-qual-android")
 }
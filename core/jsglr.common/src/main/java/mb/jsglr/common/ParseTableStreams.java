@@ -0,0 +1,65 @@
+package mb.jsglr.common;
+
+import mb.resource.ReadableResource;
+import mb.resource.classloader.ClassLoaderResource;
+import mb.resource.fs.FSResource;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+import org.spoofax.terms.io.binary.SAFWriter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Utilities for reading and writing parse table files.
+ *
+ * Parse tables are written in the binary Streamable ATerm Format (SAF), which is more compact than the textual ATerm
+ * format, and does not need to be tokenized when read. {@link org.spoofax.terms.io.binary.TermReader} detects the
+ * format when reading, so textual parse tables (e.g., from Spoofax 2 languages) can still be read.
+ *
+ * Parse table files on the local file system are read directly from the file with a large buffer. They are not memory
+ * mapped, as a mapping outlives the stream until it is garbage collected, which keeps the file locked on Windows and
+ * prevents the parse table from being overwritten when a language is rebuilt or reloaded.
+ */
+public class ParseTableStreams {
+    private static final int bufferSize = 64 * 1024;
+
+    /**
+     * Opens {@code resource} for reading a parse table. If {@code resource} is a classloader resource that is backed by
+     * a file on the local file system, or a local file system resource, the file is opened with {@link #openFile}.
+     * Otherwise, it is opened with a buffered stream.
+     */
+    public static InputStream openRead(ReadableResource resource) throws IOException {
+        final ReadableResource nativeResource;
+        if(resource instanceof ClassLoaderResource) {
+            nativeResource = ((ClassLoaderResource)resource).tryAsNativeFile();
+        } else {
+            nativeResource = resource;
+        }
+        if(nativeResource instanceof FSResource) {
+            final Path path = ((FSResource)nativeResource).getJavaPath();
+            if(path.getFileSystem() == FileSystems.getDefault()) {
+                return openFile(path);
+            }
+        }
+        return nativeResource.openReadBuffered();
+    }
+
+    /**
+     * Opens the file at {@code path} for reading with a large buffer. The file is closed when the stream is closed.
+     */
+    public static InputStream openFile(Path path) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(path), bufferSize);
+    }
+
+    /**
+     * Writes {@code parseTableTerm} to {@code outputStream} in the binary Streamable ATerm Format (SAF).
+     */
+    public static void writeBinary(IStrategoTerm parseTableTerm, OutputStream outputStream) throws IOException {
+        SAFWriter.writeTermToSAFStream(parseTableTerm, outputStream);
+    }
+}
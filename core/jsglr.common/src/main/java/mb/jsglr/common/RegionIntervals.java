@@ -0,0 +1,133 @@
+package mb.jsglr.common;
+
+import mb.common.region.Region;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Interval tree over regions that are sorted by start offset, shared by {@link TermRegionIndex} and
+ * {@link RegionValueIndex}. Consists of a segment tree over the end offsets of the regions, holding the maximum end
+ * offset of each node, such that finding the regions that encompass a region takes logarithmic time in the number of
+ * regions, plus time linear in the number of found regions.
+ *
+ * Regions are identified by their index in the sorted array that the tree is built from, which callers use to look up
+ * their own data for a region.
+ */
+class RegionIntervals implements Serializable {
+    private static final long serialVersionUID = 1;
+
+    private final Region[] regions;
+    private final int[] starts;
+    /**
+     * Segment tree over the end offsets of {@link #regions}, holding the maximum end offset of each node.
+     */
+    private final int[] maxEnds;
+
+
+    /**
+     * Builds an interval tree over {@code regions}, which must be sorted by start offset. The array is not copied.
+     */
+    RegionIntervals(Region[] regions) {
+        this.regions = regions;
+        this.starts = new int[regions.length];
+        for(int i = 0; i < regions.length; ++i) {
+            starts[i] = regions[i].getStartOffset();
+        }
+        this.maxEnds = new int[Math.max(1, 4 * regions.length)];
+        if(regions.length > 0) {
+            build(1, 0, regions.length);
+        }
+    }
+
+
+    int size() {
+        return regions.length;
+    }
+
+    Region get(int index) {
+        return regions[index];
+    }
+
+    /**
+     * Passes the indices of regions that encompass {@code region} to {@code consumer}, in order of their index.
+     */
+    void forEachEncompassing(Region region, IntConsumer consumer) {
+        if(regions.length == 0) return;
+        // Only regions that start at or before the region can encompass it.
+        final int limit = upperBound(region.getStartOffset());
+        query(1, 0, regions.length, limit, region, consumer);
+    }
+
+    /**
+     * Gets the index of the first region with a start offset greater than or equal to {@code offset}.
+     */
+    int lowerBound(int offset) {
+        int low = 0;
+        int high = starts.length;
+        while(low < high) {
+            final int mid = (low + high) >>> 1;
+            if(starts[mid] < offset) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Gets the index of the first region with a start offset greater than {@code offset}.
+     */
+    int upperBound(int offset) {
+        int low = 0;
+        int high = starts.length;
+        while(low < high) {
+            final int mid = (low + high) >>> 1;
+            if(starts[mid] <= offset) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+
+    private void query(int node, int low, int high, int limit, Region region, IntConsumer consumer) {
+        if(low >= limit || maxEnds[node] < region.getEndOffset()) return;
+        if(high - low == 1) {
+            if(regions[low].contains(region)) {
+                consumer.accept(low);
+            }
+            return;
+        }
+        final int mid = (low + high) >>> 1;
+        query(2 * node, low, mid, limit, region, consumer);
+        query(2 * node + 1, mid, high, limit, region, consumer);
+    }
+
+    private int build(int node, int low, int high) {
+        if(high - low == 1) {
+            maxEnds[node] = regions[low].getEndOffset();
+        } else {
+            final int mid = (low + high) >>> 1;
+            maxEnds[node] = Math.max(build(2 * node, low, mid), build(2 * node + 1, mid, high));
+        }
+        return maxEnds[node];
+    }
+
+
+    @Override public boolean equals(@Nullable Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        final RegionIntervals that = (RegionIntervals)o;
+        return Arrays.equals(regions, that.regions);
+    }
+
+    @Override public int hashCode() {
+        return Arrays.hashCode(regions);
+    }
+
+    @Override public String toString() {
+        return "RegionIntervals{" +
+            "size=" + regions.length +
+            '}';
+    }
+}
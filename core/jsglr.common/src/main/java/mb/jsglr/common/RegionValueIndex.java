@@ -0,0 +1,152 @@
+package mb.jsglr.common;
+
+import mb.common.region.Region;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Serializable index from the (in-fragment) regions of terms in an AST to values computed for those terms, such as the
+ * results of reference resolution or hover strategies. The index is {@link #build built} once per AST by evaluating
+ * all terms with a region, after which {@link #find} answers queries for a position without the AST and without
+ * evaluating anything.
+ *
+ * Values are stored with the post-order index of their term, so that {@link #find} returns the value of the deepest
+ * term that encompasses a position, which is the same term that is found by evaluating the terms of
+ * {@link TermTracer#getTermsEncompassingRegion} in order, and stopping at the first term that has a value. Entries are
+ * sorted by start offset, with a {@link RegionIntervals segment tree} over their end offsets, like in
+ * {@link TermRegionIndex}.
+ */
+public class RegionValueIndex<V extends Serializable> implements Serializable {
+    private static final long serialVersionUID = 2;
+
+    private final RegionIntervals intervals;
+    private final int[] postOrder;
+    private final V[] values;
+
+
+    private RegionValueIndex(Region[] regions, int[] postOrder, V[] values) {
+        this.intervals = new RegionIntervals(regions);
+        this.postOrder = postOrder;
+        this.values = values;
+    }
+
+
+    /**
+     * Evaluates a term. Returns the value of the term, or {@code null} if the term has no value.
+     */
+    @FunctionalInterface
+    public interface Evaluator<V extends Serializable> {
+        @Nullable V evaluate(IStrategoTerm term);
+    }
+
+    /**
+     * Builds an index by evaluating all terms of {@code ast} that have a region with {@code evaluator}. Terms are
+     * traversed iteratively to support deep ASTs.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V extends Serializable> RegionValueIndex<V> build(IStrategoTerm ast, Evaluator<V> evaluator) {
+        final ArrayList<Entry<V>> entries = new ArrayList<>();
+        final ArrayDeque<IStrategoTerm> stack = new ArrayDeque<>();
+        final ArrayDeque<Boolean> expanded = new ArrayDeque<>();
+        stack.push(ast);
+        expanded.push(false);
+        int nextPostOrder = 0;
+        while(!stack.isEmpty()) {
+            final IStrategoTerm term = stack.peek();
+            if(!expanded.peek()) {
+                expanded.pop();
+                expanded.push(true);
+                for(int i = term.getSubtermCount() - 1; i >= 0; --i) {
+                    stack.push(term.getSubterm(i));
+                    expanded.push(false);
+                }
+            } else {
+                stack.pop();
+                expanded.pop();
+                final int order = nextPostOrder++;
+                final @Nullable Region region = TermTracer.getInFragmentRegion(term);
+                if(region == null) continue;
+                final @Nullable V value = evaluator.evaluate(term);
+                if(value != null) {
+                    entries.add(new Entry<>(region, order, value));
+                }
+            }
+        }
+        entries.sort(Comparator.<Entry<V>>comparingInt(e -> e.region.getStartOffset()).thenComparingInt(e -> e.postOrder));
+
+        final int size = entries.size();
+        final Region[] regions = new Region[size];
+        final int[] postOrder = new int[size];
+        final V[] values = (V[])new Serializable[size];
+        for(int i = 0; i < size; ++i) {
+            final Entry<V> entry = entries.get(i);
+            regions[i] = entry.region;
+            postOrder[i] = entry.postOrder;
+            values[i] = entry.value;
+        }
+        return new RegionValueIndex<>(regions, postOrder, values);
+    }
+
+
+    /**
+     * Finds the value of the deepest term that encompasses {@code position}, or returns {@code null} if no term with a
+     * value encompasses {@code position}.
+     */
+    public @Nullable V find(Region position) {
+        final int[] deepest = {-1};
+        intervals.forEachEncompassing(position, i -> {
+            if(deepest[0] == -1 || postOrder[i] < postOrder[deepest[0]]) {
+                deepest[0] = i;
+            }
+        });
+        return deepest[0] != -1 ? values[deepest[0]] : null;
+    }
+
+    /**
+     * Gets the number of terms with a value.
+     */
+    public int size() {
+        return intervals.size();
+    }
+
+
+    @Override public boolean equals(@Nullable Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        final RegionValueIndex<?> that = (RegionValueIndex<?>)o;
+        return intervals.equals(that.intervals)
+            && Arrays.equals(postOrder, that.postOrder)
+            && Arrays.equals(values, that.values);
+    }
+
+    @Override public int hashCode() {
+        int result = intervals.hashCode();
+        result = 31 * result + Arrays.hashCode(values);
+        return result;
+    }
+
+    @Override public String toString() {
+        return "RegionValueIndex{" +
+            "size=" + intervals.size() +
+            '}';
+    }
+
+
+    private static class Entry<V> {
+        final Region region;
+        final int postOrder;
+        final V value;
+
+        Entry(Region region, int postOrder, V value) {
+            this.region = region;
+            this.postOrder = postOrder;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package mb.jsglr.common;
+
+import mb.common.region.Region;
+import mb.common.util.ListView;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Index of the (in-fragment) regions of all terms in an AST, for answering selection queries of {@link TermTracer}
+ * without traversing the AST. The index is built once per AST, and is cached by identity of the root term of the AST,
+ * see {@link #get}. The AST itself is not modified.
+ *
+ * Terms with a region are sorted by start offset, with a {@link RegionIntervals segment tree} over their end offsets,
+ * which forms an interval tree. Finding the terms that encompass a region takes logarithmic time in the number of terms, plus time linear in
+ * the number of found terms. Finding the terms inside a region takes logarithmic time plus time linear in the number of
+ * terms that start inside the region.
+ */
+public class TermRegionIndex {
+    public static final int cacheCapacity = 16;
+    /**
+     * Indices of the most recently queried ASTs, keyed by identity of their root term, since equal terms may have
+     * different regions. Bounded, because an index strongly references the terms of its AST. Guarded by itself.
+     */
+    private static final LinkedHashMap<IdentityKey, TermRegionIndex> cache =
+        new LinkedHashMap<IdentityKey, TermRegionIndex>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<IdentityKey, TermRegionIndex> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+
+    private final IStrategoTerm ast;
+
+    // Terms with a region, sorted by start offset, then by pre-order index.
+    private final IStrategoTerm[] terms;
+    private final Region[] regions;
+    private final int[] preOrder;
+    private final int[] postOrder;
+    /**
+     * Pre-order index of the last descendant of each term, such that the descendants of a term are exactly the terms
+     * with a pre-order index in (preOrder, lastDescendant].
+     */
+    private final int[] lastDescendant;
+    private final RegionIntervals intervals;
+
+
+    private TermRegionIndex(IStrategoTerm ast) {
+        this.ast = ast;
+
+        final ArrayList<Entry> entries = new ArrayList<>();
+        collect(ast, entries);
+        entries.sort(Comparator.<Entry>comparingInt(e -> e.region.getStartOffset()).thenComparingInt(e -> e.preOrder));
+
+        final int size = entries.size();
+        this.terms = new IStrategoTerm[size];
+        this.regions = new Region[size];
+        this.preOrder = new int[size];
+        this.postOrder = new int[size];
+        this.lastDescendant = new int[size];
+        for(int i = 0; i < size; ++i) {
+            final Entry entry = entries.get(i);
+            terms[i] = entry.term;
+            regions[i] = entry.region;
+            preOrder[i] = entry.preOrder;
+            postOrder[i] = entry.postOrder;
+            lastDescendant[i] = entry.lastDescendant;
+        }
+        this.intervals = new RegionIntervals(regions);
+    }
+
+
+    /**
+     * Gets the cached region index of {@code ast}, or builds and caches it if there is none. Thread-safe.
+     */
+    public static TermRegionIndex get(IStrategoTerm ast) {
+        final IdentityKey key = new IdentityKey(ast);
+        synchronized(cache) {
+            final @Nullable TermRegionIndex index = cache.get(key);
+            if(index != null) return index;
+        }
+        // Build outside of the lock, such that queries on other ASTs are not blocked. Concurrent queries on the same
+        // AST may build the index more than once, after which the first cached index is used.
+        final TermRegionIndex newIndex = new TermRegionIndex(ast);
+        synchronized(cache) {
+            final @Nullable TermRegionIndex index = cache.putIfAbsent(key, newIndex);
+            return index != null ? index : newIndex;
+        }
+    }
+
+    /**
+     * Drops all cached region indices.
+     */
+    public static void clearCache() {
+        synchronized(cache) {
+            cache.clear();
+        }
+    }
+
+
+    /**
+     * @see TermTracer#getSmallestTermEncompassingRegion
+     */
+    public IStrategoTerm getSmallestTermEncompassingRegion(Region region) {
+        @Nullable IStrategoTerm minimalTerm = null;
+        int minimalLength = Integer.MAX_VALUE;
+        int minimalPreOrder = Integer.MAX_VALUE;
+        for(int i : encompassing(region)) {
+            final int length = regions[i].getLength();
+            if(length < minimalLength || (length == minimalLength && preOrder[i] < minimalPreOrder)) {
+                minimalTerm = terms[i];
+                minimalLength = length;
+                minimalPreOrder = preOrder[i];
+            }
+        }
+        return minimalTerm != null ? minimalTerm : ast;
+    }
+
+    /**
+     * @see TermTracer#getTermsEncompassingRegion
+     */
+    public Collection<IStrategoTerm> getTermsEncompassingRegion(Region region) {
+        final ArrayList<Integer> found = encompassing(region);
+        // Order bottom-up, such that the deepest term comes first.
+        found.sort(Comparator.comparingInt(i -> postOrder[i]));
+        final ArrayList<IStrategoTerm> result = new ArrayList<>(found.size());
+        for(int i : found) {
+            result.add(terms[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @see TermTracer#getBiggestTermInsideRegion
+     */
+    public IStrategoTerm getBiggestTermInsideRegion(Region region) {
+        @Nullable IStrategoTerm maxTerm = null;
+        int maxLength = -1;
+        for(int i : outermostInside(region)) {
+            final int length = regions[i].getLength();
+            if(length > maxLength) {
+                maxTerm = terms[i];
+                maxLength = length;
+            }
+        }
+        return maxTerm != null ? maxTerm : ast;
+    }
+
+    /**
+     * @see TermTracer#getTermsInsideRegion
+     */
+    public ListView<IStrategoTerm> getTermsInsideRegion(Region region) {
+        final ArrayList<Integer> found = outermostInside(region);
+        final ArrayList<IStrategoTerm> result = new ArrayList<>(found.size());
+        for(int i : found) {
+            result.add(terms[i]);
+        }
+        return ListView.of(result);
+    }
+
+
+    /**
+     * Finds the indices of terms that encompass {@code region}, in no particular order.
+     */
+    private ArrayList<Integer> encompassing(Region region) {
+        final ArrayList<Integer> found = new ArrayList<>();
+        intervals.forEachEncompassing(region, found::add);
+        return found;
+    }
+
+    /**
+     * Finds the indices of terms inside {@code region} that are not a descendant of another term inside
+     * {@code region}, in pre-order.
+     */
+    private ArrayList<Integer> outermostInside(Region region) {
+        final ArrayList<Integer> inside = new ArrayList<>();
+        // Only terms that start inside the region can be inside it.
+        final int endIndex = intervals.upperBound(region.getEndOffset());
+        for(int i = intervals.lowerBound(region.getStartOffset()); i < endIndex; ++i) {
+            if(region.contains(regions[i])) {
+                inside.add(i);
+            }
+        }
+        inside.sort(Comparator.comparingInt(i -> preOrder[i]));
+        final ArrayList<Integer> outermost = new ArrayList<>(inside.size());
+        int coveredUntil = -1;
+        for(int i : inside) {
+            if(preOrder[i] <= coveredUntil) continue; // Descendant of a term that is inside the region.
+            outermost.add(i);
+            coveredUntil = lastDescendant[i];
+        }
+        return outermost;
+    }
+
+    /**
+     * Collects all terms of {@code ast} that have a region, with their pre-order and post-order index, iteratively to
+     * support deep ASTs.
+     */
+    private static void collect(IStrategoTerm ast, ArrayList<Entry> entries) {
+        final ArrayDeque<Visit> stack = new ArrayDeque<>();
+        stack.push(new Visit(ast));
+        int nextPreOrder = 0;
+        int nextPostOrder = 0;
+        while(!stack.isEmpty()) {
+            final Visit visit = stack.peek();
+            if(visit.preOrder == -1) {
+                visit.preOrder = nextPreOrder++;
+                for(int i = visit.term.getSubtermCount() - 1; i >= 0; --i) {
+                    stack.push(new Visit(visit.term.getSubterm(i)));
+                }
+            } else {
+                stack.pop();
+                final int postOrder = nextPostOrder++;
+                final @Nullable Region region = TermTracer.getInFragmentRegion(visit.term);
+                if(region != null) {
+                    entries.add(new Entry(visit.term, region, visit.preOrder, postOrder, nextPreOrder - 1));
+                }
+            }
+        }
+    }
+
+
+    @Override public String toString() {
+        return "TermRegionIndex{" +
+            "terms=" + terms.length +
+            '}';
+    }
+
+
+    private static class IdentityKey {
+        final IStrategoTerm term;
+
+        IdentityKey(IStrategoTerm term) {
+            this.term = term;
+        }
+
+        @Override public boolean equals(@Nullable Object o) {
+            return o instanceof IdentityKey && ((IdentityKey)o).term == term;
+        }
+
+        @Override public int hashCode() {
+            return System.identityHashCode(term);
+        }
+    }
+
+    private static class Visit {
+        final IStrategoTerm term;
+        int preOrder = -1;
+
+        Visit(IStrategoTerm term) {
+            this.term = term;
+        }
+    }
+
+    private static class Entry {
+        final IStrategoTerm term;
+        final Region region;
+        final int preOrder;
+        final int postOrder;
+        final int lastDescendant;
+
+        Entry(IStrategoTerm term, Region region, int preOrder, int postOrder, int lastDescendant) {
+            this.term = term;
+            this.region = region;
+            this.preOrder = preOrder;
+            this.postOrder = postOrder;
+            this.lastDescendant = lastDescendant;
+        }
+    }
+}
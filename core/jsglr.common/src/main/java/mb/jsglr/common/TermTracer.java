@@ -8,16 +8,9 @@ import org.spoofax.interpreter.terms.IStrategoTerm;
 import org.spoofax.jsglr.client.imploder.IToken;
 import org.spoofax.jsglr.client.imploder.ImploderAttachment;
 import org.spoofax.terms.attachments.OriginAttachment;
-import org.spoofax.terms.visitor.AStrategoTermVisitor;
-import org.spoofax.terms.visitor.IStrategoTermVisitor;
-import org.spoofax.terms.visitor.StrategoTermVisitee;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Optional;
-import java.util.Stack;
 
 public class TermTracer {
     /**
@@ -94,25 +87,7 @@ public class TermTracer {
      * @return Smallest term that encompasses given region, or the entire AST if no terms have region information.
      */
     public static IStrategoTerm getSmallestTermEncompassingRegion(IStrategoTerm ast, Region region) {
-        IStrategoTerm minimalTerm = ast;
-        int minimalLength = Integer.MAX_VALUE;
-        final Stack<IStrategoTerm> stack = new Stack<IStrategoTerm>();
-        stack.push(ast);
-        while(!stack.empty()) {
-            final IStrategoTerm term = stack.pop();
-            final @Nullable Region termRegion = getInFragmentRegion(term);
-            if(termRegion != null) {
-                final int length = termRegion.getLength();
-                if(termRegion.contains(region) && length < minimalLength) {
-                    minimalTerm = term;
-                    minimalLength = length;
-                }
-            }
-            for(int i = term.getSubtermCount() - 1; i >= 0; --i) {
-                stack.push(term.getSubterm(i));
-            }
-        }
-        return minimalTerm;
+        return TermRegionIndex.get(ast).getSmallestTermEncompassingRegion(region);
     }
 
     /**
@@ -125,27 +100,7 @@ public class TermTracer {
      * @return Biggest term that resides inside given region, or the entire AST if no terms have region information.
      */
     public static IStrategoTerm getBiggestTermInsideRegion(IStrategoTerm ast, Region region) {
-        IStrategoTerm maxTerm = ast;
-        int maxLength= -1;
-        final Stack<IStrategoTerm> stack = new Stack<>();
-        stack.push(ast);
-        while(!stack.empty()) {
-            final IStrategoTerm term = stack.pop();
-            final @Nullable Region termRegion = getInFragmentRegion(term);
-            if(termRegion != null && region.contains(termRegion)) {
-                final int length = termRegion.getLength();
-                if (length > maxLength) {
-                    maxTerm = term;
-                    maxLength = length;
-                }
-                // If a term fits inside the region, do not evaluate it's subterms, since these will always be smaller
-            } else {
-                for(int i = term.getSubtermCount() - 1; i >= 0; --i) {
-                    stack.push(term.getSubterm(i));
-                }
-            }
-        }
-        return maxTerm;
+        return TermRegionIndex.get(ast).getBiggestTermInsideRegion(region);
     }
 
     /**
@@ -159,21 +114,7 @@ public class TermTracer {
      * @return Terms that reside inside given region.
      */
     public static ListView<IStrategoTerm> getTermsInsideRegion(IStrategoTerm ast, Region region) {
-        final Stack<IStrategoTerm> stack = new Stack<>();
-        final List<IStrategoTerm> terms = new ArrayList<>();
-        stack.push(ast);
-        while(!stack.empty()) {
-            final IStrategoTerm term = stack.pop();
-            final @Nullable Region termRegion = getInFragmentRegion(term);
-            if(termRegion != null && region.contains(termRegion)) {
-                terms.add(term);
-            } else {
-                for(int i = term.getSubtermCount() - 1; i >= 0; --i) {
-                    stack.push(term.getSubterm(i));
-                }
-            }
-        }
-        return ListView.of(terms);
+        return TermRegionIndex.get(ast).getTermsInsideRegion(region);
     }
 
     /**
@@ -189,18 +130,6 @@ public class TermTracer {
      * @return all terms that contain the given region, ordered in bottom-up fashion
      */
     public static Collection<IStrategoTerm> getTermsEncompassingRegion(IStrategoTerm ast, Region region) {
-        final Collection<IStrategoTerm> parsed = new LinkedList<>();
-        final IStrategoTermVisitor visitor = new AStrategoTermVisitor() {
-            @Override public boolean visit(IStrategoTerm term) {
-                final @Nullable Region location = TermTracer.getInFragmentRegion(term);
-                if(location != null && location.contains(region)) {
-                    parsed.add(term);
-                    return false;
-                }
-                return true;
-            }
-        };
-        StrategoTermVisitee.bottomup(visitor, ast);
-        return parsed;
+        return TermRegionIndex.get(ast).getTermsEncompassingRegion(region);
     }
 }
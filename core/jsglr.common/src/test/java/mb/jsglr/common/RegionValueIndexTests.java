@@ -0,0 +1,138 @@
+package mb.jsglr.common;
+
+import mb.common.region.Region;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.spoofax.interpreter.terms.IStrategoAppl;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+import org.spoofax.interpreter.terms.ITermFactory;
+import org.spoofax.jsglr.client.imploder.IToken;
+import org.spoofax.jsglr.client.imploder.ImploderAttachment;
+import org.spoofax.jsglr.client.imploder.Token;
+import org.spoofax.terms.TermFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests the {@link RegionValueIndex} class.
+ */
+public final class RegionValueIndexTests {
+    private final ITermFactory termFactory = new TermFactory();
+
+    @Test
+    public void find_shouldEqualEvaluatingEncompassingTermsInOrder_forAllRegions() {
+        // Arrange
+        final IStrategoTerm ast = ast();
+        final HashMap<String, ArrayList<String>> values = values();
+        final RegionValueIndex<ArrayList<String>> index = RegionValueIndex.build(ast, term -> evaluate(term, values));
+
+        // Act & Assert
+        for(int start = 0; start <= 11; ++start) {
+            for(int end = start; end <= 11; ++end) {
+                final Region region = Region.fromOffsets(start, end);
+                assertEquals(findOneByOne(ast, values, region), index.find(region), "Different value for " + region);
+            }
+        }
+    }
+
+    @Test
+    public void find_shouldReturnEmptyResultOfInnerTerm_insteadOfValueOfOuterTerm() {
+        // Arrange
+        final IStrategoTerm ast = ast();
+        final HashMap<String, ArrayList<String>> values = values();
+        final RegionValueIndex<ArrayList<String>> index = RegionValueIndex.build(ast, term -> evaluate(term, values));
+
+        // Act
+        final @Nullable ArrayList<String> value = index.find(Region.atOffset(1));
+
+        // Assert
+        assertEquals(new ArrayList<String>(), value);
+        assertEquals(findOneByOne(ast, values, Region.atOffset(1)), value);
+    }
+
+    @Test
+    public void find_shouldReturnValueOfOuterTerm_whenInnerTermHasNoValue() {
+        // Arrange
+        final IStrategoTerm ast = ast();
+        final HashMap<String, ArrayList<String>> values = values();
+        final RegionValueIndex<ArrayList<String>> index = RegionValueIndex.build(ast, term -> evaluate(term, values));
+
+        // Act
+        final @Nullable ArrayList<String> value = index.find(Region.atOffset(5));
+
+        // Assert
+        assertEquals(list("outer"), value);
+        assertEquals(findOneByOne(ast, values, Region.atOffset(5)), value);
+    }
+
+    @Test
+    public void find_shouldReturnNull_whenNoTermWithValueEncompassesRegion() {
+        // Arrange
+        final HashMap<String, ArrayList<String>> values = new HashMap<>();
+        values.put("Inner", list("inner"));
+        final RegionValueIndex<ArrayList<String>> index = RegionValueIndex.build(ast(), term -> evaluate(term, values));
+
+        // Act & Assert
+        assertNull(index.find(Region.atOffset(8)));
+        assertEquals(1, index.size());
+    }
+
+
+    /**
+     * Creates {@code Root(Outer(Inner(), Other()), Sibling())}, where {@code Root} spans offsets 0-10, {@code Outer}
+     * 0-7, {@code Inner} 0-3, {@code Other} 4-7, and {@code Sibling} 8-10.
+     */
+    private IStrategoTerm ast() {
+        final IStrategoTerm inner = withRegion(termFactory.makeAppl("Inner"), 0, 3);
+        final IStrategoTerm other = withRegion(termFactory.makeAppl("Other"), 4, 7);
+        final IStrategoTerm outer = withRegion(termFactory.makeAppl("Outer", inner, other), 0, 7);
+        final IStrategoTerm sibling = withRegion(termFactory.makeAppl("Sibling"), 8, 10);
+        return withRegion(termFactory.makeAppl("Root", outer, sibling), 0, 10);
+    }
+
+    /**
+     * Values per constructor. {@code Inner} has an empty value, which hides the value of {@code Outer}, and
+     * {@code Other} has no value.
+     */
+    private static HashMap<String, ArrayList<String>> values() {
+        final HashMap<String, ArrayList<String>> values = new HashMap<>();
+        values.put("Root", list("root"));
+        values.put("Outer", list("outer"));
+        values.put("Inner", list());
+        values.put("Sibling", list("sibling"));
+        return values;
+    }
+
+    private static @Nullable ArrayList<String> evaluate(IStrategoTerm term, HashMap<String, ArrayList<String>> values) {
+        if(!(term instanceof IStrategoAppl)) return null;
+        return values.get(((IStrategoAppl)term).getName());
+    }
+
+    /**
+     * Finds a value the way resolve and hover tasks do without an index: evaluating the terms that encompass
+     * {@code region} in order, and stopping at the first term that has a value.
+     */
+    private static @Nullable ArrayList<String> findOneByOne(IStrategoTerm ast, HashMap<String, ArrayList<String>> values, Region region) {
+        for(IStrategoTerm term : TermTracer.getTermsEncompassingRegion(ast, region)) {
+            final @Nullable ArrayList<String> value = evaluate(term, values);
+            if(value != null) return value;
+        }
+        return null;
+    }
+
+    private static ArrayList<String> list(String... strings) {
+        return new ArrayList<>(Arrays.asList(strings));
+    }
+
+    private static IStrategoTerm withRegion(IStrategoTerm term, int startOffset, int endOffset) {
+        final Token left = new Token(null, "test", -1, -1, -1, startOffset, startOffset, IToken.Kind.TK_IDENTIFIER);
+        final Token right = new Token(null, "test", -1, -1, -1, endOffset - 1, endOffset - 1, IToken.Kind.TK_IDENTIFIER);
+        ImploderAttachment.putImploderAttachment(term, false, "Test", left, right, false, false, false, false);
+        return term;
+    }
+}
@@ -18,6 +18,15 @@ import org.spoofax.interpreter.terms.IStrategoTerm;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class JsglrParseTaskDef implements TaskDef<JsglrParseTaskInput, Result<JsglrParseOutput, JsglrParseException>> {
     public JsglrParseTaskInput.Builder inputBuilder() {
@@ -92,6 +101,120 @@ public abstract class JsglrParseTaskDef implements TaskDef<JsglrParseTaskInput,
         @Nullable ResourcePath rootDirectoryHint
     ) throws IOException, InterruptedException;
 
+    /**
+     * Parses {@code text} outside of a task execution, for {@link #prefetch prefetching}. Must be thread-safe. Returns
+     * {@code null} when this task definition does not support parsing outside of a task execution, which is the
+     * default.
+     */
+    protected @Nullable Result<JsglrParseOutput, JsglrParseException> parseDetached(
+        Text text,
+        @Nullable String startSymbol,
+        @Nullable ResourceKey fileHint,
+        @Nullable ResourcePath rootDirectoryHint
+    ) throws InterruptedException {
+        return null;
+    }
+
+
+    private final ConcurrentHashMap<PrefetchKey, CompletableFuture<@Nullable Result<JsglrParseOutput, JsglrParseException>>> prefetched = new ConcurrentHashMap<>();
+    private final AtomicLong prefetchedTakenCount = new AtomicLong();
+    private final AtomicLong prefetchedDiscardedCount = new AtomicLong();
+
+    /**
+     * Speculatively parses {@code files} concurrently on {@code executor}, such that executions of this task for these
+     * files can use the prefetched result instead of parsing on the thread that executes the task. PIE does not support
+     * executing tasks concurrently, so this only moves the parsing work to other threads; dependencies are still
+     * recorded by the task execution.
+     *
+     * The text of the files is read on the calling thread, without recording a dependency on the files, with UTF-8
+     * encoding. A prefetched result is only used when the task is executed with exactly the same text, start symbol,
+     * file hint, and root directory hint, so prefetching never changes results. Call {@link #clearPrefetched()}
+     * afterwards to drop prefetched results that were not used, for example because the task did not need to be
+     * executed.
+     *
+     * Does nothing if this task definition does not support {@link #parseDetached parsing outside of task
+     * executions}.
+     */
+    public void prefetch(
+        ExecContext context,
+        Iterable<? extends ResourceKey> files,
+        @Nullable String startSymbol,
+        @Nullable ResourcePath rootDirectoryHint,
+        Executor executor
+    ) {
+        for(ResourceKey file : files) {
+            final Text text;
+            try {
+                text = Text.string(context.getReadableResource(file).readString(StandardCharsets.UTF_8));
+            } catch(IOException e) {
+                continue; // Reading failed, let the task execution handle (and report) this.
+            }
+            final PrefetchKey key = new PrefetchKey(text.toString(), startSymbol, file, rootDirectoryHint);
+            prefetched.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return parseDetached(text, startSymbol, file, rootDirectoryHint);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }, executor));
+        }
+    }
+
+    /**
+     * Takes the {@link #prefetch prefetched} result for given arguments, waiting for it if it is still being parsed.
+     * Returns {@code null} if there is no prefetched result.
+     */
+    protected @Nullable Result<JsglrParseOutput, JsglrParseException> takePrefetched(
+        Text text,
+        @Nullable String startSymbol,
+        @Nullable ResourceKey fileHint,
+        @Nullable ResourcePath rootDirectoryHint
+    ) throws InterruptedException {
+        if(prefetched.isEmpty()) return null;
+        final @Nullable CompletableFuture<@Nullable Result<JsglrParseOutput, JsglrParseException>> future = prefetched.remove(new PrefetchKey(text.toString(), startSymbol, fileHint, rootDirectoryHint));
+        if(future == null) return null;
+        @Nullable Result<JsglrParseOutput, JsglrParseException> result;
+        try {
+            result = future.get();
+        } catch(ExecutionException | CompletionException | CancellationException e) {
+            result = null; // Prefetching failed unexpectedly, parse again to handle (and report) this.
+        }
+        if(result != null) {
+            prefetchedTakenCount.incrementAndGet();
+        } else {
+            prefetchedDiscardedCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Drops all {@link #prefetch prefetched} results, cancelling parses that have not been started yet.
+     */
+    public void clearPrefetched() {
+        prefetched.values().removeIf(future -> {
+            future.cancel(false);
+            prefetchedDiscardedCount.incrementAndGet();
+            return true;
+        });
+    }
+
+    /**
+     * Gets the number of {@link #prefetch prefetched} results that were used by task executions of this task
+     * definition.
+     */
+    public long getPrefetchedTakenCount() {
+        return prefetchedTakenCount.get();
+    }
+
+    /**
+     * Gets the number of {@link #prefetch prefetched} results that were dropped without being used, because they were
+     * not needed, were stale, or failed.
+     */
+    public long getPrefetchedDiscardedCount() {
+        return prefetchedDiscardedCount.get();
+    }
+
 
     @Override
     public Result<JsglrParseOutput, JsglrParseException> exec(ExecContext context, JsglrParseTaskInput input) throws Exception {
@@ -104,4 +227,33 @@ public abstract class JsglrParseTaskDef implements TaskDef<JsglrParseTaskInput,
             return Result.ofErr(JsglrParseException.readStringFail(e.getCause(), startSymbol, fileHint, rootDirectoryHint));
         }
     }
+
+
+    private static class PrefetchKey {
+        private final String text;
+        private final @Nullable String startSymbol;
+        private final @Nullable ResourceKey fileHint;
+        private final @Nullable ResourcePath rootDirectoryHint;
+
+        private PrefetchKey(String text, @Nullable String startSymbol, @Nullable ResourceKey fileHint, @Nullable ResourcePath rootDirectoryHint) {
+            this.text = text;
+            this.startSymbol = startSymbol;
+            this.fileHint = fileHint;
+            this.rootDirectoryHint = rootDirectoryHint;
+        }
+
+        @Override public boolean equals(@Nullable Object o) {
+            if(this == o) return true;
+            if(o == null || getClass() != o.getClass()) return false;
+            final PrefetchKey that = (PrefetchKey)o;
+            return text.equals(that.text) &&
+                Objects.equals(startSymbol, that.startSymbol) &&
+                Objects.equals(fileHint, that.fileHint) &&
+                Objects.equals(rootDirectoryHint, that.rootDirectoryHint);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(text, startSymbol, fileHint, rootDirectoryHint);
+        }
+    }
 }
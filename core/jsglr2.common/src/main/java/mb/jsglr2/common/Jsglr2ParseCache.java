@@ -0,0 +1,81 @@
+package mb.jsglr2.common;
+
+import mb.resource.ResourceKey;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spoofax.jsglr2.parseforest.IParseForest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of previous parse results per file, used by {@link Jsglr2Parser} to parse incrementally with the
+ * incremental JSGLR2 variants. Keeps the input text and parse forest of the last successful parse of each file, and
+ * evicts the least recently used file when the number of files exceeds the capacity. Thread-safe.
+ */
+public class Jsglr2ParseCache {
+    public static final int defaultCapacity = 64;
+
+    private final int capacity;
+    private final LinkedHashMap<ResourceKey, Entry> entries;
+
+    public Jsglr2ParseCache(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of JSGLR2 parse cache must be larger than 0, got '" + capacity + "'");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<ResourceKey, Entry>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<ResourceKey, Entry> eldest) {
+                return size() > Jsglr2ParseCache.this.capacity;
+            }
+        };
+    }
+
+    public Jsglr2ParseCache() {
+        this(defaultCapacity);
+    }
+
+
+    /**
+     * Gets the previous parse result for {@code file}, or {@code null} if there is none, or if it was parsed with a
+     * different start symbol.
+     */
+    public synchronized @Nullable Entry get(ResourceKey file, @Nullable String startSymbol) {
+        final @Nullable Entry entry = entries.get(file);
+        if(entry == null) return null;
+        if(entry.startSymbol != null ? !entry.startSymbol.equals(startSymbol) : startSymbol != null) return null;
+        return entry;
+    }
+
+    public synchronized void put(ResourceKey file, String input, @Nullable String startSymbol, IParseForest parseForest) {
+        entries.put(file, new Entry(input, startSymbol, parseForest));
+    }
+
+    public synchronized void invalidate(ResourceKey file) {
+        entries.remove(file);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    public static class Entry {
+        public final String input;
+        public final @Nullable String startSymbol;
+        public final IParseForest parseForest;
+
+        private Entry(String input, @Nullable String startSymbol, IParseForest parseForest) {
+            this.input = input;
+            this.startSymbol = startSymbol;
+            this.parseForest = parseForest;
+        }
+    }
+}
@@ -35,17 +35,35 @@ import java.util.Collection;
 
 public class Jsglr2Parser {
     private final JSGLR2Implementation<IParseForest, Object, ?, IStrategoTerm, ?, ITokens> jsglr2;
+    private final @Nullable Jsglr2ParseCache parseCache;
 
-    public Jsglr2Parser(JSGLR2Implementation<IParseForest, Object, ?, IStrategoTerm, ?, ITokens> jsglr2) {
+    public Jsglr2Parser(JSGLR2Implementation<IParseForest, Object, ?, IStrategoTerm, ?, ITokens> jsglr2, @Nullable Jsglr2ParseCache parseCache) {
         this.jsglr2 = jsglr2;
+        this.parseCache = parseCache;
     }
 
-    public Jsglr2Parser(Jsglr2ParseTable parseTable, JSGLR2Variant.Preset preset) {
+    public Jsglr2Parser(JSGLR2Implementation<IParseForest, Object, ?, IStrategoTerm, ?, ITokens> jsglr2) {
+        this(jsglr2, null);
+    }
+
+    /**
+     * Creates a JSGLR2 parser for given parse table and preset. When {@code parseCache} is given, parse forests of
+     * previous parses are stored in it, and passed to the parser when the same file is parsed again, such that the
+     * incremental presets ({@link JSGLR2Variant.Preset#incremental} and {@link JSGLR2Variant.Preset#incrementalRecovery})
+     * can reuse unchanged subtrees. The cache can be shared between parser instances of the same parse table and preset,
+     * but must not be shared between different parse tables or presets.
+     */
+    public Jsglr2Parser(Jsglr2ParseTable parseTable, JSGLR2Variant.Preset preset, @Nullable Jsglr2ParseCache parseCache) {
         final JSGLR2<IStrategoTerm> jsglr2 = preset.getJSGLR2(parseTable.parseTable);
         if(!(jsglr2 instanceof JSGLR2Implementation)) {
             throw new IllegalStateException("Cannot create JSGLR2 parser, JSGLR2 implementation '" + jsglr2 + "' does not implement JSGLR2Implementation");
         }
         this.jsglr2 = (JSGLR2Implementation<IParseForest, Object, ?, IStrategoTerm, ?, ITokens>)jsglr2;
+        this.parseCache = parseCache;
+    }
+
+    public Jsglr2Parser(Jsglr2ParseTable parseTable, JSGLR2Variant.Preset preset) {
+        this(parseTable, preset, null);
     }
 
     public Jsglr2Parser(Jsglr2ParseTable parseTable) {
@@ -53,14 +71,30 @@ public class Jsglr2Parser {
     }
 
     public JsglrParseOutput parse(JsglrParseInput input) throws JsglrParseException {
-        final JSGLR2Request request = new JSGLR2Request(input.text.toString(), input.fileHint != null ? input.fileHint.toString() : "", input.startSymbol)
+        final String text = input.text.toString();
+        final JSGLR2Request request = new JSGLR2Request(text, input.fileHint != null ? input.fileHint.toString() : "", input.startSymbol)
             .withAmbiguitiesReporting(true);
-        final ParseResult<?> parseResult = jsglr2.parser.parse(request);
+        final ParseResult<IParseForest> parseResult;
+        if(parseCache != null && input.fileHint != null) {
+            final Jsglr2ParseCache.@Nullable Entry previous = parseCache.get(input.fileHint, input.startSymbol);
+            if(previous != null) {
+                parseResult = jsglr2.parser.parse(request, previous.input, previous.parseForest);
+            } else {
+                parseResult = jsglr2.parser.parse(request, null, null);
+            }
+            if(parseResult.isSuccess()) {
+                parseCache.put(input.fileHint, text, input.startSymbol, ((ParseSuccess<IParseForest>)parseResult).parseResult);
+            } else {
+                parseCache.invalidate(input.fileHint);
+            }
+        } else {
+            parseResult = jsglr2.parser.parse(request);
+        }
         if(!parseResult.isSuccess()) {
             final KeyedMessages messages = collectMessages(parseResult.messages, input.fileHint, input.rootDirectoryHint);
             throw JsglrParseException.parseFail(messages, input.startSymbol, input.fileHint, input.rootDirectoryHint);
         }
-        final IParseForest parseForest = ((ParseSuccess<?>)parseResult).parseResult;
+        final IParseForest parseForest = ((ParseSuccess<IParseForest>)parseResult).parseResult;
         final IImplodeResult<Object, ?, IStrategoTerm> implodeResult = jsglr2.imploder.implode(request, parseForest);
         final IStrategoTerm ast = implodeResult.ast();
         if(input.fileHint != null) {
@@ -2,4 +2,9 @@ package mb.spoofax.compiler.interfaces.spoofaxcore;
 
 public interface ParserFactory {
     Parser create();
+
+    /**
+     * Gets the pool of parsers created by this factory. The same pool is returned on every call.
+     */
+    ParserPool<? extends Parser> getPool();
 }
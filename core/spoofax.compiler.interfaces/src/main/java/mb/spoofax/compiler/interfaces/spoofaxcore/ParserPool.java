@@ -0,0 +1,171 @@
+package mb.spoofax.compiler.interfaces.spoofaxcore;
+
+import mb.jsglr.common.JsglrParseException;
+import mb.jsglr.common.JsglrParseInput;
+import mb.jsglr.common.JsglrParseOutput;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe pool of {@link Parser parsers} of a single language. Parsers are stateful and therefore cannot
+ * be used concurrently, but they can be reused for subsequent parses, as they reinitialize their state at the start of
+ * each parse. This pool hands out idle parsers when available, and creates new ones otherwise. At most
+ * {@code capacity} idle parsers are kept; parsers released into a full pool are dropped.
+ *
+ * Parsers that did not finish parsing normally, due to interruption or an unexpected exception, are never returned to
+ * the pool, as their state may be inconsistent.
+ *
+ * @param <P> Type of parsers in this pool.
+ */
+public class ParserPool<P extends Parser> implements Parser {
+    private final Supplier<P> factory;
+    private final ArrayBlockingQueue<P> idle;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong parses = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+
+    public ParserPool(Supplier<P> factory, int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of parser pool must be larger than 0, got '" + capacity + "'");
+        }
+        this.factory = factory;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public ParserPool(Supplier<P> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Takes an idle parser from the pool, or creates a new one if there are no idle parsers. The parser must be
+     * {@link #release released} after use.
+     */
+    public P acquire() {
+        final @Nullable P parser = idle.poll();
+        if(parser != null) {
+            reused.incrementAndGet();
+            return parser;
+        }
+        created.incrementAndGet();
+        return factory.get();
+    }
+
+    /**
+     * Returns {@code parser}, which must have been {@link #acquire acquired} from this pool and must not be used
+     * afterwards, to the pool.
+     */
+    public void release(P parser) {
+        if(!idle.offer(parser)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Parses {@code input} with a parser from this pool, returning the parser to the pool afterwards.
+     */
+    @Override public JsglrParseOutput parse(JsglrParseInput input) throws JsglrParseException, InterruptedException {
+        final P parser = acquire();
+        final long start = System.nanoTime();
+        try {
+            final JsglrParseOutput output = parser.parse(input);
+            release(parser);
+            return output;
+        } catch(JsglrParseException e) {
+            // Parse failures are regular results, the parser can be reused.
+            release(parser);
+            throw e;
+        } catch(InterruptedException | RuntimeException e) {
+            dropped.incrementAndGet();
+            throw e;
+        } finally {
+            parses.incrementAndGet();
+            parseNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Drops all idle parsers.
+     */
+    public void clear() {
+        idle.clear();
+    }
+
+    public Stats getStats() {
+        return new Stats(created.get(), reused.get(), dropped.get(), idle.size(), parses.get(), parseNanos.get());
+    }
+
+
+    public static class Stats implements Serializable {
+        /**
+         * Number of parsers that were created because no idle parser was available.
+         */
+        public final long created;
+        /**
+         * Number of times an idle parser was reused instead of creating a new one.
+         */
+        public final long reused;
+        /**
+         * Number of parsers that were dropped because the pool was full, or because they did not finish normally.
+         */
+        public final long dropped;
+        /**
+         * Number of idle parsers in the pool.
+         */
+        public final int idle;
+        /**
+         * Number of parses executed through {@link ParserPool#parse}.
+         */
+        public final long parses;
+        /**
+         * Total time spent in {@link ParserPool#parse}, in nanoseconds, summed over all threads.
+         */
+        public final long parseNanos;
+
+        public Stats(long created, long reused, long dropped, int idle, long parses, long parseNanos) {
+            this.created = created;
+            this.reused = reused;
+            this.dropped = dropped;
+            this.idle = idle;
+            this.parses = parses;
+            this.parseNanos = parseNanos;
+        }
+
+        /**
+         * Gets the number of parses per second of parse time, or 0 if nothing was parsed yet.
+         */
+        public double getParsesPerSecond() {
+            if(parseNanos == 0) return 0;
+            return parses / (parseNanos / 1_000_000_000.0);
+        }
+
+        /**
+         * Gets the ratio of parser acquisitions that reused an existing parser, or 0 if no parsers were acquired yet.
+         */
+        public double getReuseRatio() {
+            final long acquired = created + reused;
+            if(acquired == 0) return 0;
+            return (double)reused / acquired;
+        }
+
+        @Override public String toString() {
+            return "ParserPool.Stats{" +
+                "created=" + created +
+                ", reused=" + reused +
+                ", dropped=" + dropped +
+                ", idle=" + idle +
+                ", parses=" + parses +
+                ", parseNanos=" + parseNanos +
+                ", parsesPerSecond=" + String.format("%.2f", getParsesPerSecond()) +
+                ", reuseRatio=" + String.format("%.2f", getReuseRatio()) +
+                '}';
+        }
+    }
+}
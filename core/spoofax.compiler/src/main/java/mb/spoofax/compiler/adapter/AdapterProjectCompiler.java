@@ -479,12 +479,18 @@ public class AdapterProjectCompiler implements TaskDef<Supplier<Result<AdapterPr
             });
             referenceResolution().ifPresent((i) -> {
                 taskDefs.add(i.resolveTaskDef(), i.baseResolveTaskDef());
+                if(i.precomputeIndex()) {
+                    taskDefs.add(i.resolveIndexTaskDef(), i.baseResolveIndexTaskDef());
+                }
             });
             if(!referenceResolution().isPresent()) {
                 taskDefs.add(TypeInfo.of(NoneResolveTaskDef.class));
             }
             hover().ifPresent((i) -> {
                 taskDefs.add(i.hoverTaskDef(), i.baseHoverTaskDef());
+                if(i.precomputeIndex()) {
+                    taskDefs.add(i.hoverIndexTaskDef(), i.baseHoverIndexTaskDef());
+                }
             });
             dynamix().ifPresent((i) -> {
                 i.collectTaskDefs(taskDefs);
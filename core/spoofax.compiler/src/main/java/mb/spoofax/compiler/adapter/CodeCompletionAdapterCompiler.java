@@ -116,6 +116,14 @@ public class CodeCompletionAdapterCompiler {
 
         @Value.Default default String statixRootPredicateName() { return "programOk"; }
 
+        // Completion settings
+
+        /**
+         * Time budget in milliseconds for finding completion proposals, after which the proposals found so far are
+         * returned as an incomplete result. When absent, all proposals are found.
+         */
+        Optional<Integer> timeBudgetMillis();
+
         /// Files information, known up-front for build systems with static dependencies such as Gradle.
 
         default ListView<ResourcePath> javaSourceFiles() {
@@ -105,6 +105,17 @@ public class ConstraintAnalyzerAdapterCompiler {
 
         Optional<Boolean> defaultStatixSuppressCascadingErrors();
 
+        /**
+         * Whether per-file analysis results of multi-file analysis are stored in a separate on-disk store, in the
+         * temporary directory of the system, instead of being serialized together with the analysis context.
+         */
+        @Value.Default default boolean storeAnalysisResults() { return false; }
+
+        /**
+         * Whether cold multi-file analysis prefetches ASTs by parsing files concurrently on the common fork-join pool.
+         */
+        @Value.Default default boolean prefetchAsts() { return false; }
+
         /// Kinds of classes (generated/extended/manual)
 
         @Value.Default default ClassKind classKind() { return ClassKind.Generated; }
@@ -20,11 +20,13 @@ import java.util.Optional;
 @Value.Enclosing
 public class HoverAdapterCompiler {
     private final TemplateWriter hoverTaskDefTemplate;
+    private final TemplateWriter hoverIndexTaskDefTemplate;
 
     @Inject public HoverAdapterCompiler(TemplateCompiler templateCompiler) {
         templateCompiler = templateCompiler.loadingFromClass(getClass());
 
         this.hoverTaskDefTemplate = templateCompiler.getOrCompileToWriter("editor_services/HoverTaskDef.java.mustache");
+        this.hoverIndexTaskDefTemplate = templateCompiler.getOrCompileToWriter("editor_services/HoverIndexTaskDef.java.mustache");
     }
 
 
@@ -33,6 +35,9 @@ public class HoverAdapterCompiler {
         final ResourcePath generatedJavaSourcesDirectory = input.generatedJavaSourcesDirectory();
 
         hoverTaskDefTemplate.write(context, input.hoverTaskDef().file(generatedJavaSourcesDirectory), input);
+        if(input.precomputeIndex()) {
+            hoverIndexTaskDefTemplate.write(context, input.hoverIndexTaskDef().file(generatedJavaSourcesDirectory), input);
+        }
 
         return None.instance;
     }
@@ -49,6 +54,15 @@ public class HoverAdapterCompiler {
         /// Configuration
         String hoverStrategy();
 
+        /**
+         * Whether to run the hover strategy on all terms of a file at once after analysis, and answer hover
+         * requests by looking up their position in the resulting index, instead of running the hover strategy for
+         * each request.
+         */
+        @Value.Default default boolean precomputeIndex() {
+            return false;
+        }
+
 
         /// Kinds of classes (generated/extended/manual)
 
@@ -75,6 +89,16 @@ public class HoverAdapterCompiler {
             return extendHoverTaskDef().orElseGet(this::baseHoverTaskDef);
         }
 
+        @Value.Default default TypeInfo baseHoverIndexTaskDef() {
+            return TypeInfo.of(adapterProject().taskPackageId(), shared().defaultClassPrefix() + "HoverIndex");
+        }
+
+        Optional<TypeInfo> extendHoverIndexTaskDef();
+
+        default TypeInfo hoverIndexTaskDef() {
+            return extendHoverIndexTaskDef().orElseGet(this::baseHoverIndexTaskDef);
+        }
+
 
         /// Files information, known up-front for build systems with static dependencies such as Gradle.
 
@@ -83,6 +107,12 @@ public class HoverAdapterCompiler {
                 return ListView.of();
             }
             final ResourcePath generatedJavaSourcesDirectory = generatedJavaSourcesDirectory();
+            if(precomputeIndex()) {
+                return ListView.of(
+                    hoverTaskDef().file(generatedJavaSourcesDirectory),
+                    hoverIndexTaskDef().file(generatedJavaSourcesDirectory)
+                );
+            }
             return ListView.of(
                 hoverTaskDef().file(generatedJavaSourcesDirectory)
             );
@@ -20,11 +20,13 @@ import java.util.Optional;
 @Value.Enclosing
 public class ReferenceResolutionAdapterCompiler {
     private final TemplateWriter resolveTaskDefTemplate;
+    private final TemplateWriter resolveIndexTaskDefTemplate;
 
     @Inject public ReferenceResolutionAdapterCompiler(TemplateCompiler templateCompiler) {
         templateCompiler = templateCompiler.loadingFromClass(getClass());
 
         this.resolveTaskDefTemplate = templateCompiler.getOrCompileToWriter("editor_services/ResolveTaskDef.java.mustache");
+        this.resolveIndexTaskDefTemplate = templateCompiler.getOrCompileToWriter("editor_services/ResolveIndexTaskDef.java.mustache");
     }
 
 
@@ -33,6 +35,9 @@ public class ReferenceResolutionAdapterCompiler {
         final ResourcePath generatedJavaSourcesDirectory = input.generatedJavaSourcesDirectory();
 
         resolveTaskDefTemplate.write(context, input.resolveTaskDef().file(generatedJavaSourcesDirectory), input);
+        if(input.precomputeIndex()) {
+            resolveIndexTaskDefTemplate.write(context, input.resolveIndexTaskDef().file(generatedJavaSourcesDirectory), input);
+        }
 
         return None.instance;
     }
@@ -49,6 +54,15 @@ public class ReferenceResolutionAdapterCompiler {
         /// Configuration
         String resolveStrategy();
 
+        /**
+         * Whether to run the resolve strategy on all terms of a file at once after analysis, and answer resolve
+         * requests by looking up their position in the resulting index, instead of running the resolve strategy for
+         * each request.
+         */
+        @Value.Default default boolean precomputeIndex() {
+            return false;
+        }
+
 
         /// Kinds of classes (generated/extended/manual)
 
@@ -75,6 +89,16 @@ public class ReferenceResolutionAdapterCompiler {
             return extendResolveTaskDef().orElseGet(this::baseResolveTaskDef);
         }
 
+        @Value.Default default TypeInfo baseResolveIndexTaskDef() {
+            return TypeInfo.of(adapterProject().taskPackageId(), shared().defaultClassPrefix() + "ResolveIndex");
+        }
+
+        Optional<TypeInfo> extendResolveIndexTaskDef();
+
+        default TypeInfo resolveIndexTaskDef() {
+            return extendResolveIndexTaskDef().orElseGet(this::baseResolveIndexTaskDef);
+        }
+
 
         /// Files information, known up-front for build systems with static dependencies such as Gradle.
 
@@ -83,6 +107,12 @@ public class ReferenceResolutionAdapterCompiler {
                 return ListView.of();
             }
             final ResourcePath generatedJavaSourcesDirectory = generatedJavaSourcesDirectory();
+            if(precomputeIndex()) {
+                return ListView.of(
+                    resolveTaskDef().file(generatedJavaSourcesDirectory),
+                    resolveIndexTaskDef().file(generatedJavaSourcesDirectory)
+                );
+            }
             return ListView.of(
                 resolveTaskDef().file(generatedJavaSourcesDirectory)
             );
@@ -133,6 +133,12 @@ public class ParserLanguageCompiler {
             return variant().isJsglr2();
         }
 
+        default boolean isJsglr2Incremental() {
+            return variant().caseOf()
+                .jsglr2(ParserVariant.Jsglr2Preset::isIncremental)
+                .otherwise_(false);
+        }
+
         default TypeInfo parseTableType() {
             return variant().caseOf()
                 .jsglr1(() -> TypeInfo.of("mb.jsglr1.common.JSGLR1ParseTable"))
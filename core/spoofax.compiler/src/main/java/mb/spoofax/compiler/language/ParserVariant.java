@@ -41,6 +41,10 @@ public abstract class ParserVariant implements Serializable {
                     return "incrementalRecovery";
             }
         }
+
+        public boolean isIncremental() {
+            return this == Incremental || this == IncrementalRecovery;
+        }
     }
 
     interface Cases<R> {
@@ -3,14 +3,13 @@ package mb.spoofax.compiler.util;
 import com.samskivert.mustache.Template;
 import mb.pie.api.ExecContext;
 import mb.pie.api.stamp.resource.ResourceStampers;
-import mb.resource.WritableResource;
 import mb.resource.hierarchical.HierarchicalResource;
 import mb.resource.hierarchical.ResourcePath;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Writer;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 public class TemplateWriter {
     private final Template template;
@@ -22,46 +21,46 @@ public class TemplateWriter {
     }
 
     public HierarchicalResource write(HierarchicalResource resource, Object context) throws IOException {
-        resource.createParents();
-        try(final Writer writer = writer(resource)) {
-            template.execute(context, writer);
-            writer.flush();
-        }
+        writeIfChanged(resource, template.execute(context));
         return resource;
     }
 
     public HierarchicalResource write(HierarchicalResource resource, Object context, Object parentContext) throws IOException {
-        resource.createParents();
-        try(final Writer writer = writer(resource)) {
-            template.execute(context, parentContext, writer);
-            writer.flush();
-        }
+        writeIfChanged(resource, execute(context, parentContext));
         return resource;
     }
 
     public HierarchicalResource write(ExecContext execContext, ResourcePath path, Object context) throws IOException {
         final HierarchicalResource resource = execContext.getHierarchicalResource(path);
-        resource.createParents();
-        try(final Writer writer = writer(resource)) {
-            template.execute(context, writer);
-            writer.flush();
-        }
+        writeIfChanged(resource, template.execute(context));
         execContext.provide(resource, ResourceStampers.hashFile());
         return resource;
     }
 
     public HierarchicalResource write(ExecContext execContext, ResourcePath path, Object context, Object parentContext) throws IOException {
         final HierarchicalResource resource = execContext.getHierarchicalResource(path);
-        resource.createParents();
-        try(final Writer writer = writer(resource)) {
-            template.execute(context, parentContext, writer);
-            writer.flush();
-        }
+        writeIfChanged(resource, execute(context, parentContext));
         execContext.provide(resource, ResourceStampers.hashFile());
         return resource;
     }
 
-    private BufferedWriter writer(WritableResource resource) throws IOException {
-        return new BufferedWriter(new ResourceWriter(resource, charset));
+    private String execute(Object context, Object parentContext) {
+        final StringWriter writer = new StringWriter();
+        template.execute(context, parentContext, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Writes {@code text} to {@code resource}, unless the resource already has that content. Leaving unchanged files
+     * untouched keeps their modified date, such that Java compilation and Gradle do not consider them changed after a
+     * regeneration that did not change anything.
+     */
+    private void writeIfChanged(HierarchicalResource resource, String text) throws IOException {
+        final byte[] bytes = text.getBytes(charset);
+        if(resource.exists() && resource.isFile() && resource.getSize() == bytes.length && Arrays.equals(resource.readBytes(), bytes)) {
+            return;
+        }
+        resource.createParents();
+        resource.writeBytes(bytes);
     }
 }
@@ -1,10 +1,12 @@
 plugins {
   id("org.metaborg.gradle.config.java-library")
+  id("org.metaborg.gradle.config.junit-testing")
 }
 
 dependencies {
   api(platform(project(":spoofax.depconstraints")))
   annotationProcessor(platform(project(":spoofax.depconstraints")))
+  testAnnotationProcessor(platform(project(":spoofax.depconstraints")))
 
   api(project(":spoofax.common"))
   api("org.metaborg:common")
@@ -25,4 +27,6 @@ dependencies {
   annotationProcessor("com.google.dagger:dagger-compiler")
   annotationProcessor("org.immutables:value")
   annotationProcessor("org.derive4j:derive4j")
+
+  testCompileOnly("org.checkerframework:checker-qual-android")
 }
@@ -0,0 +1,93 @@
+package mb.spoofax.core.resource;
+
+import mb.pie.api.stamp.ResourceStamp;
+import mb.pie.api.stamp.ResourceStamper;
+import mb.pie.api.stamp.resource.ValueResourceStamp;
+import mb.resource.ReadableResource;
+import mb.resource.ResourceKey;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stamps a {@link ReadableResource} with a hash of its bytes, like the hash file stamper from
+ * {@code ResourceStampers.hashFile()}, but memoizes the hash per resource in a memo that is shared by all instances in
+ * the process. The hash is only computed again when the last modified time or size of the resource changed. Intended
+ * for resources that rarely change during the lifetime of the process, such as the class files of task definitions
+ * that tasks require through {@code ClassLoaderResources}, which are stamped on every consistency check of those
+ * tasks.
+ *
+ * The memo is shared because stampers are stored with their dependencies, and stored stampers are used to check
+ * consistency after a restart. Thread-safe.
+ */
+public class MemoizedHashResourceStamper implements ResourceStamper<ReadableResource> {
+    private static final ConcurrentHashMap<ResourceKey, Entry> memo = new ConcurrentHashMap<>();
+
+    @Override public ResourceStamp<ReadableResource> stamp(ReadableResource resource) throws IOException {
+        if(!resource.exists()) {
+            return new ValueResourceStamp<>("", this); // Empty string is never a hash, so it is distinct from any hash.
+        }
+        final ResourceKey key = resource.getKey();
+        final Instant lastModified = resource.getLastModifiedTime();
+        final long size = resource.getSize();
+        final @Nullable Entry entry = memo.get(key);
+        if(entry != null && entry.lastModified.equals(lastModified) && entry.size == size) {
+            return new ValueResourceStamp<>(entry.hash, this);
+        }
+        final String hash = hash(resource.readBytes());
+        memo.put(key, new Entry(lastModified, size, hash));
+        return new ValueResourceStamp<>(hash, this);
+    }
+
+    /**
+     * Drops all memoized hashes, for example when resources may have changed without changing their last modified
+     * time and size.
+     */
+    public static void clearMemo() {
+        memo.clear();
+    }
+
+    private static String hash(byte[] bytes) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch(NoSuchAlgorithmException e) {
+            throw new RuntimeException("BUG: SHA-1 message digest is not available", e);
+        }
+        final byte[] hash = digest.digest(bytes);
+        final StringBuilder sb = new StringBuilder(hash.length * 2);
+        for(byte b : hash) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @Override public boolean equals(@Nullable Object o) {
+        return this == o || o != null && this.getClass() == o.getClass();
+    }
+
+    @Override public int hashCode() {
+        return 0;
+    }
+
+    @Override public String toString() {
+        return "MemoizedHashResourceStamper()";
+    }
+
+
+    private static class Entry {
+        final Instant lastModified;
+        final long size;
+        final String hash;
+
+        Entry(Instant lastModified, long size, String hash) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+        }
+    }
+}
@@ -18,20 +18,40 @@ import java.util.Objects;
 public class ResourceTextSupplier implements Supplier<Text> {
     public final ResourceKey key;
     public final @Nullable ResourceStamper<ReadableResource> resourceStamper;
+    public final ResourceStamper<TextResource> textResourceStamper;
     public final String charsetName;
     private transient Charset charset;
 
+    /**
+     * Creates a supplier of the text of the resource for {@code key}.
+     *
+     * @param resourceStamper stamper for requiring resources that are not {@link TextResource}s, or {@code null} to use
+     * the default stamper of the execution context.
+     * @param textResourceStamper stamper for requiring {@link TextResource}s. {@link TextHashResourceStamper} stamps with
+     * a hash of the text, whereas {@link TextResourceStamper} stamps with the text itself.
+     * @param charset charset for reading resources that are not {@link TextResource}s.
+     */
     public ResourceTextSupplier(
         ResourceKey key,
         @Nullable ResourceStamper<ReadableResource> resourceStamper,
+        ResourceStamper<TextResource> textResourceStamper,
         Charset charset
     ) {
         this.key = key;
         this.resourceStamper = resourceStamper;
+        this.textResourceStamper = textResourceStamper;
         this.charsetName = charset.name();
         this.charset = charset;
     }
 
+    public ResourceTextSupplier(
+        ResourceKey key,
+        @Nullable ResourceStamper<ReadableResource> resourceStamper,
+        Charset charset
+    ) {
+        this(key, resourceStamper, new TextHashResourceStamper(), charset);
+    }
+
     public ResourceTextSupplier(ResourceKey key, @Nullable ResourceStamper<ReadableResource> resourceStamper) {
         this(key, resourceStamper, StandardCharsets.UTF_8);
     }
@@ -50,7 +70,7 @@ public class ResourceTextSupplier implements Supplier<Text> {
             final ReadableResource resource = context.getReadableResource(key);
             if(resource instanceof TextResource) {
                 final TextResource textResource = (TextResource)resource;
-                context.require(textResource, new TextResourceStamper());
+                context.require(textResource, textResourceStamper);
                 return textResource.getText();
             } else {
                 return Text.string(context.require(key, resourceStamper != null ? resourceStamper : context.getDefaultRequireReadableResourceStamper()).readString(charset));
@@ -66,17 +86,19 @@ public class ResourceTextSupplier implements Supplier<Text> {
         final ResourceTextSupplier that = (ResourceTextSupplier)o;
         return key.equals(that.key) &&
             Objects.equals(resourceStamper, that.resourceStamper) &&
+            textResourceStamper.equals(that.textResourceStamper) &&
             charset.equals(that.charset);
     }
 
     @Override public int hashCode() {
-        return Objects.hash(key, resourceStamper, charset);
+        return Objects.hash(key, resourceStamper, textResourceStamper, charset);
     }
 
     @Override public String toString() {
         return "ResourceTextSupplier{" +
             "key=" + key +
             ", stamper=" + resourceStamper +
+            ", textStamper=" + textResourceStamper +
             ", charset=" + charset +
             '}';
     }
@@ -0,0 +1,156 @@
+package mb.spoofax.core.resource;
+
+import mb.common.text.StringFragment;
+import mb.common.text.Text;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+
+/**
+ * 128-bit hash of the characters of a text, together with its length, used as a compact stamp of text that does not
+ * grow with the size of the text. Computed with the 128-bit x64 variant of MurmurHash3 (seed 0) over the UTF-16
+ * characters of the text in little-endian byte order, which is equal to Guava's {@code
+ * Hashing.murmur3_128().hashUnencodedChars}.
+ */
+public final class TextHash implements Serializable {
+    private static final long serialVersionUID = 2;
+
+    private final long hash1;
+    private final long hash2;
+    private final int length;
+
+    private TextHash(long hash1, long hash2, int length) {
+        this.hash1 = hash1;
+        this.hash2 = hash2;
+        this.length = length;
+    }
+
+    /**
+     * Hashes the characters of {@code text}, without copying fragmented text into a single string.
+     */
+    public static TextHash of(Text text) {
+        return text.caseOf()
+            .string(string -> of(string))
+            .fragmentedString(fragmentedString -> {
+                final Hasher hasher = new Hasher();
+                for(StringFragment fragment : fragmentedString.fragments) {
+                    hasher.add(fragment.text);
+                }
+                return hasher.finish();
+            });
+    }
+
+    public static TextHash of(CharSequence text) {
+        final Hasher hasher = new Hasher();
+        hasher.add(text);
+        return hasher.finish();
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+
+    /**
+     * Incremental MurmurHash3 x64 128-bit hasher over UTF-16 characters, which processes blocks of 8 characters (16
+     * bytes).
+     */
+    private static final class Hasher {
+        private static final long c1 = 0x87C37B91114253D5L;
+        private static final long c2 = 0x4CF5AD432745937FL;
+
+        private long h1 = 0;
+        private long h2 = 0;
+        private long k1 = 0;
+        private long k2 = 0;
+        private int blockLength = 0;
+        private int length = 0;
+
+        void add(CharSequence text) {
+            final int textLength = text.length();
+            for(int i = 0; i < textLength; ++i) {
+                add(text.charAt(i));
+            }
+        }
+
+        private void add(char c) {
+            if(blockLength < 4) {
+                k1 |= (long)c << (blockLength * 16);
+            } else {
+                k2 |= (long)c << ((blockLength - 4) * 16);
+            }
+            ++length;
+            if(++blockLength == 8) {
+                h1 ^= mixK1(k1);
+                h1 = Long.rotateLeft(h1, 27);
+                h1 += h2;
+                h1 = h1 * 5 + 0x52DCE729;
+                h2 ^= mixK2(k2);
+                h2 = Long.rotateLeft(h2, 31);
+                h2 += h1;
+                h2 = h2 * 5 + 0x38495AB5;
+                k1 = 0;
+                k2 = 0;
+                blockLength = 0;
+            }
+        }
+
+        TextHash finish() {
+            if(blockLength > 4) {
+                h2 ^= mixK2(k2);
+            }
+            if(blockLength > 0) {
+                h1 ^= mixK1(k1);
+            }
+            final long byteLength = length * 2L;
+            h1 ^= byteLength;
+            h2 ^= byteLength;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+            return new TextHash(h1, h2, length);
+        }
+
+        private static long mixK1(long k1) {
+            k1 *= c1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= c2;
+            return k1;
+        }
+
+        private static long mixK2(long k2) {
+            k2 *= c2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= c1;
+            return k2;
+        }
+
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xFF51AFD7ED558CCDL;
+            k ^= k >>> 33;
+            k *= 0xC4CEB9FE1A85EC53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+
+
+    @Override public boolean equals(@Nullable Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        final TextHash that = (TextHash)o;
+        return hash1 == that.hash1 && hash2 == that.hash2 && length == that.length;
+    }
+
+    @Override public int hashCode() {
+        return Long.hashCode(hash1);
+    }
+
+    @Override public String toString() {
+        return String.format("%016x%016x", hash1, hash2) + " (" + length + " characters)";
+    }
+}
@@ -0,0 +1,31 @@
+package mb.spoofax.core.resource;
+
+import mb.pie.api.stamp.ResourceStamp;
+import mb.pie.api.stamp.ResourceStamper;
+import mb.pie.api.stamp.resource.ValueResourceStamp;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Stamps a {@link TextResource} with a {@link TextHash hash} of its text, instead of with the text itself like
+ * {@link TextResourceStamper} does, such that the size of the stamp, and the cost of comparing and storing it, does not
+ * grow with the size of the text.
+ */
+public class TextHashResourceStamper implements ResourceStamper<TextResource> {
+    @Override public ResourceStamp<TextResource> stamp(TextResource resource) throws IOException {
+        return new ValueResourceStamp<>(TextHash.of(resource.getText()), this);
+    }
+
+    @Override public boolean equals(@Nullable Object o) {
+        return this == o || o != null && this.getClass() == o.getClass();
+    }
+
+    @Override public int hashCode() {
+        return 0;
+    }
+
+    @Override public String toString() {
+        return "TextHashResourceStamper()";
+    }
+}
@@ -0,0 +1,94 @@
+package mb.spoofax.core.resource;
+
+import mb.common.text.FragmentedString;
+import mb.common.text.StringFragment;
+import mb.common.text.Text;
+import mb.common.util.ListView;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests the {@link TextHash} class.
+ */
+public final class TextHashTests {
+    @Test
+    public void of_shouldReturnEqualHashes_whenGivenEqualTexts() {
+        // Arrange
+        final String string = "module test context-free syntax A = <a>";
+
+        // Act
+        final TextHash hash1 = TextHash.of(string);
+        final TextHash hash2 = TextHash.of(new StringBuilder(string));
+        final TextHash hash3 = TextHash.of(Text.string(string));
+
+        // Assert
+        assertEquals(hash1, hash2);
+        assertEquals(hash1, hash3);
+        assertEquals(hash1.hashCode(), hash3.hashCode());
+    }
+
+    @Test
+    public void of_shouldHashFragmentedTextAsItsCharacters() {
+        // Arrange
+        final Text fragmented = Text.fragmentedString(new FragmentedString(ListView.of(
+            new StringFragment(0, "abc"),
+            new StringFragment(10, "defghijklm"),
+            new StringFragment(30, "n")
+        )));
+
+        // Act
+        final TextHash hash = TextHash.of(fragmented);
+
+        // Assert
+        assertEquals(TextHash.of("abcdefghijklmn"), hash);
+    }
+
+    @Test
+    public void of_shouldDifferentiateTexts_whichDifferInOneCharacter() {
+        // Arrange
+        final String string = "abcdefghijklmnopq"; // Two full blocks of 8 characters, and a tail of 1 character.
+        final HashSet<TextHash> hashes = new HashSet<>();
+        hashes.add(TextHash.of(string));
+
+        // Act
+        for(int i = 0; i < string.length(); ++i) {
+            final StringBuilder changed = new StringBuilder(string);
+            changed.setCharAt(i, 'z');
+            hashes.add(TextHash.of(changed));
+        }
+
+        // Assert
+        assertEquals(string.length() + 1, hashes.size());
+    }
+
+    @Test
+    public void of_shouldDifferentiateTexts_whichDifferInOrder() {
+        // Act & Assert
+        assertNotEquals(TextHash.of("ab"), TextHash.of("ba"));
+        assertNotEquals(TextHash.of("abcdefgh" + "ijklmnop"), TextHash.of("ijklmnop" + "abcdefgh"));
+    }
+
+    @Test
+    public void of_shouldDifferentiateLengths_whenPaddedWithNullCharacters() {
+        // Arrange
+        final TextHash empty = TextHash.of("");
+        final TextHash oneNull = TextHash.of("\0");
+        final TextHash a = TextHash.of("a");
+        final TextHash aNull = TextHash.of("a\0");
+        final TextHash block = TextHash.of("abcdefgh");
+        final TextHash blockNull = TextHash.of("abcdefgh\0");
+
+        // Act & Assert
+        assertEquals(0, empty.getLength());
+        assertEquals(1, oneNull.getLength());
+        assertEquals(2, aNull.getLength());
+        assertEquals(9, blockNull.getLength());
+        assertNotEquals(empty, oneNull);
+        assertNotEquals(a, aNull);
+        assertNotEquals(block, blockNull);
+    }
+}
@@ -27,9 +27,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 
 /**
@@ -49,9 +49,12 @@ public final class SpoofaxLexer extends LexerBase {
     @Nullable private CharSequence buffer = null;
     private int startOffset = 0;
     private int endOffset = 0;
-    private List<SpoofaxIntellijToken> tokens = Collections.emptyList();
     private int tokenIndex = 0;
 
+    // Tokens covering the whole of the last lexed buffer, kept between calls to start() such that restarting the
+    // lexer only converts the tokens that changed.
+    private TokenArray tokens = TokenArray.EMPTY;
+
     /**
      * Initializes a new instance of the {@link SpoofaxLexer} class.
      */
@@ -74,6 +77,14 @@ public final class SpoofaxLexer extends LexerBase {
     }
 
 
+    /**
+     * Starts lexing {@code buffer} from {@code startOffset}.
+     * <p>
+     * The tokens are produced by the tokenizer of the language for the whole resource, so every token boundary is a
+     * valid restart point, and the state is always 0. When IntelliJ restarts the lexer after a change, only the tokens
+     * in the changed range are converted to IntelliJ tokens; the tokens before and after the changed range are taken
+     * from the tokens of the previous call.
+     */
     @Override
     public void start(CharSequence buffer, int startOffset, int endOffset, int initialState) {
         assert initialState == 0;
@@ -86,16 +97,15 @@ public final class SpoofaxLexer extends LexerBase {
             endOffset = IntUtil.clamp(endOffset, startOffset, buffer.length());;
         }
 
-        logger.debug("Lexing {}", this.resourceKey);
+        logger.debug("Lexing {} from {} to {}", this.resourceKey, startOffset, endOffset);
 
         this.buffer = buffer;
         this.startOffset = startOffset;
         this.endOffset = endOffset;
-        this.tokenIndex = 0;
 
         if (buffer.length() == 0) {
             logger.debug("Buffer is empty");
-            this.tokens = Collections.emptyList();
+            this.tokens = TokenArray.EMPTY;
         } else {
             // GK: what is syntax coloring information doing here?
             try (final MixedSession session = pie.newSession()) {
@@ -110,14 +120,15 @@ public final class SpoofaxLexer extends LexerBase {
                     resourceTokens = tokens.get().getTokens();
                     logger.debug("Tokenizer task returned {} tokens", resourceTokens.size());
                 }
-                this.tokens = tokenize(resourceTokens);
+                this.tokens = tokenize(resourceTokens, buffer.length());
             } catch (ExecException e) {
                 throw new RuntimeException("Styling resource '" + this.resourceKey + "' failed unexpectedly", e);
             } catch(InterruptedException e) {
                 // TODO: should anything special happen on interruption?
             }
         }
-        logger.debug("Tokenizer produced {} tokens", this.tokens.size());
+        this.tokenIndex = this.tokens.indexAt(startOffset);
+        logger.debug("Tokenizer produced {} tokens", this.tokens.size);
     }
 
     /**
@@ -140,17 +151,21 @@ public final class SpoofaxLexer extends LexerBase {
 
     /**
      * Tokenizes a list of Spoofax tokens into IntelliJ tokens.
+     * <p>
+     * The tokens that are equal to a prefix or (shifted) suffix of the previous tokens reuse the element types of the
+     * previous tokens, such that only the element types of tokens in the changed range are determined again.
      *
      * @param tokens The list of tokens to tokenize.
-     * @return The list of IntelliJ tokens that represents the input tokens for IntelliJ.
+     * @param length The length of the buffer to cover.
+     * @return The IntelliJ tokens that represent the input tokens for IntelliJ.
      */
-    private List<SpoofaxIntellijToken> tokenize(List<? extends mb.common.token.Token> tokens) {
-        List<SpoofaxIntellijToken> newTokens = new ArrayList<>();
+    private TokenArray tokenize(List<? extends mb.common.token.Token<?>> tokens, int length) {
+        final TokenArray newTokens = new TokenArray(tokens.size() * 2 + 1);
         int offset = 0;
 
         for (mb.common.token.Token<?> token : tokens) {
             int tokenStart = token.getRegion().getStartOffset();
-            int tokenEnd = token.getRegion().getEndOffset();
+            int tokenEnd = Math.min(token.getRegion().getEndOffset(), length);
 
             // We assume that tokens are non-empty. When we encounter
             // a token with an end at or before its start,
@@ -170,57 +185,65 @@ public final class SpoofaxLexer extends LexerBase {
             // token, we assign it our own dummy token/element.
             if (offset < tokenStart) {
                 // Add dummy element.
-                offset = addTokenElement(newTokens, null, offset, tokenStart);
+                newTokens.add(offset, tokenStart, null);
+                offset = tokenStart;
             }
 
             assert offset == tokenStart;
 
             // Add element.
-            offset = addTokenElement(newTokens, token, offset, tokenEnd);
+            newTokens.add(offset, tokenEnd, token.getType());
+            offset = tokenEnd;
 
-            // When we've seen tokens up to the end of the highlighted range
+            // When we've seen tokens up to the end of the buffer
             // we bail out.
-            if (offset >= this.endOffset)
+            if (offset >= length)
                 break;
         }
 
-        // When there is a gap between the last token and the end of the highlighted range
+        // When there is a gap between the last token and the end of the buffer
         // we insert our own dummy token/element.
-        if (offset < this.endOffset) {
-            offset = addTokenElement(newTokens, null, offset, this.endOffset);
+        if (offset < length) {
+            newTokens.add(offset, length, null);
+            offset = length;
         }
 
-        assert offset >= this.endOffset;
+        assert offset >= length;
 
-        return newTokens;
-    }
+        final TokenArray oldTokens = this.tokens;
+        final int delta = length - oldTokens.length;
+        // Find the common prefix and suffix of the old and new tokens.
+        final int maxCommon = Math.min(oldTokens.size, newTokens.size);
+        int prefix = 0;
+        while (prefix < maxCommon && newTokens.sameAs(prefix, oldTokens, prefix, 0)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommon - prefix
+                && newTokens.sameAs(newTokens.size - 1 - suffix, oldTokens, oldTokens.size - 1 - suffix, delta)) {
+            suffix++;
+        }
+        System.arraycopy(oldTokens.elementTypes, 0, newTokens.elementTypes, 0, prefix);
+        System.arraycopy(oldTokens.elementTypes, oldTokens.size - suffix, newTokens.elementTypes, newTokens.size - suffix, suffix);
+        for (int i = prefix; i < newTokens.size - suffix; i++) {
+            newTokens.elementTypes[i] = getTokenType(newTokens.types[i]);
+        }
+        logger.debug("Reused {} tokens, converted {} tokens", prefix + suffix, newTokens.size - prefix - suffix);
 
-    /**
-     * Adds a token to the list of IntelliJ tokens.
-     *
-     * @param tokenList   The list of IntelliJ tokens to modify.
-     * @param token       The token to transform and add.
-     * @param startOffset The inclusive zero-based start offset of the token.
-     * @param endOffset   The exclusive zero-based end offset of the token.
-     * @return The new end offset.
-     */
-    // Apparently this means @Nullable mb.common.token.Token in Java :/
-    private int addTokenElement(List<SpoofaxIntellijToken> tokenList, mb.common.token.@Nullable Token<?> token, int startOffset, int endOffset) {
-        IElementType tokenType = getTokenType(token);
-        tokenList.add(new SpoofaxIntellijToken(startOffset, endOffset, tokenType));
-        return endOffset;
+        newTokens.length = length;
+        return newTokens;
     }
 
     /**
-     * Gets the token type for the specified Spoofax token.
+     * Gets the element type for the specified Spoofax token type.
      *
-     * @param token The Spoofax token.
-     * @return The corresponding token type.
+     * @param tokenType The Spoofax token type; or {@code null} for characters not covered by a token.
+     * @return The corresponding element type.
      */
-    private IElementType getTokenType(mb.common.token.@Nullable Token<?> token) {
+    private IElementType getTokenType(@Nullable TokenType tokenType) {
         final String simplfiedScopeName;
-        if (token != null) {
-            final ScopeNames scopeNames = getScopeNamesFromType(token.getType());
+        if (tokenType != null) {
+            final ScopeNames scopeNames = getScopeNamesFromType(tokenType);
             simplfiedScopeName = this.scopeManager.getSimplifiedScope(scopeNames);
         } else {
             simplfiedScopeName = this.scopeManager.DEFAULT_SCOPE;
@@ -261,22 +284,22 @@ public final class SpoofaxLexer extends LexerBase {
 
     @Override
     public @Nullable IElementType getTokenType() {
-        if (0 <= this.tokenIndex && this.tokenIndex < this.tokens.size())
-            return this.tokens.get(tokenIndex).getTokenType();
+        if (0 <= this.tokenIndex && this.tokenIndex < this.tokens.size && this.tokens.starts[this.tokenIndex] < this.endOffset)
+            return this.tokens.elementTypes[tokenIndex];
         else
             return null;
     }
 
     @Override
     public int getTokenStart() {
-        assert 0 <= this.tokenIndex && this.tokenIndex < this.tokens.size() : "Expected index 0 <= " + tokenIndex + " < " + tokens.size();
-        return this.tokens.get(this.tokenIndex).getStartOffset();
+        assert 0 <= this.tokenIndex && this.tokenIndex < this.tokens.size : "Expected index 0 <= " + tokenIndex + " < " + tokens.size;
+        return Math.max(this.tokens.starts[this.tokenIndex], this.startOffset);
     }
 
     @Override
     public int getTokenEnd() {
-        assert 0 <= this.tokenIndex && this.tokenIndex < this.tokens.size() : "Expected index 0 <= " + tokenIndex + " < " + tokens.size();
-        return this.tokens.get(this.tokenIndex).getEndOffset();
+        assert 0 <= this.tokenIndex && this.tokenIndex < this.tokens.size : "Expected index 0 <= " + tokenIndex + " < " + tokens.size;
+        return Math.min(this.tokens.ends[this.tokenIndex], this.endOffset);
     }
 
     @Override
@@ -304,49 +327,82 @@ public final class SpoofaxLexer extends LexerBase {
     }
 
     /**
-     * Represents a Spoofax token for IntelliJ.
+     * Tokens for IntelliJ that cover a buffer, stored in parallel arrays.
      */
-    private static final class SpoofaxIntellijToken {
+    private static final class TokenArray {
+
+        /* package private */ static final TokenArray EMPTY = new TokenArray(0);
 
-        private final int startOffset;
-        private final int endOffset;
-        private final IElementType tokenType;
+        /* package private */ int[] starts;
+        /* package private */ int[] ends;
+        /* package private */ @Nullable TokenType[] types;
+        /* package private */ IElementType[] elementTypes;
+        /* package private */ int size = 0;
+        /* package private */ int length = 0;
 
         /**
-         * Initializes a new instance of the {@link SpoofaxIntellijToken} class.
+         * Initializes a new instance of the {@link TokenArray} class.
          *
-         * @param startOffset The zero-based start offset of the token.
-         * @param endOffset The zero-based end offset of the token.
-         * @param tokenType The element type of the token.
+         * @param capacity The initial capacity.
          */
-        /* package private */ SpoofaxIntellijToken(int startOffset, int endOffset, IElementType tokenType) {
-            this.startOffset = startOffset;
-            this.endOffset = endOffset;
-            this.tokenType = tokenType;
+        /* package private */ TokenArray(int capacity) {
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+            this.types = new TokenType[capacity];
+            this.elementTypes = new IElementType[capacity];
         }
 
         /**
-         * Gets the start offset of the token.
-         * @return The zero-based start offset of the token.
+         * Adds a token, without an element type.
+         *
+         * @param startOffset The inclusive zero-based start offset of the token.
+         * @param endOffset The exclusive zero-based end offset of the token.
+         * @param type The Spoofax token type; or {@code null} for characters not covered by a token.
          */
-        /* package private */ int getStartOffset() {
-            return startOffset;
+        /* package private */ void add(int startOffset, int endOffset, @Nullable TokenType type) {
+            if (size == starts.length) {
+                final int capacity = Math.max(16, size * 2);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                types = Arrays.copyOf(types, capacity);
+                elementTypes = Arrays.copyOf(elementTypes, capacity);
+            }
+            starts[size] = startOffset;
+            ends[size] = endOffset;
+            types[size] = type;
+            size++;
         }
 
         /**
-         * Gets the end offset of the token.
-         * @return The zero-based end offset of the token.
+         * Determines whether a token is the same as a token of another array, shifted by the given delta.
+         *
+         * @param index The index of the token in this array.
+         * @param other The other array.
+         * @param otherIndex The index of the token in the other array.
+         * @param delta The number of characters the token of the other array is shifted by.
+         * @return {@code true} when the tokens are the same; otherwise, {@code false}.
          */
-        /* package private */ int getEndOffset() {
-            return endOffset;
+        /* package private */ boolean sameAs(int index, TokenArray other, int otherIndex, int delta) {
+            return starts[index] == other.starts[otherIndex] + delta
+                && ends[index] == other.ends[otherIndex] + delta
+                && Objects.equals(types[index], other.types[otherIndex]);
         }
 
         /**
-         * Gets the element type of the token.
-         * @return The token's element type.
+         * Gets the index of the token that contains the given offset.
+         *
+         * @param offset The zero-based offset.
+         * @return The index of the token; or the number of tokens when the offset is at or after the end.
          */
-        /* package private */ IElementType getTokenType() {
-            return tokenType;
+        /* package private */ int indexAt(int offset) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (ends[mid] <= offset) low = mid + 1;
+                else high = mid;
+            }
+            return low;
         }
 
     }
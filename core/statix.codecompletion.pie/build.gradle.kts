@@ -1,9 +1,11 @@
 plugins {
   id("org.metaborg.gradle.config.java-library")
+  id("org.metaborg.gradle.config.junit-testing")
 }
 
 dependencies {
   api(platform(project(":spoofax.depconstraints")))
+  testAnnotationProcessor(platform(project(":spoofax.depconstraints")))
 
   api("org.metaborg:common")
   api(project(":aterm.common"))
@@ -17,4 +19,6 @@ dependencies {
   api(project(":statix.codecompletion"))
 
   compileOnly("org.checkerframework:checker-qual-android")
+
+  testCompileOnly("org.checkerframework:checker-qual-android")
 }
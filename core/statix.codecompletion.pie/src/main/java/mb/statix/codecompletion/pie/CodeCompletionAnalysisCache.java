@@ -0,0 +1,93 @@
+package mb.statix.codecompletion.pie;
+
+import mb.nabl2.terms.ITerm;
+import mb.resource.ResourceKey;
+import mb.statix.codecompletion.CCSolverState;
+import mb.statix.spec.Spec;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of analyzed code completion solver states per file, used by {@link CodeCompletionTaskDef} to skip
+ * preparing and analyzing the AST when completing again in a file that did not change, such as when completing at
+ * another placeholder. The analyzed state does not depend on the placeholder being completed. Keeps the entry of the
+ * last completion in each file, and evicts the least recently used file when the number of files exceeds the
+ * capacity. Thread-safe.
+ *
+ * Entries are keyed on the identity of the parsed AST that the parse task returned, not on its equality. Term equality
+ * ignores origins, so an edit that only changes layout or comments produces an equal AST with different regions, for
+ * which the cached upgraded AST would have stale offsets. The parse task returns the same AST object as long as the
+ * text of the file did not change, and a new AST object when it did.
+ */
+public class CodeCompletionAnalysisCache {
+    public static final int defaultCapacity = 16;
+
+    private final int capacity;
+    private final LinkedHashMap<ResourceKey, Entry> entries;
+
+    public CodeCompletionAnalysisCache(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of code completion analysis cache must be larger than 0, got '" + capacity + "'");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<ResourceKey, Entry>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<ResourceKey, Entry> eldest) {
+                return size() > CodeCompletionAnalysisCache.this.capacity;
+            }
+        };
+    }
+
+    public CodeCompletionAnalysisCache() {
+        this(defaultCapacity);
+    }
+
+
+    /**
+     * Gets the analyzed state for {@code file}, or {@code null} if there is none, or if it was analyzed from another
+     * parsed AST object or with a different spec.
+     */
+    public synchronized @Nullable Entry get(ResourceKey file, IStrategoTerm parsedAst, Spec spec) {
+        final @Nullable Entry entry = entries.get(file);
+        if(entry == null) return null;
+        if(entry.spec != spec || entry.parsedAst != parsedAst) return null;
+        return entry;
+    }
+
+    public synchronized void put(ResourceKey file, IStrategoTerm parsedAst, Spec spec, ITerm upgradedAst, CCSolverState analyzedState) {
+        entries.put(file, new Entry(parsedAst, spec, upgradedAst, analyzedState));
+    }
+
+    public synchronized void invalidate(ResourceKey file) {
+        entries.remove(file);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    public static class Entry {
+        public final IStrategoTerm parsedAst;
+        public final Spec spec;
+        public final ITerm upgradedAst;
+        public final CCSolverState analyzedState;
+
+        private Entry(IStrategoTerm parsedAst, Spec spec, ITerm upgradedAst, CCSolverState analyzedState) {
+            this.parsedAst = parsedAst;
+            this.spec = spec;
+            this.upgradedAst = upgradedAst;
+            this.analyzedState = analyzedState;
+        }
+    }
+}
@@ -54,6 +54,7 @@ import org.spoofax.interpreter.terms.ITermFactory;
 import org.spoofax.terms.util.TermUtils;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -178,6 +179,8 @@ public class CodeCompletionTaskDef implements TaskDef<CodeCompletionTaskDef.Inpu
     private final String statixSecName;
     private final String statixRootPredicateName;
     private Supplier<@Nullable CodeCompletionEventHandler> eventHandlerProvider;
+    private final CodeCompletionAnalysisCache analysisCache = new CodeCompletionAnalysisCache();
+    private volatile @Nullable Duration timeBudget = null;
 
     /**
      * Initializes a new instance of the {@link CodeCompletionTaskDef} class.
@@ -266,6 +269,71 @@ public class CodeCompletionTaskDef implements TaskDef<CodeCompletionTaskDef.Inpu
         this.eventHandlerProvider = eventHandlerProvider;
     }
 
+    /**
+     * Sets the time budget for finding completion proposals.
+     *
+     * When the budget is exceeded, the proposals found so far are returned,
+     * and the result is marked as incomplete. The budget does not include parsing and analyzing the file.
+     *
+     * The budget only bounds the time between proposals: it is checked each time a proposal has been found,
+     * and the search for a proposal is not interrupted when the budget is exceeded. Therefore, completion takes
+     * longer than the budget when finding a single proposal takes longer than the remaining budget,
+     * and at least one proposal is returned when there is one.
+     *
+     * Generated code completion tasks set the budget from the {@code time-budget-millis} option
+     * of the {@code code-completion} section in CFG.
+     *
+     * @param timeBudget the time budget; or {@code null} to find all proposals
+     */
+    public void setTimeBudget(@Nullable Duration timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Gets the cache of analyzed solver states of this task.
+     *
+     * @return the analysis cache
+     */
+    public CodeCompletionAnalysisCache getAnalysisCache() {
+        return analysisCache;
+    }
+
+    /**
+     * Takes elements from the given sequence until it is exhausted, or until the time budget is exceeded,
+     * and closes the sequence.
+     *
+     * The budget is checked each time an element has been taken, so computing the next element is never interrupted,
+     * and the first element is always taken when there is one.
+     *
+     * @param seq the lazy sequence
+     * @param output the list to which the elements are added
+     * @param timeBudget the time budget; or {@code null} to take all elements
+     * @param <T> the type of elements
+     * @return {@code true} when all elements were taken;
+     * otherwise, {@code false} when the time budget was exceeded
+     * @throws InterruptedException if the operation was interrupted
+     */
+    static <T> boolean takeWithinBudget(Seq<T> seq, List<T> output, @Nullable Duration timeBudget) throws InterruptedException {
+        final long startTime = System.nanoTime();
+        try {
+            while (seq.next()) {
+                output.add(seq.getCurrent());
+                if (timeBudget != null && System.nanoTime() - startTime > timeBudget.toNanos()) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            try {
+                seq.close();
+            } catch (InterruptedException | RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
     /**
      * Keeps objects used by the code completion algorithm in a more accessible place.
      */
@@ -325,31 +393,42 @@ public class CodeCompletionTaskDef implements TaskDef<CodeCompletionTaskDef.Inpu
             final IStrategoTerm parsedAst = parsedAstResult.unwrapUnchecked();
             if (eventHandler != null) eventHandler.endParse();
 
-            // Prepare the AST (explicate, add term indices, upgrade placeholders)
-            if (eventHandler != null) eventHandler.beginPreparation();
-            final Result<IStrategoTerm, ?> explicatedAstResult = preAnalyze(parsedAst);
-            if (explicatedAstResult.isErr()) return explicatedAstResult.ignoreValueIfErr();
-            final IStrategoTerm explicatedAst = explicatedAstResult.unwrapUnchecked();
-            final IStrategoTerm indexedAst = addTermIndices(explicatedAst);
-            final ITerm statixAst = toStatix(indexedAst);
-            final PlaceholderVarMap placeholderVarMap = new PlaceholderVarMap(file.toString());
-            final Result<ITerm, ?> upgradedAstResult = upgradePlaceholders(statixAst, placeholderVarMap);
-            if (upgradedAstResult.isErr()) return upgradedAstResult.ignoreValueIfErr();
-            final ITerm upgradedAst = upgradedAstResult.unwrapUnchecked();
+            // Reuse the analyzed state of a previous completion on the same AST
+            final ITerm upgradedAst;
+            final CCSolverState analyzedState;
+            final CodeCompletionAnalysisCache.@Nullable Entry cachedAnalysis = analysisCache.get(file, parsedAst, spec);
+            if (cachedAnalysis != null) {
+                upgradedAst = cachedAnalysis.upgradedAst;
+                analyzedState = cachedAnalysis.analyzedState;
+            } else {
+                // Prepare the AST (explicate, add term indices, upgrade placeholders)
+                if (eventHandler != null) eventHandler.beginPreparation();
+                final Result<IStrategoTerm, ?> explicatedAstResult = preAnalyze(parsedAst);
+                if (explicatedAstResult.isErr()) return explicatedAstResult.ignoreValueIfErr();
+                final IStrategoTerm explicatedAst = explicatedAstResult.unwrapUnchecked();
+                final IStrategoTerm indexedAst = addTermIndices(explicatedAst);
+                final ITerm statixAst = toStatix(indexedAst);
+                final PlaceholderVarMap placeholderVarMap = new PlaceholderVarMap(file.toString());
+                final Result<ITerm, ?> upgradedAstResult = upgradePlaceholders(statixAst, placeholderVarMap);
+                if (upgradedAstResult.isErr()) return upgradedAstResult.ignoreValueIfErr();
+                upgradedAst = upgradedAstResult.unwrapUnchecked();
+                final CCSolverState initialState = createInitialSolverState(upgradedAst, statixSecName, statixRootPredicateName, placeholderVarMap);
+                if (eventHandler != null) eventHandler.endPreparation();
+
+                // Analyze the AST
+                if (eventHandler != null) eventHandler.beginAnalysis();
+                analyzedState = analyze(initialState);
+                if (eventHandler != null) eventHandler.endAnalysis();
+                analysisCache.put(file, parsedAst, spec, upgradedAst, analyzedState);
+            }
             final ITermVar placeholder = getCompletionPlaceholder(upgradedAst);
-            final CCSolverState initialState = createInitialSolverState(upgradedAst, statixSecName, statixRootPredicateName, placeholderVarMap);
-            if (eventHandler != null) eventHandler.endPreparation();
-
-            // Analyze the AST
-            if (eventHandler != null) eventHandler.beginAnalysis();
-            final CCSolverState analyzedState = analyze(initialState);
-            if (eventHandler != null) eventHandler.endAnalysis();
 
             // Execute the code completion Tego strategy
             if (eventHandler != null) eventHandler.beginCodeCompletion();
             final Seq<CodeCompletionProposal> completionProposals = complete(analyzedState, placeholder, Collections.emptyList() /* TODO: Get the set of analysis errors */);
             final Seq<CodeCompletionProposal> filteredProposals = filterProposals(completionProposals);
-            final List<CodeCompletionProposal> instantiatedProposals = filteredProposals.toList(); // NOTE: This is where we actually coerce the lazy list find the completions.
+            final List<CodeCompletionProposal> instantiatedProposals = new ArrayList<>();
+            final boolean isComplete = takeProposals(filteredProposals, instantiatedProposals); // NOTE: This is where we actually coerce the lazy list find the completions.
             if (eventHandler != null) eventHandler.endCodeCompletion();
 
             // Get, convert, and prepare the proposals
@@ -373,7 +452,7 @@ public class CodeCompletionTaskDef implements TaskDef<CodeCompletionTaskDef.Inpu
                 placeholder,
                 ListView.copyOf(finalProposals),
                 Objects.requireNonNull(tryGetRegion(placeholder)),
-                true
+                isComplete
             ));
         }
 
@@ -581,6 +660,24 @@ public class CodeCompletionTaskDef implements TaskDef<CodeCompletionTaskDef.Inpu
             return results.map(s -> new CodeCompletionProposal(s, s.project(placeholder)));
         }
 
+        /**
+         * Takes proposals from the given sequence until it is exhausted, or until the time budget is exceeded.
+         *
+         * @param proposals the lazy sequence of proposals
+         * @param output the list to which the proposals are added
+         * @return {@code true} when all proposals were taken;
+         * otherwise, {@code false} when the time budget was exceeded
+         * @throws InterruptedException if the operation was interrupted
+         */
+        private boolean takeProposals(Seq<CodeCompletionProposal> proposals, List<CodeCompletionProposal> output) throws InterruptedException {
+            final @Nullable Duration timeBudget = CodeCompletionTaskDef.this.timeBudget;
+            final boolean isComplete = takeWithinBudget(proposals, output, timeBudget);
+            if (!isComplete) {
+                log.debug("Completion exceeded its time budget of " + timeBudget + ", returning " + output.size() + " proposals found so far.");
+            }
+            return isComplete;
+        }
+
         /**
          * Filters some proposals from the list of proposals.
          *
@@ -0,0 +1,115 @@
+package mb.statix.codecompletion.pie;
+
+import io.usethesource.capsule.Set;
+import mb.nabl2.terms.ITerm;
+import mb.resource.ResourceKey;
+import mb.resource.fs.FSPath;
+import mb.statix.codecompletion.CCSolverState;
+import mb.statix.codecompletion.SolutionMeta;
+import mb.statix.solver.persistent.State;
+import mb.statix.spec.Spec;
+import org.junit.jupiter.api.Test;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+import org.spoofax.interpreter.terms.ITermFactory;
+import org.spoofax.terms.TermFactory;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static mb.nabl2.terms.build.TermBuild.B;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link CodeCompletionAnalysisCache} class.
+ */
+public final class CodeCompletionAnalysisCacheTests {
+    private final ITermFactory termFactory = new TermFactory();
+    private final Spec spec = Spec.of();
+    private final ITerm upgradedAst = B.newAppl("Program");
+    private final CCSolverState analyzedState = CCSolverState.of(spec, State.of(), Collections.emptyList(), Set.Immutable.of(), new SolutionMeta());
+
+    @Test
+    public void get_shouldReturnEntry_whenGivenSameParsedAstObjectAndSpec() {
+        // Arrange
+        final CodeCompletionAnalysisCache cache = new CodeCompletionAnalysisCache();
+        final ResourceKey file = file("a");
+        final IStrategoTerm parsedAst = termFactory.makeAppl("Program");
+        cache.put(file, parsedAst, spec, upgradedAst, analyzedState);
+
+        // Act
+        final CodeCompletionAnalysisCache.Entry entry = cache.get(file, parsedAst, spec);
+
+        // Assert
+        assertNotNull(entry);
+        assertSame(upgradedAst, entry.upgradedAst);
+        assertSame(analyzedState, entry.analyzedState);
+    }
+
+    @Test
+    public void get_shouldReturnNull_whenGivenEqualButDifferentParsedAstObject() {
+        // Arrange
+        final CodeCompletionAnalysisCache cache = new CodeCompletionAnalysisCache();
+        final ResourceKey file = file("a");
+        final IStrategoTerm parsedAst = termFactory.makeAppl("Program");
+        final IStrategoTerm equalParsedAst = termFactory.makeAppl("Program");
+        cache.put(file, parsedAst, spec, upgradedAst, analyzedState);
+
+        // Act
+        final CodeCompletionAnalysisCache.Entry entry = cache.get(file, equalParsedAst, spec);
+
+        // Assert
+        assertEquals(parsedAst, equalParsedAst);
+        assertNull(entry);
+    }
+
+    @Test
+    public void get_shouldReturnNull_whenGivenDifferentSpecObject() {
+        // Arrange
+        final CodeCompletionAnalysisCache cache = new CodeCompletionAnalysisCache();
+        final ResourceKey file = file("a");
+        final IStrategoTerm parsedAst = termFactory.makeAppl("Program");
+        cache.put(file, parsedAst, spec, upgradedAst, analyzedState);
+
+        // Act
+        final CodeCompletionAnalysisCache.Entry entry = cache.get(file, parsedAst, Spec.of());
+
+        // Assert
+        assertNull(entry);
+    }
+
+    @Test
+    public void put_shouldEvictLeastRecentlyUsedFile_whenCapacityIsExceeded() {
+        // Arrange
+        final CodeCompletionAnalysisCache cache = new CodeCompletionAnalysisCache(2);
+        final IStrategoTerm parsedAstA = termFactory.makeAppl("A");
+        final IStrategoTerm parsedAstB = termFactory.makeAppl("B");
+        final IStrategoTerm parsedAstC = termFactory.makeAppl("C");
+        cache.put(file("a"), parsedAstA, spec, upgradedAst, analyzedState);
+        cache.put(file("b"), parsedAstB, spec, upgradedAst, analyzedState);
+        cache.get(file("a"), parsedAstA, spec);
+
+        // Act
+        cache.put(file("c"), parsedAstC, spec, upgradedAst, analyzedState);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(file("a"), parsedAstA, spec));
+        assertNull(cache.get(file("b"), parsedAstB, spec));
+        assertNotNull(cache.get(file("c"), parsedAstC, spec));
+    }
+
+    @Test
+    public void constructor_shouldThrow_whenCapacityIsNotPositive() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new CodeCompletionAnalysisCache(0));
+    }
+
+
+    private static ResourceKey file(String name) {
+        return new FSPath(Paths.get(name));
+    }
+}
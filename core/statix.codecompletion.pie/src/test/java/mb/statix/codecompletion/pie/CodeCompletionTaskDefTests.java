@@ -0,0 +1,81 @@
+package mb.statix.codecompletion.pie;
+
+import mb.tego.sequences.Seq;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the time budget of the {@link CodeCompletionTaskDef} class.
+ */
+public final class CodeCompletionTaskDefTests {
+    @Test
+    public void takeWithinBudget_shouldTakeAllElements_whenThereIsNoBudget() throws InterruptedException {
+        // Arrange
+        final List<Integer> output = new ArrayList<>();
+
+        // Act
+        final boolean isComplete = CodeCompletionTaskDef.takeWithinBudget(Seq.of(1, 2, 3), output, null);
+
+        // Assert
+        assertTrue(isComplete);
+        assertEquals(Arrays.asList(1, 2, 3), output);
+    }
+
+    @Test
+    public void takeWithinBudget_shouldTakeAllElements_whenWithinBudget() throws InterruptedException {
+        // Arrange
+        final List<Integer> output = new ArrayList<>();
+
+        // Act
+        final boolean isComplete = CodeCompletionTaskDef.takeWithinBudget(Seq.of(1, 2, 3), output, Duration.ofMinutes(1));
+
+        // Assert
+        assertTrue(isComplete);
+        assertEquals(Arrays.asList(1, 2, 3), output);
+    }
+
+    @Test
+    public void takeWithinBudget_shouldStopTakingElements_whenBudgetIsExceeded() throws InterruptedException {
+        // Arrange
+        final AtomicInteger computed = new AtomicInteger();
+        final Seq<Integer> infinite = Seq.from(() -> {
+            Thread.sleep(5);
+            return computed.incrementAndGet();
+        });
+        final List<Integer> output = new ArrayList<>();
+
+        // Act
+        final boolean isComplete = CodeCompletionTaskDef.takeWithinBudget(infinite, output, Duration.ofMillis(50));
+
+        // Assert
+        assertFalse(isComplete);
+        assertFalse(output.isEmpty());
+        assertEquals(computed.get(), output.size());
+    }
+
+    @Test
+    public void takeWithinBudget_shouldNotInterruptComputingAnElement_whenBudgetIsExceeded() throws InterruptedException {
+        // Arrange
+        final Seq<Integer> slow = Seq.from(() -> {
+            Thread.sleep(50);
+            return 1;
+        });
+        final List<Integer> output = new ArrayList<>();
+
+        // Act
+        final boolean isComplete = CodeCompletionTaskDef.takeWithinBudget(slow, output, Duration.ofMillis(1));
+
+        // Assert
+        assertFalse(isComplete);
+        assertEquals(Arrays.asList(1), output);
+    }
+}
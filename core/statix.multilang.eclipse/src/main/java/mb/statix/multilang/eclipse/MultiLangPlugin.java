@@ -54,7 +54,10 @@ public class MultiLangPlugin extends Plugin {
 
         component = DaggerMultiLangEclipseComponent
             .builder()
-            .multiLangModule(new MultiLangModule(() -> initializeExtensionPoint(Platform.getExtensionRegistry(), logger)))
+            .multiLangModule(new MultiLangModule(
+                () -> initializeExtensionPoint(Platform.getExtensionRegistry(), logger),
+                getStateLocation().append("merged-specs").toFile()
+            ))
             .loggerComponent(eclipseLoggerComponent)
             .build();
     }
@@ -1,10 +1,12 @@
 plugins {
   id("org.metaborg.gradle.config.java-library")
+  id("org.metaborg.gradle.config.junit-testing")
 }
 
 dependencies {
   api(platform(project(":spoofax.depconstraints")))
   annotationProcessor(platform(project(":spoofax.depconstraints")))
+  testAnnotationProcessor(platform(project(":spoofax.depconstraints")))
 
   api("org.metaborg:common")
   api(project(":jsglr.common"))
@@ -20,4 +22,6 @@ dependencies {
 
   annotationProcessor("com.google.dagger:dagger-compiler")
   annotationProcessor("org.immutables:value")
+
+  testCompileOnly("org.checkerframework:checker-qual-android")
 }
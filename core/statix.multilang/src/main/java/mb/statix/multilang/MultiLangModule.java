@@ -14,15 +14,30 @@ import mb.statix.multilang.pie.SmlSolveProject;
 import mb.statix.multilang.pie.config.SmlBuildContextConfiguration;
 import mb.statix.multilang.pie.config.SmlReadConfigYaml;
 import mb.statix.multilang.pie.spec.SmlLoadFragment;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.File;
 import java.util.function.Supplier;
 
 @Module
 public class MultiLangModule {
     private final Supplier<AnalysisContextService> analysisContextServiceSupplier;
+    private final @Nullable File specCacheDirectory;
+
+    /**
+     * Creates a module that stores merged specs in {@code specCacheDirectory} across restarts, or only caches them in
+     * memory when it is {@code null}.
+     */
+    public MultiLangModule(
+        Supplier<AnalysisContextService> analysisContextServiceSupplier,
+        @Nullable File specCacheDirectory
+    ) {
+        this.analysisContextServiceSupplier = analysisContextServiceSupplier;
+        this.specCacheDirectory = specCacheDirectory;
+    }
 
     public MultiLangModule(Supplier<AnalysisContextService> analysisContextServiceSupplier) {
-        this.analysisContextServiceSupplier = analysisContextServiceSupplier;
+        this(analysisContextServiceSupplier, null);
     }
 
     @Provides @MultiLangScope @MultiLang
@@ -57,6 +72,7 @@ public class MultiLangModule {
 
     @Provides @MultiLangScope @MultiLang
     public SmlBuildSpec provideBuildSpec(SmlBuildSpec buildSpec) {
+        buildSpec.setSpecCacheDirectory(specCacheDirectory);
         return buildSpec;
     }
 
@@ -5,6 +5,9 @@ import mb.nabl2.terms.ITerm;
 import mb.statix.spec.Spec;
 import org.immutables.value.Value;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
 
 @Value.Immutable
@@ -13,6 +16,26 @@ public interface Module {
 
     @Value.Parameter ITerm module();
 
+    /**
+     * Hash of the name and term of this module, computed once per module instance, used to key merged specs.
+     */
+    @Value.Lazy default String contentHash() {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException e) {
+            throw new RuntimeException("BUG: SHA-256 message digest is not available", e);
+        }
+        digest.update(moduleName().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+        final byte[] bytes = digest.digest(module().toString().getBytes(StandardCharsets.UTF_8));
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for(byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
     default Result<Spec, SpecLoadException> load(SpecUtils.NameQualifier qualifier) {
         ITerm renamedModule = SpecUtils.qualifyFileSpec(module(), qualifier);
         Optional<Result<Spec, SpecLoadException>> optionalSpecResult = SpecUtils.fileSpec().match(renamedModule).map(Result::ofOk);
@@ -13,26 +13,31 @@ import mb.statix.constraints.CUser;
 import mb.statix.multilang.metadata.FileResult;
 import mb.statix.multilang.metadata.ImmutableFileResult;
 import mb.statix.multilang.metadata.LanguageId;
+import mb.statix.multilang.metadata.LanguageMetadata;
 import mb.statix.multilang.metadata.LanguageMetadataManager;
 import mb.statix.multilang.MultiLang;
 import mb.statix.multilang.MultiLangAnalysisException;
 import mb.statix.multilang.MultiLangScope;
 import mb.statix.multilang.pie.spec.SmlBuildSpec;
+import mb.statix.multilang.utils.CancelTokenCancel;
+import mb.statix.multilang.utils.LoggerProgress;
 import mb.statix.multilang.utils.SolverUtils;
 import mb.statix.solver.IConstraint;
 import mb.statix.solver.log.IDebugContext;
 import mb.statix.solver.persistent.SolverResult;
 import mb.statix.solver.persistent.State;
+import mb.statix.spec.Spec;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.metaborg.util.log.Level;
-import org.metaborg.util.task.NullCancel;
-import org.metaborg.util.task.NullProgress;
+import org.metaborg.util.task.ICancel;
+import org.metaborg.util.task.IProgress;
 import org.spoofax.interpreter.terms.IStrategoTerm;
 
 import javax.inject.Inject;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 @MultiLangScope
 public class SmlPartialSolveFile implements TaskDef<SmlPartialSolveFile.Input, Result<FileResult, MultiLangAnalysisException>> {
@@ -76,6 +81,7 @@ public class SmlPartialSolveFile implements TaskDef<SmlPartialSolveFile.Input, R
     private final SmlInstantiateGlobalScope instantiateGlobalScope;
     private final SmlBuildSpec buildSpec;
     private final Logger logger;
+    private final SolvePrefetcher<Input> prefetcher = new SolvePrefetcher<>();
 
     @Inject public SmlPartialSolveFile(
         @MultiLang Lazy<LanguageMetadataManager> languageMetadataManager,
@@ -93,50 +99,86 @@ public class SmlPartialSolveFile implements TaskDef<SmlPartialSolveFile.Input, R
         return SmlPartialSolveFile.class.getCanonicalName();
     }
 
-    @Override public Result<FileResult, MultiLangAnalysisException> exec(ExecContext context, Input input) {
-        return languageMetadataManager.get().getLanguageMetadataResult(input.languageId)
-            .flatMap(languageMetadata -> context.require(languageMetadata.astFunction().createSupplier(input.resourceKey))
-                .mapErr(err -> MultiLangAnalysisException.wrapIfNeeded("No ast provided for " + input.resourceKey, err))
-                .flatMap((IStrategoTerm ast) -> analyzeAst(context, input, ast)));
+    @Override public Result<FileResult, MultiLangAnalysisException> exec(ExecContext context, Input input) throws InterruptedException {
+        final Result<LanguageMetadata, MultiLangAnalysisException> languageMetadataResult = languageMetadataManager.get().getLanguageMetadataResult(input.languageId);
+        if(languageMetadataResult.isErr()) return languageMetadataResult.ignoreValueIfErr();
+        final LanguageMetadata languageMetadata = languageMetadataResult.unwrapUnchecked();
+
+        final Result<IStrategoTerm, MultiLangAnalysisException> astResult = context.require(languageMetadata.astFunction().createSupplier(input.resourceKey))
+            .mapErr(err -> MultiLangAnalysisException.wrapIfNeeded("No ast provided for " + input.resourceKey, err));
+        if(astResult.isErr()) return astResult.ignoreValueIfErr();
+        final IStrategoTerm ast = astResult.unwrapUnchecked();
+
+        final Result<GlobalResult, MultiLangAnalysisException> globalResultResult = context.require(instantiateGlobalScope.createTask(input.logLevel))
+            .mapErr(MultiLangAnalysisException::wrapIfNeeded);
+        if(globalResultResult.isErr()) return globalResultResult.ignoreValueIfErr();
+        final GlobalResult globalResult = globalResultResult.unwrapUnchecked();
+
+        final Result<Spec, MultiLangAnalysisException> specResult = context.require(buildSpec.createSupplier(new SmlBuildSpec.Input(input.languageId)))
+            .mapErr(MultiLangAnalysisException::wrapIfNeeded);
+        if(specResult.isErr()) return specResult.ignoreValueIfErr();
+        final Spec spec = specResult.unwrapUnchecked();
+
+        long t0 = System.currentTimeMillis();
+        // Let InterruptedException propagate, such that PIE discards cancelled executions instead of storing an error.
+        @Nullable SolverResult result = prefetcher.take(input, spec, globalResult, ast);
+        if(result == null) {
+            result = solve(input, languageMetadata, spec, globalResult, ast, new CancelTokenCancel(context.cancelToken()));
+        }
+        prefetcher.solved(input, spec, globalResult, ast);
+        long dt = System.currentTimeMillis() - t0;
+        logger.info("{} analyzed in {} ms", input.resourceKey, dt);
+        return Result.ofOk(ImmutableFileResult.builder()
+            .ast(ast)
+            .result(result)
+            .build());
+    }
+
+    /**
+     * Solves the file constraint of {@code input} on {@code executor}, if an execution of this task for
+     * {@code input} with given spec, global result, and AST would have to solve again. An execution of this task with
+     * the same spec, global result, and AST takes the result instead of solving. PIE does not support executing tasks
+     * concurrently, so callers must get the spec, global result, and AST by requiring the same tasks as this task.
+     * Call {@link #clearPrefetched()} afterwards to drop prefetched results that were not used. Reports one tick of
+     * work to {@code progress} when the solve finishes. Does nothing unless prefetching is
+     * {@link #setPrefetchingEnabled enabled}.
+     */
+    public void prefetch(Input input, LanguageMetadata languageMetadata, Spec spec, GlobalResult globalResult, IStrategoTerm ast, Executor executor, ICancel cancel, IProgress progress) {
+        if(!prefetcher.isStale(input, spec, globalResult, ast)) return;
+        prefetcher.prefetch(input, new Object[]{spec, globalResult, ast}, c -> solve(input, languageMetadata, spec, globalResult, ast, c), executor, cancel, progress);
+    }
+
+    /**
+     * Enables or disables {@link #prefetch prefetching}. Executions of this task only remember their solver inputs
+     * while prefetching is enabled. Called by {@link SmlSolveProject#setSolveExecutor}.
+     */
+    void setPrefetchingEnabled(boolean enabled) {
+        prefetcher.setEnabled(enabled);
     }
 
-    private Result<FileResult, MultiLangAnalysisException> analyzeAst(ExecContext context, Input input, IStrategoTerm ast) {
-        return context.require(instantiateGlobalScope.createTask(input.logLevel))
-                .mapErr(MultiLangAnalysisException::wrapIfNeeded)
-                .flatMap(globalResult -> analyzeForGlobal(context, input, ast, globalResult));
+    /**
+     * Drops all {@link #prefetch prefetched} results, cancelling solves that are still running.
+     */
+    public void clearPrefetched() {
+        prefetcher.clear();
     }
 
-    private Result<FileResult, MultiLangAnalysisException> analyzeForGlobal(ExecContext context, Input input, IStrategoTerm ast, GlobalResult globalResult) {
-        return context.require(buildSpec.createSupplier(new SmlBuildSpec.Input(input.languageId)))
-            .mapErr(MultiLangAnalysisException::wrapIfNeeded)
-            .flatMap(spec -> languageMetadataManager.get().getLanguageMetadataResult(input.languageId).flatMap(languageMetadata -> {
-                StrategoTerms st = new StrategoTerms(languageMetadata.termFactory());
-
-                IDebugContext debug = SolverUtils.createDebugContext(input.logLevel);
-                Iterable<ITerm> constraintArgs = Arrays.asList(globalResult.globalScope(), st.fromStratego(ast));
-                String qualifiedFileConstraintName = String.format("%s:%s", input.languageId.getId(), languageMetadata.fileConstraint());
-                IConstraint fileConstraint = new CUser(qualifiedFileConstraintName, constraintArgs, null);
-
-                long t0 = System.currentTimeMillis();
-                try {
-                    SolverResult result = SolverUtils.partialSolve(spec,
-                        State.of()
-                            .add(globalResult.result().state())
-                            .withResource(input.resourceKey.getIdAsString()),
-                        fileConstraint,
-                        debug,
-                        new NullCancel(),
-                        new NullProgress()
-                    );
-                    long dt = System.currentTimeMillis() - t0;
-                    logger.info("{} analyzed in {} ms", input.resourceKey, dt);
-                    return Result.ofOk(ImmutableFileResult.builder()
-                        .ast(ast)
-                        .result(result)
-                        .build());
-                } catch(InterruptedException e) {
-                    return Result.ofErr(MultiLangAnalysisException.wrapIfNeeded(e));
-                }
-            }));
+    private SolverResult solve(Input input, LanguageMetadata languageMetadata, Spec spec, GlobalResult globalResult, IStrategoTerm ast, ICancel cancel) throws InterruptedException {
+        StrategoTerms st = new StrategoTerms(languageMetadata.termFactory());
+
+        IDebugContext debug = SolverUtils.createDebugContext(input.logLevel);
+        Iterable<ITerm> constraintArgs = Arrays.asList(globalResult.globalScope(), st.fromStratego(ast));
+        String qualifiedFileConstraintName = String.format("%s:%s", input.languageId.getId(), languageMetadata.fileConstraint());
+        IConstraint fileConstraint = new CUser(qualifiedFileConstraintName, constraintArgs, null);
+
+        return SolverUtils.partialSolve(spec,
+            State.of()
+                .add(globalResult.result().state())
+                .withResource(input.resourceKey.getIdAsString()),
+            fileConstraint,
+            debug,
+            cancel,
+            new LoggerProgress(logger, "Solving file constraint of " + input.resourceKey)
+        );
     }
 }
@@ -2,6 +2,8 @@ package mb.statix.multilang.pie;
 
 import dagger.Lazy;
 import mb.common.result.Result;
+import mb.log.api.Logger;
+import mb.log.api.LoggerFactory;
 import mb.nabl2.terms.ITerm;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
@@ -10,24 +12,29 @@ import mb.statix.multilang.MultiLang;
 import mb.statix.multilang.MultiLangAnalysisException;
 import mb.statix.multilang.MultiLangScope;
 import mb.statix.multilang.metadata.LanguageId;
+import mb.statix.multilang.metadata.LanguageMetadata;
 import mb.statix.multilang.metadata.LanguageMetadataManager;
 import mb.statix.multilang.pie.spec.SmlBuildSpec;
+import mb.statix.multilang.utils.CancelTokenCancel;
+import mb.statix.multilang.utils.LoggerProgress;
 import mb.statix.multilang.utils.SolverUtils;
 import mb.statix.solver.IConstraint;
 import mb.statix.solver.IState;
 import mb.statix.solver.log.IDebugContext;
 import mb.statix.solver.persistent.SolverResult;
 import mb.statix.solver.persistent.State;
+import mb.statix.spec.Spec;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.metaborg.util.log.Level;
-import org.metaborg.util.task.NullCancel;
-import org.metaborg.util.task.NullProgress;
+import org.metaborg.util.task.ICancel;
+import org.metaborg.util.task.IProgress;
 
 import javax.inject.Inject;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 @MultiLangScope
 public class SmlPartialSolveProject implements TaskDef<SmlPartialSolveProject.Input, Result<SolverResult, MultiLangAnalysisException>> {
@@ -65,15 +72,19 @@ public class SmlPartialSolveProject implements TaskDef<SmlPartialSolveProject.In
     private final SmlInstantiateGlobalScope instantiateGlobalScope;
     private final SmlBuildSpec buildSpec;
     private final Lazy<LanguageMetadataManager> languageMetadataManager;
+    private final Logger logger;
+    private final SolvePrefetcher<Input> prefetcher = new SolvePrefetcher<>();
 
     @Inject public SmlPartialSolveProject(
         SmlInstantiateGlobalScope instantiateGlobalScope,
         SmlBuildSpec buildSpec,
-        @MultiLang Lazy<LanguageMetadataManager> languageMetadataManager
+        @MultiLang Lazy<LanguageMetadataManager> languageMetadataManager,
+        LoggerFactory loggerFactory
     ) {
         this.instantiateGlobalScope = instantiateGlobalScope;
         this.buildSpec = buildSpec;
         this.languageMetadataManager = languageMetadataManager;
+        this.logger = loggerFactory.create(SmlPartialSolveProject.class);
     }
 
     @Override
@@ -82,30 +93,68 @@ public class SmlPartialSolveProject implements TaskDef<SmlPartialSolveProject.In
     }
 
     @Override
-    public Result<SolverResult, MultiLangAnalysisException> exec(ExecContext context, Input input) {
-        return context.require(instantiateGlobalScope.createTask(input.logLevel))
-            .mapErr(MultiLangAnalysisException::wrapIfNeeded)
-            .flatMap(globalResult -> {
-                Set<ITerm> scopeArgs = Collections.singleton(globalResult.globalScope());
-                return languageMetadataManager.get().getLanguageMetadataResult(input.languageId).flatMap(lmd -> {
-                    String qualifiedFileConstraintName = String.format("%s:%s", input.languageId.getId(), lmd.projectConstraint());
-                    IConstraint projectConstraint = new CUser(qualifiedFileConstraintName, scopeArgs);
-
-                    IDebugContext debug = SolverUtils.createDebugContext(input.logLevel);
-                    return context.require(buildSpec.createSupplier(new SmlBuildSpec.Input(input.languageId)))
-                        .mapErr(MultiLangAnalysisException::wrapIfNeeded)
-                        .flatMap(spec -> {
-                            try {
-                                IState.Immutable initialState = State.of()
-                                    .add(globalResult.result().state())
-                                    .withResource(input.languageId.getId());
-                                SolverResult res = SolverUtils.partialSolve(spec, initialState, projectConstraint, debug, new NullCancel(), new NullProgress());
-                                return Result.ofOk(res);
-                            } catch(InterruptedException e) {
-                                return Result.ofErr(new MultiLangAnalysisException(e));
-                            }
-                        });
-                    });
-            });
+    public Result<SolverResult, MultiLangAnalysisException> exec(ExecContext context, Input input) throws InterruptedException {
+        final Result<GlobalResult, MultiLangAnalysisException> globalResultResult = context.require(instantiateGlobalScope.createTask(input.logLevel))
+            .mapErr(MultiLangAnalysisException::wrapIfNeeded);
+        if(globalResultResult.isErr()) return globalResultResult.ignoreValueIfErr();
+        final GlobalResult globalResult = globalResultResult.unwrapUnchecked();
+
+        final Result<LanguageMetadata, MultiLangAnalysisException> languageMetadataResult = languageMetadataManager.get().getLanguageMetadataResult(input.languageId);
+        if(languageMetadataResult.isErr()) return languageMetadataResult.ignoreValueIfErr();
+        final LanguageMetadata lmd = languageMetadataResult.unwrapUnchecked();
+
+        final Result<Spec, MultiLangAnalysisException> specResult = context.require(buildSpec.createSupplier(new SmlBuildSpec.Input(input.languageId)))
+            .mapErr(MultiLangAnalysisException::wrapIfNeeded);
+        if(specResult.isErr()) return specResult.ignoreValueIfErr();
+        final Spec spec = specResult.unwrapUnchecked();
+
+        // Let InterruptedException propagate, such that PIE discards cancelled executions instead of storing an error.
+        @Nullable SolverResult res = prefetcher.take(input, spec, globalResult);
+        if(res == null) {
+            res = solve(input, lmd, spec, globalResult, new CancelTokenCancel(context.cancelToken()));
+        }
+        prefetcher.solved(input, spec, globalResult);
+        return Result.ofOk(res);
+    }
+
+    /**
+     * Solves the project constraint of {@code input} on {@code executor}, if an execution of this task for
+     * {@code input} with given spec and global result would have to solve again. An execution of this task with the
+     * same spec and global result takes the result instead of solving. PIE does not support executing tasks
+     * concurrently, so callers must get the spec and global result by requiring the same tasks as this task. Call
+     * {@link #clearPrefetched()} afterwards to drop prefetched results that were not used. Reports one tick of work to
+     * {@code progress} when the solve finishes. Does nothing unless prefetching is
+     * {@link #setPrefetchingEnabled enabled}.
+     */
+    public void prefetch(Input input, LanguageMetadata languageMetadata, Spec spec, GlobalResult globalResult, Executor executor, ICancel cancel, IProgress progress) {
+        if(!prefetcher.isStale(input, spec, globalResult)) return;
+        prefetcher.prefetch(input, new Object[]{spec, globalResult}, c -> solve(input, languageMetadata, spec, globalResult, c), executor, cancel, progress);
+    }
+
+    /**
+     * Enables or disables {@link #prefetch prefetching}. Executions of this task only remember their solver inputs
+     * while prefetching is enabled. Called by {@link SmlSolveProject#setSolveExecutor}.
+     */
+    void setPrefetchingEnabled(boolean enabled) {
+        prefetcher.setEnabled(enabled);
+    }
+
+    /**
+     * Drops all {@link #prefetch prefetched} results, cancelling solves that are still running.
+     */
+    public void clearPrefetched() {
+        prefetcher.clear();
+    }
+
+    private SolverResult solve(Input input, LanguageMetadata languageMetadata, Spec spec, GlobalResult globalResult, ICancel cancel) throws InterruptedException {
+        Set<ITerm> scopeArgs = Collections.singleton(globalResult.globalScope());
+        String qualifiedFileConstraintName = String.format("%s:%s", input.languageId.getId(), languageMetadata.projectConstraint());
+        IConstraint projectConstraint = new CUser(qualifiedFileConstraintName, scopeArgs);
+
+        IDebugContext debug = SolverUtils.createDebugContext(input.logLevel);
+        IState.Immutable initialState = State.of()
+            .add(globalResult.result().state())
+            .withResource(input.languageId.getId());
+        return SolverUtils.partialSolve(spec, initialState, projectConstraint, debug, cancel, new LoggerProgress(logger, "Solving project constraint of " + input.languageId.getId()));
     }
 }
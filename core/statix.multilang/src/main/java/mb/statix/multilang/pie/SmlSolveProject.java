@@ -9,6 +9,7 @@ import mb.log.api.LoggerFactory;
 import mb.pie.api.ExecContext;
 import mb.pie.api.Supplier;
 import mb.pie.api.TaskDef;
+import mb.resource.ResourceKey;
 import mb.resource.hierarchical.ResourcePath;
 import mb.statix.constraints.CConj;
 import mb.statix.constraints.messages.IMessage;
@@ -22,6 +23,8 @@ import mb.statix.multilang.MultiLang;
 import mb.statix.multilang.MultiLangAnalysisException;
 import mb.statix.multilang.MultiLangScope;
 import mb.statix.multilang.pie.spec.SmlBuildSpec;
+import mb.statix.multilang.utils.CancelTokenCancel;
+import mb.statix.multilang.utils.LoggerProgress;
 import mb.statix.multilang.utils.SolverUtils;
 import mb.statix.solver.IConstraint;
 import mb.statix.solver.IState;
@@ -29,10 +32,9 @@ import mb.statix.solver.log.IDebugContext;
 import mb.statix.solver.persistent.Solver;
 import mb.statix.solver.persistent.SolverResult;
 import mb.statix.solver.persistent.State;
+import mb.statix.spec.Spec;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.metaborg.util.log.Level;
-import org.metaborg.util.task.NullCancel;
-import org.metaborg.util.task.NullProgress;
 
 import javax.inject.Inject;
 import java.io.Serializable;
@@ -41,6 +43,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 import static mb.statix.multilang.metadata.spec.SpecUtils.pair;
 import static mb.statix.multilang.metadata.spec.SpecUtils.toMap;
@@ -101,30 +104,85 @@ public class SmlSolveProject implements TaskDef<SmlSolveProject.Input, Result<An
         this.logger = loggerFactory.create(SmlSolveProject.class);
     }
 
+    private volatile @Nullable Executor solveExecutor = null;
+
+    /**
+     * Sets the executor that is used to run the partial solves of languages and files concurrently, or {@code null}
+     * to run them one by one in their tasks, which is the default. PIE does not support executing tasks concurrently,
+     * so the partial solve tasks are still required one by one, but take the results of the concurrent solves.
+     *
+     * Concurrent solving is opt-in: generated adapters do not set an executor. Applications that embed a multi-language
+     * analysis can set one on the task they get from {@code MultiLangComponent.getAnalyzeProject()}.
+     */
+    public void setSolveExecutor(@Nullable Executor executor) {
+        this.solveExecutor = executor;
+        partialSolveProject.setPrefetchingEnabled(executor != null);
+        partialSolveFile.setPrefetchingEnabled(executor != null);
+    }
+
     @Override public String getId() {
         return SmlSolveProject.class.getCanonicalName();
     }
 
-    @Override public Result<AnalysisResults, MultiLangAnalysisException> exec(ExecContext context, Input input) {
+    @Override public Result<AnalysisResults, MultiLangAnalysisException> exec(ExecContext context, Input input) throws InterruptedException {
+        final @Nullable Executor executor = solveExecutor;
+        if(executor == null) {
+            return solve(context, input);
+        }
+        try {
+            prefetchSolves(context, input, executor);
+            return solve(context, input);
+        } finally {
+            partialSolveProject.clearPrefetched();
+            partialSolveFile.clearPrefetched();
+        }
+    }
+
+    private Result<AnalysisResults, MultiLangAnalysisException> solve(ExecContext context, Input input) throws InterruptedException {
         // Solve project constraints
         HashMap<LanguageId, Result<SolverResult, MultiLangAnalysisException>> projectResults = input.languages.stream()
             .map(languageId -> pair(languageId, context.require(partialSolveProject.createTask(new SmlPartialSolveProject.Input(languageId, input.logLevel)))))
             .collect(toMap(HashMap::new));
 
         // Solve file constraints
-        return analyzeFiles(context, input).map(fileResults -> {
-            // Collect results of all successful runs
-            HashSet<SolverResult> initialResults = new HashSet<>();
-            projectResults.values().forEach(r -> r.ifOk(initialResults::add));
-            fileResults.values().forEach(r -> r.map(FileResult::result).ifOk(initialResults::add));
+        final Result<HashMap<FileKey, Result<FileResult, MultiLangAnalysisException>>, MultiLangAnalysisException> fileResultsResult = analyzeFiles(context, input);
+        if(fileResultsResult.isErr()) return fileResultsResult.ignoreValueIfErr();
+        final HashMap<FileKey, Result<FileResult, MultiLangAnalysisException>> fileResults = fileResultsResult.unwrapUnchecked();
+
+        // Collect results of all successful runs
+        HashSet<SolverResult> initialResults = new HashSet<>();
+        projectResults.values().forEach(r -> r.ifOk(initialResults::add));
+        fileResults.values().forEach(r -> r.map(FileResult::result).ifOk(initialResults::add));
 
-            Result<SolverResult, MultiLangAnalysisException> finalResult = solveCombined(context, input, initialResults);
+        Result<SolverResult, MultiLangAnalysisException> finalResult = solveCombined(context, input, initialResults);
 
-            HashMap<FileKey, Result<FileResult, MultiLangAnalysisException>> transFormedFileResults = finalResult
-                .flatMap(result -> postTransform(context, input, fileResults, result))
-                .getOr(fileResults);
+        HashMap<FileKey, Result<FileResult, MultiLangAnalysisException>> transFormedFileResults = finalResult
+            .flatMap(result -> postTransform(context, input, fileResults, result))
+            .getOr(fileResults);
 
-            return ImmutableAnalysisResults.of(projectResults, transFormedFileResults, finalResult);
+        return Result.ofOk(ImmutableAnalysisResults.of(projectResults, transFormedFileResults, finalResult));
+    }
+
+    /**
+     * Requires the inputs of the partial solves of all languages and files, and starts the partial solves that the
+     * partial solve tasks would have to execute again on {@code executor}. Failures are ignored here, as the partial
+     * solve tasks handle (and report) them. The number of finished solves is reported as progress.
+     */
+    private void prefetchSolves(ExecContext context, Input input, Executor executor) {
+        final LoggerProgress progress = new LoggerProgress(logger, "Finished partial solves of " + input.projectPath);
+        context.require(instantiateGlobalScope.createTask(input.logLevel)).ifOk(globalResult -> {
+            for(LanguageId languageId : input.languages) {
+                languageMetadataManager.get().getLanguageMetadataResult(languageId).ifOk(lmd ->
+                    context.require(buildSpec.createSupplier(new SmlBuildSpec.Input(languageId))).ifOk(spec -> {
+                        partialSolveProject.prefetch(new SmlPartialSolveProject.Input(languageId, input.logLevel), lmd, spec, globalResult, executor, new CancelTokenCancel(context.cancelToken()), progress);
+                        for(ResourceKey resourceKey : lmd.resourcesSupplier().apply(context, input.projectPath)) {
+                            context.require(lmd.astFunction().createSupplier(resourceKey)).ifOk(ast ->
+                                partialSolveFile.prefetch(new SmlPartialSolveFile.Input(languageId, resourceKey, input.logLevel), lmd, spec, globalResult, ast, executor, new CancelTokenCancel(context.cancelToken()), progress)
+                            );
+                        }
+                    })
+                );
+            }
         });
     }
 
@@ -148,39 +206,41 @@ public class SmlSolveProject implements TaskDef<SmlSolveProject.Input, Result<An
                 .collect(toMap(HashMap::new)));
     }
 
-    private Result<SolverResult, MultiLangAnalysisException> solveCombined(ExecContext context, Input input, HashSet<SolverResult> initialResults) {
-        return context.require(buildSpec.createTask(new SmlBuildSpec.Input(input.languages)))
+    private Result<SolverResult, MultiLangAnalysisException> solveCombined(ExecContext context, Input input, HashSet<SolverResult> initialResults) throws InterruptedException {
+        final Result<Spec, MultiLangAnalysisException> combinedSpecResult = context.require(buildSpec.createTask(new SmlBuildSpec.Input(input.languages)))
             // Upcast to make typing work
-            .mapErr(MultiLangAnalysisException.class::cast)
-            .flatMap(combinedSpec -> context.require(instantiateGlobalScope.createTask(input.logLevel)).flatMap(globalResult -> {
-                // Combine state of all intermediate results
-                final IState.Immutable combinedState = initialResults.stream()
-                    .map(SolverResult::state)
-                    // When https://github.com/metaborg/nabl/commit/da4f60ca33cbd6566a0a4d42d00d39e9307e8d9d has landed in Spoofax 3
-                    // The identity State.of(combinedSpec) may be removed
-                    .reduce(State.of(), IState.Immutable::add);
-                final IConstraint combinedConstraint = initialResults.stream()
-                    .map(SolverResult::delayed)
-                    .reduce(globalResult.result().delayed(), CConj::new);
-
-                try {
-                    long t0 = System.currentTimeMillis();
-                    IDebugContext debug = SolverUtils.createDebugContext(input.logLevel);
-                    SolverResult result = Solver.solve(combinedSpec, combinedState, combinedConstraint, (s, l, st) -> true, debug, new NullCancel(), new NullProgress(), 0);
-                    long dt = System.currentTimeMillis() - t0;
-                    logger.info("Project analyzed in {} ms", dt);
-
-                    // Mark Delays as Errors
-                    final ImmutableMap.Builder<IConstraint, IMessage> messages = ImmutableMap.builder();
-                    messages.putAll(result.messages());
-                    result.delays().keySet().forEach(c -> messages.put(c, MessageUtil.findClosestMessage(c)));
-                    final SolverResult newResult = result.withMessages(messages.build()).withDelays(ImmutableMap.of());
-
-                    return Result.ofOk(newResult);
-                } catch(InterruptedException e) {
-                    return Result.ofErr(new MultiLangAnalysisException(e));
-                }
-            }));
+            .mapErr(MultiLangAnalysisException.class::cast);
+        if(combinedSpecResult.isErr()) return combinedSpecResult.ignoreValueIfErr();
+        final Spec combinedSpec = combinedSpecResult.unwrapUnchecked();
+
+        final Result<GlobalResult, MultiLangAnalysisException> globalResultResult = context.require(instantiateGlobalScope.createTask(input.logLevel));
+        if(globalResultResult.isErr()) return globalResultResult.ignoreValueIfErr();
+        final GlobalResult globalResult = globalResultResult.unwrapUnchecked();
+
+        // Combine state of all intermediate results
+        final IState.Immutable combinedState = initialResults.stream()
+            .map(SolverResult::state)
+            // When https://github.com/metaborg/nabl/commit/da4f60ca33cbd6566a0a4d42d00d39e9307e8d9d has landed in Spoofax 3
+            // The identity State.of(combinedSpec) may be removed
+            .reduce(State.of(), IState.Immutable::add);
+        final IConstraint combinedConstraint = initialResults.stream()
+            .map(SolverResult::delayed)
+            .reduce(globalResult.result().delayed(), CConj::new);
+
+        long t0 = System.currentTimeMillis();
+        IDebugContext debug = SolverUtils.createDebugContext(input.logLevel);
+        // Let InterruptedException propagate, such that PIE discards cancelled executions instead of storing an error.
+        SolverResult result = Solver.solve(combinedSpec, combinedState, combinedConstraint, (s, l, st) -> true, debug, new CancelTokenCancel(context.cancelToken()), new LoggerProgress(logger, "Solving combined constraint of " + input.projectPath), 0);
+        long dt = System.currentTimeMillis() - t0;
+        logger.info("Project analyzed in {} ms", dt);
+
+        // Mark Delays as Errors
+        final ImmutableMap.Builder<IConstraint, IMessage> messages = ImmutableMap.builder();
+        messages.putAll(result.messages());
+        result.delays().keySet().forEach(c -> messages.put(c, MessageUtil.findClosestMessage(c)));
+        final SolverResult newResult = result.withMessages(messages.build()).withDelays(ImmutableMap.of());
+
+        return Result.ofOk(newResult);
     }
 
     private Result<HashMap<FileKey, Result<FileResult, MultiLangAnalysisException>>, MultiLangAnalysisException> postTransform(
@@ -220,7 +280,7 @@ public class SmlSolveProject implements TaskDef<SmlSolveProject.Input, Result<An
 
     private Supplier<? extends Result<FileResult, ?>> fileResultSupplier(
         LanguageId languageId,
-        mb.resource.ResourceKey resourceKey,
+        ResourceKey resourceKey,
         @Nullable Level logLevel
     ) {
         return partialSolveFile.createSupplier(
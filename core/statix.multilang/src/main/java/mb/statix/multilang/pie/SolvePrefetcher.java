@@ -0,0 +1,162 @@
+package mb.statix.multilang.pie;
+
+import mb.statix.solver.persistent.SolverResult;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.metaborg.util.task.ICancel;
+import org.metaborg.util.task.IProgress;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Speculative partial solves for the executions of a task, keyed by task input. PIE does not support executing tasks
+ * concurrently, so a task that requires many partial solve tasks {@link #prefetch prefetches} their solver runs on
+ * an executor, after which each partial solve task {@link #take takes} its result instead of solving on the thread
+ * that executes the task.
+ *
+ * Solver inputs (spec, global result, AST) are compared by identity, which is cheap, and holds as long as the tasks
+ * that provide them are up-to-date. A prefetched result is only used when the task is executed with the same solver
+ * inputs, so prefetching never changes results. While {@link #setEnabled enabled}, the inputs of the last execution
+ * for each key are remembered through weak references, such that solves that the task would not need to execute
+ * again are not prefetched. Nothing is remembered while disabled, which is the default.
+ */
+class SolvePrefetcher<K> {
+    @FunctionalInterface
+    interface Solve {
+        SolverResult solve(ICancel cancel) throws InterruptedException;
+    }
+
+    private final ConcurrentHashMap<K, Prefetched> prefetched = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, SolvedInputs> solvedInputs = new ConcurrentHashMap<>();
+    private volatile boolean enabled = false;
+
+
+    /**
+     * Enables or disables prefetching. Disabling drops all remembered inputs and prefetched results.
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if(!enabled) {
+            solvedInputs.clear();
+            clear();
+        }
+    }
+
+    /**
+     * Checks whether the last execution for {@code key} was not with {@code inputs}, meaning that an execution for
+     * {@code key} would have to solve again.
+     */
+    boolean isStale(K key, Object... inputs) {
+        final @Nullable SolvedInputs solved = solvedInputs.get(key);
+        return solved == null || !solved.isSame(inputs);
+    }
+
+    /**
+     * Starts {@code solve} on {@code executor} for {@code key} with {@code inputs}, unless a solve for these inputs
+     * is already prefetched, or prefetching is disabled. Reports one tick of work to {@code progress} when the solve
+     * finishes.
+     */
+    void prefetch(K key, Object[] inputs, Solve solve, Executor executor, ICancel cancel, IProgress progress) {
+        if(!enabled) return;
+        final @Nullable Prefetched existing = prefetched.get(key);
+        if(existing != null && sameInputs(existing.inputs, inputs)) return;
+        final CompletableFuture<SolverResult> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                final SolverResult result = solve.solve(cancel);
+                progress.work(1);
+                return result;
+            } catch(InterruptedException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        final @Nullable Prefetched previous = prefetched.put(key, new Prefetched(inputs, future, cancel));
+        if(previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Takes the prefetched result for {@code key}, waiting for it if it is still being solved. Returns {@code null}
+     * when there is no prefetched result for {@code inputs}, or when prefetching failed or was cancelled.
+     */
+    @Nullable SolverResult take(K key, Object... inputs) throws InterruptedException {
+        if(prefetched.isEmpty()) return null;
+        final @Nullable Prefetched entry = prefetched.remove(key);
+        if(entry == null) return null;
+        if(!sameInputs(entry.inputs, inputs)) {
+            entry.cancel();
+            return null;
+        }
+        try {
+            return entry.future.get();
+        } catch(ExecutionException | CompletionException | CancellationException e) {
+            return null; // Solve again to handle (and report) this.
+        }
+    }
+
+    /**
+     * Records that an execution for {@code key} solved with {@code inputs}. Does nothing when prefetching is disabled.
+     */
+    void solved(K key, Object... inputs) {
+        if(!enabled) return;
+        solvedInputs.put(key, new SolvedInputs(inputs));
+    }
+
+    /**
+     * Drops all prefetched results, cancelling solves that are still running.
+     */
+    void clear() {
+        prefetched.values().forEach(Prefetched::cancel);
+        prefetched.clear();
+    }
+
+
+    private static boolean sameInputs(Object[] inputs1, Object[] inputs2) {
+        if(inputs1.length != inputs2.length) return false;
+        for(int i = 0; i < inputs1.length; ++i) {
+            if(inputs1[i] != inputs2[i]) return false;
+        }
+        return true;
+    }
+
+    private static class SolvedInputs {
+        final WeakReference<?>[] inputs;
+
+        SolvedInputs(Object[] inputs) {
+            this.inputs = new WeakReference<?>[inputs.length];
+            for(int i = 0; i < inputs.length; ++i) {
+                this.inputs[i] = new WeakReference<>(inputs[i]);
+            }
+        }
+
+        boolean isSame(Object[] inputs) {
+            if(this.inputs.length != inputs.length) return false;
+            for(int i = 0; i < inputs.length; ++i) {
+                if(this.inputs[i].get() != inputs[i]) return false; // Also false when collected, as inputs are non-null.
+            }
+            return true;
+        }
+    }
+
+    private static class Prefetched {
+        final Object[] inputs;
+        final CompletableFuture<SolverResult> future;
+        final ICancel cancel;
+
+        Prefetched(Object[] inputs, CompletableFuture<SolverResult> future, ICancel cancel) {
+            this.inputs = inputs;
+            this.future = future;
+            this.cancel = cancel;
+        }
+
+        void cancel() {
+            cancel.cancel();
+            future.cancel(false);
+        }
+    }
+}
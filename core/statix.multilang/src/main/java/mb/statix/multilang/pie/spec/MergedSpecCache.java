@@ -0,0 +1,208 @@
+package mb.statix.multilang.pie.spec;
+
+import mb.statix.multilang.metadata.LanguageId;
+import mb.statix.multilang.metadata.spec.Module;
+import mb.statix.multilang.metadata.spec.SpecFragment;
+import mb.statix.spec.Spec;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of merged specs, keyed by a content hash of the fragments they were merged from, such that equal fragment
+ * sets are only merged once, regardless of which languages they were requested for. When a directory is set, merged
+ * specs are also written to that directory with Java serialization, and read from it on a cache miss, such that they
+ * survive restarts.
+ *
+ * The in-memory cache keeps, for each language set, only the spec that was last merged for it: when the fragments of
+ * a language set change, the spec of its previous fragments is dropped, unless another language set still uses it. On
+ * top of that, the least recently used spec is evicted when the number of specs exceeds the capacity.
+ *
+ * The content hash covers the identifiers, delayed module names, and the {@link Module#contentHash() content hashes}
+ * of the modules of the fragments, so a changed fragment results in a different key. Reading or writing a cache entry
+ * never fails a build; the spec is merged again instead. Thread-safe.
+ */
+public class MergedSpecCache {
+    public static final int defaultCapacity = 8;
+    private static final int formatVersion = 2;
+
+    private final int capacity;
+    private final LinkedHashMap<String, Spec> specs;
+    private final HashMap<Set<LanguageId>, String> keysPerLanguages = new HashMap<>();
+    private volatile @Nullable File directory = null;
+
+
+    public MergedSpecCache(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of merged spec cache must be larger than 0, got '" + capacity + "'");
+        }
+        this.capacity = capacity;
+        this.specs = new LinkedHashMap<String, Spec>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<String, Spec> eldest) {
+                if(size() <= MergedSpecCache.this.capacity) return false;
+                keysPerLanguages.values().removeIf(eldest.getKey()::equals);
+                return true;
+            }
+        };
+    }
+
+    public MergedSpecCache() {
+        this(defaultCapacity);
+    }
+
+
+    /**
+     * Sets the directory in which merged specs are stored, or {@code null} to only cache merged specs in memory, which
+     * is the default.
+     */
+    public void setDirectory(@Nullable File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Computes the cache key of {@code fragments}, independent of their order.
+     */
+    public static String key(Collection<SpecFragment> fragments) {
+        final ArrayList<SpecFragment> sortedFragments = new ArrayList<>(fragments);
+        sortedFragments.sort(Comparator.comparing(fragment -> fragment.id().getId()));
+        final MessageDigest digest = newDigest();
+        update(digest, Integer.toString(formatVersion));
+        for(SpecFragment fragment : sortedFragments) {
+            update(digest, fragment.id().getId());
+            fragment.delayedModuleNames().stream().sorted().forEach(name -> update(digest, name));
+            final ArrayList<Module> sortedModules = new ArrayList<>(fragment.modules());
+            sortedModules.sort(Comparator.comparing(Module::moduleName));
+            for(Module module : sortedModules) {
+                update(digest, module.contentHash());
+            }
+        }
+        final byte[] bytes = digest.digest();
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for(byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the merged spec for {@code key}, requested for {@code languages}, from memory, or from the directory if it
+     * is set, or returns {@code null} if there is no cached spec.
+     */
+    public @Nullable Spec get(Set<LanguageId> languages, String key) {
+        synchronized(this) {
+            final @Nullable Spec spec = specs.get(key);
+            if(spec != null) {
+                setKey(languages, key);
+                return spec;
+            }
+        }
+        final @Nullable File directory = this.directory;
+        if(directory == null) return null;
+        final @Nullable Spec storedSpec = read(new File(directory, key + ".spec"));
+        if(storedSpec != null) {
+            cache(languages, key, storedSpec);
+        }
+        return storedSpec;
+    }
+
+    /**
+     * Caches merged spec {@code spec} for {@code key}, which was merged for {@code languages}, writing it to the
+     * directory if it is set.
+     */
+    public void put(Set<LanguageId> languages, String key, Spec spec) {
+        cache(languages, key, spec);
+        final @Nullable File directory = this.directory;
+        if(directory == null) return;
+        write(directory, key + ".spec", spec);
+    }
+
+    /**
+     * Drops all merged specs from memory. Stored specs are kept.
+     */
+    public synchronized void clear() {
+        specs.clear();
+        keysPerLanguages.clear();
+    }
+
+    public synchronized int size() {
+        return specs.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    private synchronized void cache(Set<LanguageId> languages, String key, Spec spec) {
+        setKey(languages, key);
+        specs.put(key, spec);
+    }
+
+    private void setKey(Set<LanguageId> languages, String key) {
+        final @Nullable String previousKey = keysPerLanguages.put(new HashSet<>(languages), key);
+        if(previousKey != null && !previousKey.equals(key) && !keysPerLanguages.containsValue(previousKey)) {
+            specs.remove(previousKey); // The fragments of these languages changed, and no other languages use the spec.
+        }
+    }
+
+
+    private static @Nullable Spec read(File file) {
+        if(!file.exists()) return null;
+        try(final ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            final Object obj = inputStream.readObject();
+            return obj instanceof Spec ? (Spec)obj : null;
+        } catch(IOException | ClassNotFoundException e) {
+            return null; // Corrupt or outdated entry: merge again, which overwrites the entry.
+        }
+    }
+
+    private static void write(File directory, String fileName, Spec spec) {
+        try {
+            Files.createDirectories(directory.toPath());
+            final Path file = new File(directory, fileName).toPath();
+            final Path tempFile = Files.createTempFile(directory.toPath(), fileName, ".tmp");
+            try {
+                try(final ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    outputStream.writeObject(spec);
+                }
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch(IOException e) {
+            // Not storing the spec only costs merging it again after a restart.
+        }
+    }
+
+    private static void update(MessageDigest digest, String string) {
+        digest.update(string.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException e) {
+            throw new RuntimeException("BUG: SHA-256 message digest is not available", e);
+        }
+    }
+}
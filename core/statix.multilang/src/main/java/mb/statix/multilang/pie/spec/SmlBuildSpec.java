@@ -24,6 +24,7 @@ import mb.statix.spec.Spec;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.inject.Inject;
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -86,6 +87,7 @@ public class SmlBuildSpec implements TaskDef<SmlBuildSpec.Input, Result<Spec, Sp
 
     private final Lazy<SpecManager> specManager;
     private final SmlLoadFragment loadFragment;
+    private final MergedSpecCache specCache = new MergedSpecCache();
 
     @Inject public SmlBuildSpec(
         @MultiLang Lazy<SpecManager> specManager,
@@ -95,6 +97,15 @@ public class SmlBuildSpec implements TaskDef<SmlBuildSpec.Input, Result<Spec, Sp
         this.loadFragment = loadFragment;
     }
 
+    /**
+     * Sets the directory in which merged specs are {@link MergedSpecCache stored} across restarts, or {@code null} to
+     * only cache merged specs in memory, which is the default. Set from the directory passed to {@link
+     * mb.statix.multilang.MultiLangModule}.
+     */
+    public void setSpecCacheDirectory(@Nullable File directory) {
+        specCache.setDirectory(directory);
+    }
+
     @Override public String getId() {
         return SmlBuildSpec.class.getCanonicalName();
     }
@@ -107,19 +118,40 @@ public class SmlBuildSpec implements TaskDef<SmlBuildSpec.Input, Result<Spec, Sp
                 .collect(ResultCollector.getWithBaseException(new SpecLoadException("Exception loading fragments")))
                 // Sanity check correctness of fragment combination (i.e. that all imports resolve uniquely)
                 .flatMap(this::validateIntegrity)
-                // Load Spec from Fragments.
-                .flatMap(this::loadSpecs)
-                // Sanity check for overlapping declarations
-                .flatMap(this::validateNoOverlap)
-                // Combine all fragments
-                .flatMap(specs -> specs.stream()
-                    .reduce(SpecUtils::mergeSpecs)
-                    // Method reference handles type erasure incorrectly here, hence the lambda
-                    .map(x -> Result.<Spec, SpecLoadException>ofOk(x))
-                    // When check holds, this orElse call will never be executed
-                    .orElse(Result.ofErr(new SpecLoadException("Bug: Tried to build spec from 0 fragments"))))
-                // Sanity check for overlapping rules
-                .flatMap(this::validateNoOverlappingRules));
+                // Get merged spec from cache, or merge and cache it.
+                .flatMap(fragments -> getOrMergeSpec(input.languages, fragments)));
+    }
+
+    /**
+     * Gets the merged spec of {@code fragments} for {@code languages} from the {@link MergedSpecCache cache}, which is
+     * shared by all inputs, or merges the fragments and caches the merged spec when it is valid.
+     */
+    private Result<Spec, SpecLoadException> getOrMergeSpec(Set<LanguageId> languages, Set<SpecFragment> fragments) {
+        final String key = MergedSpecCache.key(fragments);
+        final @Nullable Spec cachedSpec = specCache.get(languages, key);
+        if(cachedSpec != null) {
+            return Result.ofOk(cachedSpec);
+        }
+        return mergeSpec(fragments).map(spec -> {
+            specCache.put(languages, key, spec);
+            return spec;
+        });
+    }
+
+    private Result<Spec, SpecLoadException> mergeSpec(Set<SpecFragment> fragments) {
+        // Load Spec from Fragments.
+        return loadSpecs(fragments)
+            // Sanity check for overlapping declarations
+            .flatMap(this::validateNoOverlap)
+            // Combine all fragments
+            .flatMap(specs -> specs.stream()
+                .reduce(SpecUtils::mergeSpecs)
+                // Method reference handles type erasure incorrectly here, hence the lambda
+                .map(x -> Result.<Spec, SpecLoadException>ofOk(x))
+                // When check holds, this orElse call will never be executed
+                .orElse(Result.ofErr(new SpecLoadException("Bug: Tried to build spec from 0 fragments"))))
+            // Sanity check for overlapping rules
+            .flatMap(this::validateNoOverlappingRules);
     }
 
     // Transitive fragment dependency calculation
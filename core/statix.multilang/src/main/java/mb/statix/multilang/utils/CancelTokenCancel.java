@@ -0,0 +1,31 @@
+package mb.statix.multilang.utils;
+
+import mb.pie.api.exec.CancelToken;
+import org.metaborg.util.task.ICancel;
+
+/**
+ * Solver cancellation that is cancelled when a PIE {@link CancelToken} is canceled, or when {@link #cancel()} is
+ * called, for example because the result of a speculative solve is no longer needed.
+ */
+public class CancelTokenCancel implements ICancel {
+    private final CancelToken cancelToken;
+    private volatile boolean cancelled = false;
+
+    public CancelTokenCancel(CancelToken cancelToken) {
+        this.cancelToken = cancelToken;
+    }
+
+    @Override public boolean cancelled() {
+        return cancelled || cancelToken.isCanceled();
+    }
+
+    @Override public void throwIfCancelled() throws InterruptedException {
+        if(cancelled()) {
+            throw new InterruptedException();
+        }
+    }
+
+    @Override public void cancel() {
+        cancelled = true;
+    }
+}
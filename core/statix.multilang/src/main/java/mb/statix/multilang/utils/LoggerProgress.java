@@ -0,0 +1,48 @@
+package mb.statix.multilang.utils;
+
+import mb.log.api.Logger;
+import org.metaborg.util.task.IProgress;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Solver progress that is reported to a {@link Logger} at debug level. Thread-safe, such that concurrent solves can
+ * report to the same progress.
+ */
+public class LoggerProgress implements IProgress {
+    private final Logger logger;
+    private final AtomicInteger worked = new AtomicInteger();
+    private volatile String description;
+    private volatile int total = 0;
+
+    public LoggerProgress(Logger logger, String description) {
+        this.logger = logger;
+        this.description = description;
+    }
+
+    @Override public void work(int ticks) {
+        final int worked = this.worked.addAndGet(ticks);
+        final int total = this.total;
+        if(total > 0) {
+            logger.debug("{}: {}/{}", description, worked, total);
+        } else {
+            logger.debug("{}: {}", description, worked);
+        }
+    }
+
+    @Override public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @Override public void setWorkRemaining(int ticks) {
+        this.total = worked.get() + ticks;
+    }
+
+    @Override public IProgress subProgress(int ticks) {
+        return new LoggerProgress(logger, description);
+    }
+
+    public int getWorked() {
+        return worked.get();
+    }
+}
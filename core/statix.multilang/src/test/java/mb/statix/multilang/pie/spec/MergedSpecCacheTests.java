@@ -0,0 +1,146 @@
+package mb.statix.multilang.pie.spec;
+
+import mb.statix.multilang.metadata.LanguageId;
+import mb.statix.multilang.metadata.SpecFragmentId;
+import mb.statix.multilang.metadata.spec.ImmutableModule;
+import mb.statix.multilang.metadata.spec.ImmutableSpecFragment;
+import mb.statix.multilang.metadata.spec.Module;
+import mb.statix.multilang.metadata.spec.SpecFragment;
+import mb.statix.spec.Spec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static mb.nabl2.terms.build.TermBuild.B;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the {@link MergedSpecCache} class.
+ */
+public final class MergedSpecCacheTests {
+    @Test
+    public void key_shouldBeIndependentOfFragmentAndModuleOrder() {
+        // Arrange
+        final SpecFragment fragmentA1 = fragment("a", module("a.m1", "A1"), module("a.m2", "A2"));
+        final SpecFragment fragmentA2 = fragment("a", module("a.m2", "A2"), module("a.m1", "A1"));
+        final SpecFragment fragmentB = fragment("b", module("b.m", "B"));
+
+        // Act
+        final String key1 = MergedSpecCache.key(Arrays.asList(fragmentA1, fragmentB));
+        final String key2 = MergedSpecCache.key(Arrays.asList(fragmentB, fragmentA2));
+
+        // Assert
+        assertEquals(key1, key2);
+    }
+
+    @Test
+    public void key_shouldDiffer_whenModuleContentChanges() {
+        // Arrange
+        final SpecFragment fragment = fragment("a", module("a.m", "A"));
+        final SpecFragment changedFragment = fragment("a", module("a.m", "A'"));
+
+        // Act
+        final String key = MergedSpecCache.key(Collections.singletonList(fragment));
+        final String changedKey = MergedSpecCache.key(Collections.singletonList(changedFragment));
+
+        // Assert
+        assertNotEquals(key, changedKey);
+    }
+
+    @Test
+    public void put_shouldReplaceSpecOfLanguageSet_whenItsFragmentsChange() {
+        // Arrange
+        final MergedSpecCache cache = new MergedSpecCache();
+        final String key = MergedSpecCache.key(Collections.singletonList(fragment("a", module("a.m", "A"))));
+        final String changedKey = MergedSpecCache.key(Collections.singletonList(fragment("a", module("a.m", "A'"))));
+        final Spec changedSpec = Spec.of();
+        cache.put(languages("a"), key, Spec.of());
+
+        // Act
+        cache.put(languages("a"), changedKey, changedSpec);
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertNull(cache.get(languages("a"), key));
+        assertSame(changedSpec, cache.get(languages("a"), changedKey));
+    }
+
+    @Test
+    public void put_shouldKeepPreviousSpec_whenAnotherLanguageSetStillUsesIt() {
+        // Arrange
+        final MergedSpecCache cache = new MergedSpecCache();
+        final Spec spec = Spec.of();
+        cache.put(languages("a"), "key", spec);
+        cache.get(languages("a", "b"), "key");
+
+        // Act
+        cache.put(languages("a"), "changedKey", Spec.of());
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertSame(spec, cache.get(languages("a", "b"), "key"));
+    }
+
+    @Test
+    public void put_shouldEvictLeastRecentlyUsedSpec_whenCapacityIsExceeded() {
+        // Arrange
+        final MergedSpecCache cache = new MergedSpecCache(2);
+        final Spec specA = Spec.of();
+        final Spec specC = Spec.of();
+        cache.put(languages("a"), "keyA", specA);
+        cache.put(languages("b"), "keyB", Spec.of());
+        cache.get(languages("a"), "keyA");
+
+        // Act
+        cache.put(languages("c"), "keyC", specC);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertSame(specA, cache.get(languages("a"), "keyA"));
+        assertNull(cache.get(languages("b"), "keyB"));
+        assertSame(specC, cache.get(languages("c"), "keyC"));
+    }
+
+    @Test
+    public void get_shouldReadStoredSpec_whenNotInMemory(@TempDir Path tempDir) {
+        // Arrange
+        final MergedSpecCache cache = new MergedSpecCache();
+        cache.setDirectory(tempDir.toFile());
+        cache.put(languages("a"), "key", Spec.of());
+        final MergedSpecCache restartedCache = new MergedSpecCache();
+        restartedCache.setDirectory(tempDir.toFile());
+
+        // Act
+        final Spec spec = restartedCache.get(languages("a"), "key");
+
+        // Assert
+        assertNotNull(spec);
+        assertEquals(1, restartedCache.size());
+    }
+
+
+    private static Module module(String name, String content) {
+        return ImmutableModule.of(name, B.newAppl("Module", B.newString(content)));
+    }
+
+    private static SpecFragment fragment(String id, Module... modules) {
+        return ImmutableSpecFragment.of(new SpecFragmentId(id), Arrays.asList(modules), Collections.emptySet());
+    }
+
+    private static Set<LanguageId> languages(String... ids) {
+        final HashSet<LanguageId> languages = new HashSet<>();
+        for(String id : ids) {
+            languages.add(new LanguageId(id));
+        }
+        return languages;
+    }
+}
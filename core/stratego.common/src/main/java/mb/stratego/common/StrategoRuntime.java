@@ -10,37 +10,52 @@ import org.spoofax.interpreter.terms.ITermFactory;
 import org.strategoxt.HybridInterpreter;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public class StrategoRuntime {
-    private final HybridInterpreter hybridInterpreter;
+    /**
+     * Interpreter of this runtime, shared with runtimes derived from this runtime.
+     */
+    private final InterpreterHolder interpreterHolder;
     private final StrategoIOAgent ioAgent;
     private final AdaptableContext contextObject;
 
 
-    public StrategoRuntime(HybridInterpreter hybridInterpreter, StrategoIOAgent ioAgent, AdaptableContext contextObject) {
-        this.hybridInterpreter = hybridInterpreter;
+    private StrategoRuntime(InterpreterHolder interpreterHolder, StrategoIOAgent ioAgent, AdaptableContext contextObject) {
+        this.interpreterHolder = interpreterHolder;
         this.ioAgent = ioAgent;
         this.contextObject = contextObject;
     }
 
+    public StrategoRuntime(HybridInterpreter hybridInterpreter, StrategoIOAgent ioAgent, AdaptableContext contextObject) {
+        this(new InterpreterHolder(hybridInterpreter, null, hybridInterpreter.getFactory()), ioAgent, contextObject);
+    }
+
+    /**
+     * Creates a runtime that creates its interpreter with {@code interpreterSupplier} when it is first used.
+     */
+    public StrategoRuntime(Supplier<HybridInterpreter> interpreterSupplier, ITermFactory termFactory, StrategoIOAgent ioAgent, AdaptableContext contextObject) {
+        this(new InterpreterHolder(null, interpreterSupplier, termFactory), ioAgent, contextObject);
+    }
+
     public StrategoRuntime(HybridInterpreter hybridInterpreter, StrategoIOAgent ioAgent) {
         this(hybridInterpreter, ioAgent, new AdaptableContext());
     }
 
     @SuppressWarnings("CopyConstructorMissesField") public StrategoRuntime(StrategoRuntime other) {
-        this(other.hybridInterpreter, new StrategoIOAgent(other.ioAgent), new AdaptableContext(other.contextObject));
+        this(other.interpreterHolder, new StrategoIOAgent(other.ioAgent), new AdaptableContext(other.contextObject));
     }
 
     public StrategoRuntime(StrategoRuntime other, StrategoIOAgent ioAgent) {
-        this(other.hybridInterpreter, ioAgent, new AdaptableContext(other.contextObject));
+        this(other.interpreterHolder, ioAgent, new AdaptableContext(other.contextObject));
     }
 
     public StrategoRuntime(StrategoRuntime other, AdaptableContext contextObject) {
-        this(other.hybridInterpreter, new StrategoIOAgent(other.ioAgent), contextObject);
+        this(other.interpreterHolder, new StrategoIOAgent(other.ioAgent), contextObject);
     }
 
     public StrategoRuntime(StrategoRuntime other, StrategoIOAgent ioAgent, AdaptableContext contextObject) {
-        this(other.hybridInterpreter, ioAgent, contextObject);
+        this(other.interpreterHolder, ioAgent, contextObject);
     }
 
     /**
@@ -53,10 +68,7 @@ public class StrategoRuntime {
      * @throws StrategoException if the strategy or its invocation failed
      */
     public IStrategoTerm invoke(String strategy, IStrategoTerm input) throws StrategoException {
-        @Nullable final IStrategoTerm result = invokeOrNull(strategy, input);
-        if (result == null)
-            throw StrategoException.strategyFail(strategy, input, hybridInterpreter.getCompiledContext().getTrace());
-        return result;
+        return invoke(strategy, input, ListView.of());
     }
 
     /**
@@ -70,9 +82,9 @@ public class StrategoRuntime {
      * @throws StrategoException if the strategy or its invocation failed
      */
     public IStrategoTerm invoke(String strategy, IStrategoTerm input, ListView<IStrategoTerm> arguments) throws StrategoException {
-        @Nullable final IStrategoTerm result = invokeOrNull(strategy, input, arguments);
+        @Nullable final IStrategoTerm result = invoke(strategy, input, arguments, true);
         if (result == null)
-            throw StrategoException.strategyFail(strategy, input, hybridInterpreter.getCompiledContext().getTrace());
+            throw new RuntimeException("BUG: invocation of strategy '" + strategy + "' returned null instead of throwing on failure");
         return result;
     }
 
@@ -87,10 +99,7 @@ public class StrategoRuntime {
      * @throws StrategoException if the strategy or its invocation failed
      */
     public IStrategoTerm invoke(String strategy, IStrategoTerm input, IStrategoTerm... arguments) throws StrategoException {
-        @Nullable final IStrategoTerm result = invokeOrNull(strategy, input, arguments);
-        if (result == null)
-            throw StrategoException.strategyFail(strategy, input, hybridInterpreter.getCompiledContext().getTrace());
-        return result;
+        return invoke(strategy, input, ListView.of(arguments));
     }
 
     /**
@@ -158,6 +167,14 @@ public class StrategoRuntime {
      * @throws StrategoException if the strategy invocation failed
      */
     public @Nullable IStrategoTerm invokeOrNull(String strategy, IStrategoTerm input, ListView<IStrategoTerm> arguments) throws StrategoException {
+        return invoke(strategy, input, arguments, false);
+    }
+
+    private @Nullable IStrategoTerm invoke(String strategy, IStrategoTerm input, ListView<IStrategoTerm> arguments, boolean throwOnFail) throws StrategoException {
+        return invoke(interpreterHolder.get(), strategy, input, arguments, throwOnFail);
+    }
+
+    private @Nullable IStrategoTerm invoke(HybridInterpreter hybridInterpreter, String strategy, IStrategoTerm input, ListView<IStrategoTerm> arguments, boolean throwOnFail) throws StrategoException {
         hybridInterpreter.setCurrent(input);
         hybridInterpreter.setIOAgent(ioAgent);
         hybridInterpreter.getContext().setContextObject(contextObject);
@@ -179,7 +196,11 @@ public class StrategoRuntime {
                 );
                 success = hybridInterpreter.evaluate(strategyCallTerm);
             }
-            if(!success) return null;
+            if(!success) {
+                if(throwOnFail)
+                    throw StrategoException.strategyFail(strategy, input, hybridInterpreter.getCompiledContext().getTrace());
+                return null;
+            }
             return hybridInterpreter.current();
         } catch(InterpreterException e) {
             throw StrategoException.fromInterpreterException(strategy, input, hybridInterpreter.getCompiledContext().getTrace(), e);
@@ -229,12 +250,16 @@ public class StrategoRuntime {
     }
 
 
+    /**
+     * Gets the interpreter of this runtime. If this runtime creates its interpreter lazily and has not done so yet, it
+     * creates it now.
+     */
     public HybridInterpreter getHybridInterpreter() {
-        return hybridInterpreter;
+        return interpreterHolder.get();
     }
 
     public ITermFactory getTermFactory() {
-        return hybridInterpreter.getFactory();
+        return interpreterHolder.getTermFactory();
     }
 
     public StrategoIOAgent getIoAgent() {
@@ -244,4 +269,44 @@ public class StrategoRuntime {
     public AdaptableContext getContextObject() {
         return contextObject;
     }
+
+
+    /**
+     * Holds the interpreter of a runtime and the runtimes derived from it. When created with a supplier, the
+     * interpreter is created on first use, such that runtimes that are never invoked never pay for creating an
+     * interpreter.
+     */
+    private static class InterpreterHolder {
+        private volatile @Nullable HybridInterpreter hybridInterpreter;
+        private @Nullable Supplier<HybridInterpreter> interpreterSupplier;
+        private final ITermFactory termFactory;
+
+        private InterpreterHolder(@Nullable HybridInterpreter hybridInterpreter, @Nullable Supplier<HybridInterpreter> interpreterSupplier, ITermFactory termFactory) {
+            this.hybridInterpreter = hybridInterpreter;
+            this.interpreterSupplier = interpreterSupplier;
+            this.termFactory = termFactory;
+        }
+
+        HybridInterpreter get() {
+            final @Nullable HybridInterpreter hybridInterpreter = this.hybridInterpreter;
+            if(hybridInterpreter != null) return hybridInterpreter;
+            synchronized(this) {
+                final @Nullable HybridInterpreter createdInterpreter = this.hybridInterpreter;
+                if(createdInterpreter != null) return createdInterpreter;
+                if(interpreterSupplier == null) {
+                    throw new RuntimeException("BUG: Stratego runtime has neither an interpreter nor an interpreter supplier");
+                }
+                final HybridInterpreter newInterpreter = interpreterSupplier.get();
+                this.hybridInterpreter = newInterpreter;
+                this.interpreterSupplier = null; // Release the prototype.
+                return newInterpreter;
+            }
+        }
+
+        ITermFactory getTermFactory() {
+            final @Nullable HybridInterpreter hybridInterpreter = this.hybridInterpreter;
+            if(hybridInterpreter != null) return hybridInterpreter.getFactory();
+            return termFactory;
+        }
+    }
 }
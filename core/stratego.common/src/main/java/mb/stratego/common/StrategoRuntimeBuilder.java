@@ -221,6 +221,19 @@ public class StrategoRuntimeBuilder {
     }
 
     public StrategoRuntime buildFromPrototype(StrategoRuntime prototype) {
+        return new StrategoRuntime(buildInterpreterFromPrototype(prototype), new StrategoIOAgent(prototype.getIoAgent()), new AdaptableContext(prototype.getContextObject()));
+    }
+
+    /**
+     * Builds a Stratego runtime like {@link #buildFromPrototype}, but only creates its interpreter from
+     * {@code prototype} when the runtime is first used.
+     */
+    public StrategoRuntime buildFromPrototypeLazily(StrategoRuntime prototype) {
+        return new StrategoRuntime(() -> buildInterpreterFromPrototype(prototype), termFactory, new StrategoIOAgent(prototype.getIoAgent()), new AdaptableContext(prototype.getContextObject()));
+    }
+
+
+    private HybridInterpreter buildInterpreterFromPrototype(StrategoRuntime prototype) {
         final HybridInterpreter hybridInterpreter = new HybridInterpreter(prototype.getHybridInterpreter());
 
         hybridInterpreter.getCompiledContext().getExceptionHandler().setEnabled(false);
@@ -235,6 +248,6 @@ public class StrategoRuntimeBuilder {
 
         hybridInterpreter.init();
 
-        return new StrategoRuntime(hybridInterpreter, new StrategoIOAgent(prototype.getIoAgent()), new AdaptableContext(prototype.getContextObject()));
+        return hybridInterpreter;
     }
 }
@@ -6,8 +6,10 @@ import mb.pie.api.OutTransient;
 import mb.pie.api.OutTransientEquatableImpl;
 import mb.pie.api.TaskDef;
 import mb.stratego.common.StrategoRuntime;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.inject.Provider;
+import java.io.Serializable;
 
 /**
  * Abstract task definition that gets the Stratego runtime provider.
@@ -19,9 +21,24 @@ import javax.inject.Provider;
 public abstract class GetStrategoRuntimeProvider implements TaskDef<None, OutTransient<Provider<StrategoRuntime>>> {
     protected abstract Provider<StrategoRuntime> getStrategoRuntimeProvider(ExecContext context) throws Exception;
 
+    /**
+     * Gets a content-based fingerprint of the Stratego runtime, for example with a {@link ResourceFingerprinter}, and
+     * creates dependencies on the files it is based on. Tasks that depend on this task only get re-executed when the
+     * fingerprint changes. Returns {@code null} by default, in which case tasks that depend on this task get
+     * re-executed whenever this task gets executed.
+     */
+    protected @Nullable Serializable getFingerprint(ExecContext context) throws Exception {
+        return null;
+    }
+
     @Override public OutTransient<Provider<StrategoRuntime>> exec(ExecContext context, None input) throws Exception {
+        final @Nullable Serializable fingerprint = getFingerprint(context);
+        final Provider<StrategoRuntime> provider = getStrategoRuntimeProvider(context);
+        if(fingerprint != null) {
+            return new OutTransientEquatableImpl<>(provider, fingerprint, true);
+        }
         // Use OutTransientEquatableImpl with System.currentTimeMillis() as equatable value, to ensure that tasks that
         // depend on this task get re-executed whenever this task gets executed, because its timestamp will change.
-        return new OutTransientEquatableImpl<>(getStrategoRuntimeProvider(context), System.currentTimeMillis(), true);
+        return new OutTransientEquatableImpl<>(provider, System.currentTimeMillis(), true);
     }
 }
@@ -0,0 +1,136 @@
+package mb.stratego.pie;
+
+import mb.resource.ReadableResource;
+import mb.resource.ResourceKey;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes content-based {@link Fingerprint fingerprints} of sets of files, such as the class files and JAR files of a
+ * Stratego runtime. A fingerprint is a hash over the paths and content hashes of its files, so that equal files result
+ * in equal fingerprints, regardless of modification dates.
+ *
+ * Content hashes of files are memoized by their last modified date and size, so that unchanged files are not read
+ * again when a fingerprint is recomputed. Thread-safe.
+ */
+public class ResourceFingerprinter {
+    private final ConcurrentHashMap<ResourceKey, FileHash> fileHashes = new ConcurrentHashMap<>();
+
+
+    public Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Drops all memoized content hashes.
+     */
+    public void clear() {
+        fileHashes.clear();
+    }
+
+
+    public class Builder {
+        private final TreeMap<String, byte[]> hashes = new TreeMap<>();
+
+        private Builder() {}
+
+        /**
+         * Adds {@code resource} to the fingerprint. Resources that do not exist are included as such.
+         */
+        public Builder add(ReadableResource resource) throws IOException {
+            final ResourceKey key = resource.getKey();
+            if(!resource.exists()) {
+                fileHashes.remove(key);
+                hashes.put(key.toString(), new byte[0]);
+                return this;
+            }
+            final Instant lastModified = resource.getLastModifiedTime();
+            final long size = resource.getSize();
+            final @Nullable FileHash fileHash = fileHashes.get(key);
+            final byte[] hash;
+            if(fileHash != null && fileHash.lastModified.equals(lastModified) && fileHash.size == size) {
+                hash = fileHash.hash;
+            } else {
+                hash = newDigest().digest(resource.readBytes());
+                fileHashes.put(key, new FileHash(lastModified, size, hash));
+            }
+            hashes.put(key.toString(), hash);
+            return this;
+        }
+
+        public Fingerprint build() {
+            // Hash entries in order of their key, so that the order in which resources are added does not matter.
+            final MessageDigest digest = newDigest();
+            for(Map.Entry<String, byte[]> entry : hashes.entrySet()) {
+                digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte)0);
+                digest.update(entry.getValue());
+            }
+            return new Fingerprint(digest.digest(), hashes.size());
+        }
+    }
+
+    public static class Fingerprint implements Serializable {
+        private final byte[] hash;
+        private final int numFiles;
+
+        private Fingerprint(byte[] hash, int numFiles) {
+            this.hash = hash;
+            this.numFiles = numFiles;
+        }
+
+        public int getNumFiles() {
+            return numFiles;
+        }
+
+        @Override public boolean equals(@Nullable Object o) {
+            if(this == o) return true;
+            if(o == null || getClass() != o.getClass()) return false;
+            final Fingerprint that = (Fingerprint)o;
+            return numFiles == that.numFiles && Arrays.equals(hash, that.hash);
+        }
+
+        @Override public int hashCode() {
+            return Arrays.hashCode(hash);
+        }
+
+        @Override public String toString() {
+            final StringBuilder sb = new StringBuilder(hash.length * 2);
+            for(byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb + " (" + numFiles + " files)";
+        }
+    }
+
+
+    private static class FileHash {
+        private final Instant lastModified;
+        private final long size;
+        private final byte[] hash;
+
+        private FileHash(Instant lastModified, long size, byte[] hash) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException e) {
+            throw new RuntimeException("BUG: SHA-256 message digest is not available", e);
+        }
+    }
+}
@@ -48,6 +48,24 @@ public final class LimitStrategy<T, R> extends NamedStrategy2<Strategy<T, Seq<R>
             private @Nullable Seq<R> s1Seq;
             private int remaining = n;
 
+            private void closeSeq() throws InterruptedException {
+                if (s1Seq == null) return;
+                try {
+                    s1Seq.close();
+                } catch (InterruptedException | RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                } finally {
+                    s1Seq = null;
+                }
+            }
+
+            @Override
+            public void close() throws Exception {
+                if (s1Seq != null) s1Seq.close();
+            }
+
             @Override
             protected void computeNext() throws InterruptedException {
                 while (true) {
@@ -69,6 +87,8 @@ public final class LimitStrategy<T, R> extends NamedStrategy2<Strategy<T, Seq<R>
                             this.state = 1;
                             continue;
                         case 3:
+                            // Release the resources of the sequence, such as pending parallel evaluations.
+                            closeSeq();
                             yieldBreak();
                             this.state = -1;
                             return;
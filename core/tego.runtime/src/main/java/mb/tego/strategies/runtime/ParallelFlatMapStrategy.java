@@ -0,0 +1,67 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.sequences.Seq;
+import mb.tego.strategies.NamedStrategy3;
+import mb.tego.strategies.Strategy;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Parallel FlatMap strategy.
+ *
+ * This wraps a strategy such that it can accept a sequence of values, evaluates the strategy
+ * on the values concurrently on the given executor, and flat-maps the results, like {@link FlatMapStrategy}.
+ * When ordered, the results are returned in the order of the input sequence; otherwise, the results
+ * of the evaluation that completes first are returned first.
+ *
+ * The input sequence is iterated lazily, with a bounded number of pending evaluations.
+ * Each evaluation is evaluated to completion, so the strategy must result in finite sequences,
+ * and the engine must support evaluating strategies concurrently.
+ * An evaluation that the executor has not started when its results are needed is evaluated on the
+ * waiting thread, so parallel strategies can be nested on the same bounded executor without deadlocking.
+ * Closing the resulting sequence, for example when a {@link LimitStrategy limit} is reached,
+ * cancels the pending evaluations and closes the input sequence.
+ *
+ * @param <T> the type of input (contravariant)
+ * @param <R> the type of output (covariant)
+ */
+public final class ParallelFlatMapStrategy<T, R> extends NamedStrategy3<Executor, Boolean, Strategy<T, Seq<R>>, Seq<T>, Seq<R>> {
+
+    @SuppressWarnings({"rawtypes", "RedundantSuppression"})
+    private static final ParallelFlatMapStrategy instance = new ParallelFlatMapStrategy();
+    @SuppressWarnings({"unchecked", "unused", "RedundantCast", "RedundantSuppression"})
+    public static <T, R> ParallelFlatMapStrategy<T, R> getInstance() { return (ParallelFlatMapStrategy<T, R>)instance; }
+
+    private ParallelFlatMapStrategy() { /* Prevent instantiation. Use getInstance(). */ }
+
+    public static <T, R> Seq<R> eval(TegoEngine engine, Executor executor, Boolean ordered, Strategy<T, Seq<R>> s, Seq<T> input) {
+        return new ParallelSeq<T, R>(
+            input,
+            t -> engine.eval(s, t),
+            executor,
+            ordered,
+            ParallelSeq.defaultMaxPending
+        );
+    }
+
+    @Override
+    public Seq<R> evalInternal(TegoEngine engine, Executor executor, Boolean ordered, Strategy<T, Seq<R>> s, Seq<T> input) {
+        return eval(engine, executor, ordered, s, input);
+    }
+
+    @Override
+    public String getName() {
+        return "parallelFlatMap";
+    }
+
+    @Override
+    public String getParamName(int index) {
+        switch (index) {
+            case 0: return "executor";
+            case 1: return "ordered";
+            case 2: return "s";
+            default: return super.getParamName(index);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.sequences.Seq;
+import mb.tego.strategies.NamedStrategy3;
+import mb.tego.strategies.Strategy;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Parallel disjunction strategy.
+ *
+ * This evaluates two strategies on the input concurrently on the given executor,
+ * and returns the elements of the first sequence and then the elements of the second sequence,
+ * like {@link OrStrategy}. Each alternative is evaluated to completion, so the alternatives
+ * must result in finite sequences, and the engine must support evaluating strategies concurrently.
+ * An alternative that the executor has not started when its results are needed is evaluated on the
+ * waiting thread, so parallel strategies can be nested on the same bounded executor without deadlocking.
+ *
+ * Closing the resulting sequence, for example when a {@link LimitStrategy limit} is reached,
+ * cancels the alternatives that are still being evaluated.
+ *
+ * @param <T> the type of input (contravariant)
+ * @param <R> the type of output (covariant)
+ */
+public final class ParallelOrStrategy<T, R> extends NamedStrategy3<Executor, Strategy<T, Seq<R>>, Strategy<T, Seq<R>>, T, Seq<R>> {
+
+    @SuppressWarnings({"rawtypes", "RedundantSuppression"})
+    private static final ParallelOrStrategy instance = new ParallelOrStrategy();
+    @SuppressWarnings({"unchecked", "unused", "RedundantCast", "RedundantSuppression"})
+    public static <T, R> ParallelOrStrategy<T, R> getInstance() { return (ParallelOrStrategy<T, R>)instance; }
+
+    private ParallelOrStrategy() { /* Prevent instantiation. Use getInstance(). */ }
+
+    public static <T, R> Seq<R> eval(TegoEngine engine, Executor executor, Strategy<T, Seq<R>> s1, Strategy<T, Seq<R>> s2, T input) {
+        return new ParallelSeq<Strategy<T, Seq<R>>, R>(
+            Seq.of(s1, s2),
+            s -> engine.eval(s, input),
+            executor,
+            true,
+            2
+        );
+    }
+
+    @Override
+    public Seq<R> evalInternal(TegoEngine engine, Executor executor, Strategy<T, Seq<R>> s1, Strategy<T, Seq<R>> s2, T input) {
+        return eval(engine, executor, s1, s2, input);
+    }
+
+    @Override
+    public String getName() {
+        return "parallelOr";
+    }
+
+    @Override
+    public String getParamName(int index) {
+        switch (index) {
+            case 0: return "executor";
+            case 1: return "s1";
+            case 2: return "s2";
+            default: return super.getParamName(index);
+        }
+    }
+}
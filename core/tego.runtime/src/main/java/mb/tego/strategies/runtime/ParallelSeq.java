@@ -0,0 +1,184 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.sequences.InterruptibleFunction;
+import mb.tego.sequences.Seq;
+import mb.tego.sequences.SeqBase;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A sequence that evaluates a branch for each element of an input sequence concurrently on an executor,
+ * and returns the elements of the resulting sequences.
+ *
+ * The input sequence is iterated on the thread that iterates this sequence, and at most a bounded number of branches
+ * are pending at any time. Each branch is evaluated to completion on the executor, so branches must result in
+ * finite sequences. When ordered, the elements of the branches are returned in the order of the input sequence;
+ * otherwise, the elements of the branch that completes first are returned first.
+ *
+ * When the results of a branch are needed before the executor started evaluating it, the branch is evaluated on the
+ * thread that iterates this sequence instead. Therefore, parallel sequences can be nested on the same bounded
+ * executor: when all threads of the executor are waiting for nested branches, those branches are evaluated by the
+ * waiting threads themselves instead of deadlocking.
+ *
+ * Closing this sequence cancels (and interrupts) all pending branches, and closes the input sequence.
+ *
+ * @param <T> the type of input elements
+ * @param <R> the type of output elements
+ */
+/* package private */ final class ParallelSeq<T, R> extends SeqBase<R> {
+
+    /** The default maximum number of pending branches. */
+    /* package private */ static final int defaultMaxPending = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final Seq<T> input;
+    private final InterruptibleFunction<T, @Nullable Seq<R>> branch;
+    private final Executor executor;
+    private final boolean ordered;
+    private final int maxPending;
+
+    /** The pending branches, in order of submission. */
+    private final ArrayDeque<FutureTask<List<R>>> pending = new ArrayDeque<>();
+    /** The completed branches, in order of completion; only used when not ordered. */
+    private final LinkedBlockingQueue<FutureTask<List<R>>> completed = new LinkedBlockingQueue<>();
+    private @Nullable Iterator<R> results = null;
+    private boolean inputFinished = false;
+    private boolean closed = false;
+
+    /**
+     * Initializes a new instance of the {@link ParallelSeq} class.
+     *
+     * @param input the input sequence
+     * @param branch the function that evaluates a branch for an input element; returning {@code null} on failure
+     * @param executor the executor on which to evaluate the branches
+     * @param ordered whether to return the elements in the order of the input sequence
+     * @param maxPending the maximum number of pending branches
+     */
+    /* package private */ ParallelSeq(
+        Seq<T> input,
+        InterruptibleFunction<T, @Nullable Seq<R>> branch,
+        Executor executor,
+        boolean ordered,
+        int maxPending
+    ) {
+        if (maxPending < 1) throw new IllegalArgumentException("'maxPending' must be greater than 0.");
+        this.input = input;
+        this.branch = branch;
+        this.executor = executor;
+        this.ordered = ordered;
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    protected void computeNext() throws InterruptedException {
+        while (true) {
+            if (results != null && results.hasNext()) {
+                this.yield(results.next());
+                return;
+            }
+            results = null;
+            if (closed) {
+                yieldBreak();
+                return;
+            }
+            submitPending();
+            if (pending.isEmpty()) {
+                yieldBreak();
+                return;
+            }
+            final FutureTask<List<R>> task;
+            if (ordered) {
+                task = pending.removeFirst();
+            } else {
+                task = takeCompleted();
+                pending.remove(task);
+            }
+            results = await(task).iterator();
+        }
+    }
+
+    /**
+     * Submits branches for the next elements of the input sequence, until the maximum number of pending branches
+     * is reached or the input sequence is exhausted.
+     */
+    private void submitPending() throws InterruptedException {
+        while (!inputFinished && pending.size() < maxPending) {
+            if (!input.next()) {
+                inputFinished = true;
+                return;
+            }
+            final T t = input.getCurrent();
+            final FutureTask<List<R>> task = new FutureTask<List<R>>(() -> evalBranch(t)) {
+                @Override
+                protected void done() {
+                    if (!ordered) completed.add(this);
+                }
+            };
+            pending.addLast(task);
+            executor.execute(task);
+        }
+    }
+
+    private List<R> evalBranch(T t) throws Exception {
+        final @Nullable Seq<R> seq = branch.apply(t);
+        if (seq == null) return Collections.emptyList();
+        try {
+            return seq.toList();
+        } finally {
+            seq.close();
+        }
+    }
+
+    /**
+     * Takes the first completed branch, evaluating pending branches that have not been started by the executor
+     * on this thread until a branch completes.
+     */
+    private FutureTask<List<R>> takeCompleted() throws InterruptedException {
+        for (FutureTask<List<R>> task : pending) {
+            final @Nullable FutureTask<List<R>> completedTask = completed.poll();
+            if (completedTask != null) return completedTask;
+            task.run(); // Does nothing when the task was already started.
+        }
+        return completed.take();
+    }
+
+    private List<R> await(FutureTask<List<R>> task) throws InterruptedException {
+        try {
+            task.run(); // Evaluates the branch on this thread when the executor did not start it yet.
+            return task.get();
+        } catch (ExecutionException ex) {
+            cancelPending();
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+            if (cause instanceof Error) throw (Error)cause;
+            throw new RuntimeException("Parallel branch failed.", cause);
+        } catch (InterruptedException ex) {
+            cancelPending();
+            throw ex;
+        }
+    }
+
+    private void cancelPending() {
+        for (FutureTask<List<R>> task : pending) {
+            task.cancel(true);
+        }
+        pending.clear();
+        completed.clear();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (closed) return;
+        closed = true;
+        results = null;
+        cancelPending();
+        input.close();
+    }
+}
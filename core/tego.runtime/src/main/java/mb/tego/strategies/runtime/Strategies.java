@@ -6,6 +6,8 @@ import mb.tego.strategies.Strategy;
 import mb.tego.strategies.Strategy1;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.concurrent.Executor;
+
 /**
  * Strategy convenience functions.
  */
@@ -42,6 +44,14 @@ public final class Strategies {
         return FlatMapStrategy.<I, O>getInstance().apply(s);
     }
 
+    public static <I, O> Strategy<Seq<I>, Seq<O>> parallelFlatMap(
+        Executor executor,
+        boolean ordered,
+        Strategy<I, Seq<O>> s
+    ) {
+        return ParallelFlatMapStrategy.<I, O>getInstance().apply(executor, ordered, s);
+    }
+
     public static <I, O> Strategy<I, Seq<O>> single(
         Strategy<I, Seq<O>> s
     ) {
@@ -74,6 +84,14 @@ public final class Strategies {
         return OrStrategy.<I, O>getInstance().apply(s1, s2);
     }
 
+    public static <I, O> Strategy<I, Seq<O>> parallelOr(
+        Executor executor,
+        Strategy<I, Seq<O>> s1,
+        Strategy<I, Seq<O>> s2
+    ) {
+        return ParallelOrStrategy.<I, O>getInstance().apply(executor, s1, s2);
+    }
+
     public static <T> Strategy<T, Seq<T>> fixSet(
         Strategy<T, Seq<T>> s
     ) {
@@ -0,0 +1,36 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.strategies.StrategyDecl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Instrumentation of the Tego engine, which a {@link TegoRuntimeImpl} calls just before and just after each strategy
+ * evaluation.
+ *
+ * The runtime only tracks the evaluation depth and calls the instrumentation when an instrumentation is set, so a
+ * runtime without instrumentation does not pay for it. A runtime may be used from multiple threads, so
+ * implementations must be thread-safe; the depth is tracked per thread.
+ */
+public interface TegoInstrumentation {
+
+    /**
+     * Called just before a strategy is evaluated.
+     *
+     * @param strategy the strategy that will be evaluated
+     * @param depth the evaluation depth of the strategy on the current thread, starting at 1
+     * @return a value that is passed to {@link #exit}, such as a start time
+     */
+    long enter(StrategyDecl strategy, int depth);
+
+    /**
+     * Called just after a strategy is evaluated.
+     *
+     * @param strategy the strategy that was evaluated
+     * @param depth the evaluation depth of the strategy on the current thread, starting at 1
+     * @param token the value returned by {@link #enter} for this evaluation
+     * @param result the result of evaluating the strategy
+     * @return the (possibly modified) result of evaluating the strategy
+     */
+    <R> @Nullable R exit(StrategyDecl strategy, int depth, long token, @Nullable R result);
+
+}
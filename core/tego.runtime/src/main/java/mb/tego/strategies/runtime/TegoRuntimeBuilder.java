@@ -1,6 +1,7 @@
 package mb.tego.strategies.runtime;
 
 import mb.log.api.LoggerFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Builds the Tego runtime.
@@ -8,6 +9,7 @@ import mb.log.api.LoggerFactory;
 public final class TegoRuntimeBuilder {
 
     private final LoggerFactory loggerFactory;
+    @Nullable private TegoInstrumentation instrumentation = null;
 
     public TegoRuntimeBuilder(
         LoggerFactory loggerFactory
@@ -15,12 +17,23 @@ public final class TegoRuntimeBuilder {
         this.loggerFactory = loggerFactory;
     }
 
+    /**
+     * Sets the instrumentation that is called for each strategy evaluation.
+     *
+     * @param instrumentation the instrumentation; or {@code null} to not instrument strategy evaluations
+     * @return this builder
+     */
+    public TegoRuntimeBuilder withInstrumentation(@Nullable TegoInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+        return this;
+    }
+
     /**
      * Builds the Tego runtime.
      *
      * @return the built Tego runtime
      */
     public TegoRuntime build() {
-        return new TegoRuntimeImpl(loggerFactory);
+        return new TegoRuntimeImpl(loggerFactory, instrumentation);
     }
 }
@@ -23,7 +23,9 @@ public /* open */ class TegoRuntimeImpl implements TegoRuntime, TegoEngine {
     @Nullable private final LoggerFactory loggerFactory;
     private final Logger log;
     private final Level strategyLogLevel = Level.Trace;
-    private int level = 0;
+    @Nullable private final TegoInstrumentation instrumentation;
+    // The evaluation depth per thread, only tracked while the runtime is instrumented.
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
 
     /**
      * Initializes a new instance of the {@link TegoRuntimeImpl} class.
@@ -33,72 +35,148 @@ public /* open */ class TegoRuntimeImpl implements TegoRuntime, TegoEngine {
     @Inject
     public TegoRuntimeImpl(
         @Nullable LoggerFactory loggerFactory
+    ) {
+        this(loggerFactory, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link TegoRuntimeImpl} class.
+     *
+     * @param loggerFactory the logger factory
+     * @param instrumentation the instrumentation; or {@code null} to not instrument strategy evaluations
+     */
+    public TegoRuntimeImpl(
+        @Nullable LoggerFactory loggerFactory,
+        @Nullable TegoInstrumentation instrumentation
     ) {
         this.loggerFactory = loggerFactory;
         this.log = loggerFactory != null ? loggerFactory.create(TegoRuntimeImpl.class) : NoopLogger.instance;
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Gets the instrumentation of this runtime.
+     *
+     * @return the instrumentation; or {@code null} if strategy evaluations are not instrumented
+     */
+    public @Nullable TegoInstrumentation getInstrumentation() {
+        return instrumentation;
     }
 
     @Override
     public @Nullable Object eval(StrategyDecl strategy, Object[] args, Object input) {
-        enterStrategy(strategy);
-        final @Nullable Object result = strategy.evalInternal(this, args, input);
-        return exitStrategy(strategy, result);
+        if (!isInstrumented()) return strategy.evalInternal(this, args, input);
+        final int[] depth = this.depth.get();
+        final int level = ++depth[0];
+        try {
+            final long token = enterStrategy(strategy, level);
+            final @Nullable Object result = strategy.evalInternal(this, args, input);
+            return exitStrategy(strategy, level, token, result);
+        } finally {
+            depth[0] = level - 1;
+        }
     }
 
     @Override
     public <T, R> @Nullable R eval(Strategy<T, R> strategy, T input) {
-        enterStrategy(strategy);
-        final @Nullable R result = strategy.evalInternal(this, input);
-        return exitStrategy(strategy, result);
+        if (!isInstrumented()) return strategy.evalInternal(this, input);
+        final int[] depth = this.depth.get();
+        final int level = ++depth[0];
+        try {
+            final long token = enterStrategy(strategy, level);
+            final @Nullable R result = strategy.evalInternal(this, input);
+            return exitStrategy(strategy, level, token, result);
+        } finally {
+            depth[0] = level - 1;
+        }
     }
 
     @Override
     public <A1, T, R> @Nullable R eval(Strategy1<A1, T, R> strategy, A1 arg1, T input) {
-        enterStrategy(strategy);
-        final @Nullable R result = strategy.evalInternal(this, arg1, input);
-        return exitStrategy(strategy, result);
+        if (!isInstrumented()) return strategy.evalInternal(this, arg1, input);
+        final int[] depth = this.depth.get();
+        final int level = ++depth[0];
+        try {
+            final long token = enterStrategy(strategy, level);
+            final @Nullable R result = strategy.evalInternal(this, arg1, input);
+            return exitStrategy(strategy, level, token, result);
+        } finally {
+            depth[0] = level - 1;
+        }
     }
 
     @Override
     public <A1, A2, T, R> @Nullable R eval(Strategy2<A1, A2, T, R> strategy, A1 arg1, A2 arg2, T input) {
-        enterStrategy(strategy);
-        final @Nullable R result = strategy.evalInternal(this, arg1, arg2, input);
-        return exitStrategy(strategy, result);
+        if (!isInstrumented()) return strategy.evalInternal(this, arg1, arg2, input);
+        final int[] depth = this.depth.get();
+        final int level = ++depth[0];
+        try {
+            final long token = enterStrategy(strategy, level);
+            final @Nullable R result = strategy.evalInternal(this, arg1, arg2, input);
+            return exitStrategy(strategy, level, token, result);
+        } finally {
+            depth[0] = level - 1;
+        }
     }
 
     @Override
     public <A1, A2, A3, T, R> @Nullable R eval(Strategy3<A1, A2, A3, T, R> strategy, A1 arg1, A2 arg2, A3 arg3, T input) {
-        enterStrategy(strategy);
-        final @Nullable R result = strategy.evalInternal(this, arg1, arg2, arg3, input);
-        return exitStrategy(strategy, result);
+        if (!isInstrumented()) return strategy.evalInternal(this, arg1, arg2, arg3, input);
+        final int[] depth = this.depth.get();
+        final int level = ++depth[0];
+        try {
+            final long token = enterStrategy(strategy, level);
+            final @Nullable R result = strategy.evalInternal(this, arg1, arg2, arg3, input);
+            return exitStrategy(strategy, level, token, result);
+        } finally {
+            depth[0] = level - 1;
+        }
     }
 
     /**
-     * Called just before a strategy is evaluated.
+     * Determines whether strategy evaluations are instrumented, that is, whether {@link #enterStrategy} and
+     * {@link #exitStrategy} are called. When this returns {@code false}, strategies are evaluated directly, without
+     * tracking the evaluation depth.
+     *
+     * @return {@code true} when an instrumentation is set or strategy tracing is enabled; otherwise, {@code false}
+     */
+    protected boolean isInstrumented() {
+        return instrumentation != null || log.isEnabled(Level.Trace);
+    }
+
+    /**
+     * Called just before a strategy is evaluated, when the runtime {@link #isInstrumented is instrumented}.
      *
      * @param strategy the strategy that will be evaluated
+     * @param level the evaluation depth of the strategy on the current thread, starting at 1
+     * @return a value that is passed to {@link #exitStrategy}
      */
-    protected void enterStrategy(StrategyDecl strategy) {
-        level += 1;
-        log.trace(prefixString("→", level, " " + strategy.toString()));
+    protected long enterStrategy(StrategyDecl strategy, int level) {
+        if (log.isEnabled(Level.Trace)) {
+            log.trace(prefixString("→", level, " " + strategy.toString()));
+        }
+        return instrumentation != null ? instrumentation.enter(strategy, level) : 0;
     }
 
     /**
-     * Called just after a strategy is evaluated.
+     * Called just after a strategy is evaluated, when the runtime {@link #isInstrumented is instrumented}.
      *
      * @param strategy the strategy that was evaluated
+     * @param level the evaluation depth of the strategy on the current thread, starting at 1
+     * @param token the value returned by {@link #enterStrategy} for this evaluation
      * @param result the result of evaluating the strategy
      * @return the (possibly modified) result of evaluating the strategy
      */
-    protected <R> @Nullable R exitStrategy(StrategyDecl strategy, @Nullable R result) {
-        log.trace(prefixString(" ", level - 1, "- " + strategy));
-        if (result != null) {
-            log.trace(prefixString(" ", level - 1, "← " + strategy.toString()));
-        } else {
-            log.trace(prefixString(" ", level - 1, "⨯ " + strategy.toString()));
+    protected <R> @Nullable R exitStrategy(StrategyDecl strategy, int level, long token, @Nullable R result) {
+        if (log.isEnabled(Level.Trace)) {
+            log.trace(prefixString(" ", level - 1, "- " + strategy));
+            if (result != null) {
+                log.trace(prefixString(" ", level - 1, "← " + strategy.toString()));
+            } else {
+                log.trace(prefixString(" ", level - 1, "⨯ " + strategy.toString()));
+            }
         }
-        level -= 1;
-        return result;
+        return instrumentation != null ? instrumentation.exit(strategy, level, token, result) : result;
     }
 
     /**
@@ -0,0 +1,139 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.sequences.MeasuringSeq;
+import mb.tego.sequences.Seq;
+import mb.tego.strategies.StrategyDecl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation that measures the time spent in named strategies, and in computing the results of the sequences
+ * they return, aggregated per strategy name.
+ *
+ * With a sample interval larger than 1, only a random sample of (on average) one in every {@code sampleInterval}
+ * evaluations is measured, and the measured times are scaled up accordingly, which reduces the overhead of measuring
+ * strategies that are evaluated very often. Thread-safe.
+ */
+public final class TimingTegoInstrumentation implements TegoInstrumentation {
+
+    private static final long notMeasured = Long.MIN_VALUE;
+
+    private final int sampleInterval;
+    private final ConcurrentHashMap<String, StrategyTime> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new instance of the {@link TimingTegoInstrumentation} class that measures every evaluation.
+     */
+    public TimingTegoInstrumentation() {
+        this(1);
+    }
+
+    /**
+     * Initializes a new instance of the {@link TimingTegoInstrumentation} class.
+     *
+     * @param sampleInterval the average number of evaluations per measured evaluation
+     */
+    public TimingTegoInstrumentation(int sampleInterval) {
+        if (sampleInterval < 1) throw new IllegalArgumentException("Sample interval must be at least 1, got " + sampleInterval);
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Gets the measurements so far.
+     *
+     * @return a map from strategy name to the time spent in the strategy
+     */
+    public Map<String, StrategyTime> getMeasurements() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    /**
+     * Removes all measurements.
+     */
+    public void clear() {
+        timings.clear();
+    }
+
+    @Override
+    public long enter(StrategyDecl strategy, int depth) {
+        // Only measure time for named strategies
+        if (strategy.isAnonymous()) return notMeasured;
+        if (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) return notMeasured;
+        return System.nanoTime();
+    }
+
+    @Override
+    public <R> @Nullable R exit(StrategyDecl strategy, int depth, long token, @Nullable R result) {
+        if (token == notMeasured) return result;
+        final long endTime = System.nanoTime();
+        final StrategyTime time = timings.computeIfAbsent(strategy.getName(), k -> new StrategyTime(sampleInterval));
+        time.addStrategyTime(endTime - token);
+        if (result instanceof Seq) {
+            //noinspection unchecked
+            return (R)new MeasuringSeq<>((Seq<Object>)result, (t, e) -> time.addResultTime(t));
+        }
+        return result;
+    }
+
+    /**
+     * The time spent in a strategy.
+     */
+    public static final class StrategyTime {
+        private final int sampleInterval;
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder strategyTime = new LongAdder();
+        private final LongAdder resultTime = new LongAdder();
+
+        /* package private */ StrategyTime(int sampleInterval) {
+            this.sampleInterval = sampleInterval;
+        }
+
+        /* package private */ void addStrategyTime(long nsTime) {
+            this.samples.increment();
+            this.strategyTime.add(nsTime);
+        }
+
+        /* package private */ void addResultTime(long nsTime) {
+            this.resultTime.add(nsTime);
+        }
+
+        /**
+         * Gets the number of measured evaluations of the strategy.
+         *
+         * @return the number of measured evaluations
+         */
+        public long getSampleCount() {
+            return samples.sum();
+        }
+
+        /**
+         * Gets the (estimated) time spent in evaluating the strategy.
+         *
+         * @return the time, in nanoseconds
+         */
+        public long getStrategyTime() {
+            return strategyTime.sum() * sampleInterval;
+        }
+
+        /**
+         * Gets the (estimated) time spent in computing the results of the sequences returned by the strategy.
+         *
+         * @return the time, in nanoseconds
+         */
+        public long getResultTime() {
+            return resultTime.sum() * sampleInterval;
+        }
+
+        @Override public String toString() {
+            return "{" +
+                "strategy: " + (getStrategyTime() / 1000000.0) +
+                " ms, result: " + (getResultTime() / 1000000.0) +
+                "ms }";
+        }
+    }
+}
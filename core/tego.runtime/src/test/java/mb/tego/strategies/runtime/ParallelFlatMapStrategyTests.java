@@ -0,0 +1,131 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.sequences.Seq;
+import mb.tego.strategies.Strategy;
+import mb.tego.strategies.TestListStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link ParallelFlatMapStrategy} class.
+ */
+public final class ParallelFlatMapStrategyTests {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldFlatMapInOrder_whenOrdered() throws InterruptedException {
+        // Arrange
+        final TegoEngine engine = new TegoRuntimeImpl(null);
+        final ParallelFlatMapStrategy<Integer, Integer> strategy = ParallelFlatMapStrategy.getInstance();
+        final TestListStrategy<Integer, Integer> s = new TestListStrategy<>(it -> Arrays.asList(it, it * 10));
+        final Seq<Integer> input = Seq.of(1, 2, 3, 4, 5);
+
+        // Act
+        final List<Integer> result = strategy.evalInternal(engine, executor, true, s, input).toList();
+
+        // Assert
+        assertEquals(Arrays.asList(1, 10, 2, 20, 3, 30, 4, 40, 5, 50), result);
+        assertEquals(5, s.evalCalls.get());
+    }
+
+    @Test
+    public void shouldFlatMapAllElements_whenUnordered() throws InterruptedException {
+        // Arrange
+        final TegoEngine engine = new TegoRuntimeImpl(null);
+        final ParallelFlatMapStrategy<Integer, Integer> strategy = ParallelFlatMapStrategy.getInstance();
+        final TestListStrategy<Integer, Integer> s = new TestListStrategy<>(it -> Arrays.asList(it, it * 10));
+        final Seq<Integer> input = Seq.of(1, 2, 3, 4, 5);
+
+        // Act
+        final List<Integer> result = strategy.evalInternal(engine, executor, false, s, input).toList();
+
+        // Assert
+        result.sort(Integer::compareTo);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 10, 20, 30, 40, 50), result);
+    }
+
+    @Test
+    public void shouldCancelPendingEvaluations_whenLimitIsReached() throws InterruptedException {
+        // Arrange
+        final TegoEngine engine = new TegoRuntimeImpl(null);
+        final TestListStrategy<Integer, Integer> s = new TestListStrategy<>(it -> {
+            if (it != 1) {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Arrays.asList(it);
+        });
+        final Strategy<Seq<Integer>, Seq<Integer>> parallelFlatMap = ParallelFlatMapStrategy.<Integer, Integer>getInstance().apply(executor, true, s);
+        final LimitStrategy<Seq<Integer>, Integer> strategy = LimitStrategy.getInstance();
+
+        // Act
+        final List<Integer> result = strategy.evalInternal(engine, parallelFlatMap, 1, Seq.of(1, 2, 3)).toList();
+        executor.shutdown();
+        final boolean terminated = executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(Arrays.asList(1), result);
+        assertTrue(terminated);
+    }
+
+    @Test
+    public void shouldNotDeadlock_whenNestedOnSameSingleThreadExecutor_whenOrdered() throws InterruptedException {
+        shouldNotDeadlock_whenNestedOnSameSingleThreadExecutor(true);
+    }
+
+    @Test
+    public void shouldNotDeadlock_whenNestedOnSameSingleThreadExecutor_whenUnordered() throws InterruptedException {
+        shouldNotDeadlock_whenNestedOnSameSingleThreadExecutor(false);
+    }
+
+    private void shouldNotDeadlock_whenNestedOnSameSingleThreadExecutor(boolean ordered) throws InterruptedException {
+        // Arrange
+        final ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        final TegoEngine engine = new TegoRuntimeImpl(null);
+        final ParallelFlatMapStrategy<Integer, Integer> strategy = ParallelFlatMapStrategy.getInstance();
+        final TestListStrategy<Integer, Integer> s1 = new TestListStrategy<>(it -> Arrays.asList(it));
+        final TestListStrategy<Integer, Integer> s2 = new TestListStrategy<>(it -> Arrays.asList(it * 10));
+        // Evaluates a nested parallel strategy on the same executor, whose only thread is evaluating this strategy.
+        final TestListStrategy<Integer, Integer> s = new TestListStrategy<>(it -> {
+            try {
+                return ParallelOrStrategy.eval(engine, singleThreadExecutor, s1, s2, it).toList();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(ex);
+            }
+        });
+        final Seq<Integer> input = Seq.of(1, 2, 3, 4, 5);
+
+        try {
+            // Act
+            final List<Integer> result = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> strategy.evalInternal(engine, singleThreadExecutor, ordered, s, input).toList());
+
+            // Assert
+            if (!ordered) result.sort(Integer::compareTo);
+            assertEquals(ordered ? Arrays.asList(1, 10, 2, 20, 3, 30, 4, 40, 5, 50) : Arrays.asList(1, 2, 3, 4, 5, 10, 20, 30, 40, 50), result);
+        } finally {
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.sequences.Seq;
+import mb.tego.strategies.TestListStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link ParallelOrStrategy} class.
+ */
+@SuppressWarnings({"PointlessArithmeticExpression", "ArraysAsListWithZeroOrOneArgument"}) public final class ParallelOrStrategyTests {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldEvaluateFirstSequenceThenSecondSequence() throws InterruptedException {
+        // Arrange
+        final TegoEngine engine = new TegoRuntimeImpl(null);
+        final ParallelOrStrategy<Integer, Integer> strategy = ParallelOrStrategy.getInstance();
+        final TestListStrategy<Integer, Integer> s1 = new TestListStrategy<>(it -> Arrays.asList(it + 1, it + 2, it + 3));
+        final TestListStrategy<Integer, Integer> s2 = new TestListStrategy<>(it -> Arrays.asList(it * 1, it * 2, it * 3));
+
+        // Act
+        final Seq<Integer> result = strategy.evalInternal(engine, executor, s1, s2, 42);
+
+        // Assert
+        assertEquals(Arrays.asList(43, 44, 45, 42, 84, 126), result.collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldEvaluateSecondSequence_whenFirstSequenceIsEmpty() throws InterruptedException {
+        // Arrange
+        final TegoEngine engine = new TegoRuntimeImpl(null);
+        final ParallelOrStrategy<Integer, Integer> strategy = ParallelOrStrategy.getInstance();
+        final TestListStrategy<Integer, Integer> s1 = new TestListStrategy<>(it -> Arrays.asList());
+        final TestListStrategy<Integer, Integer> s2 = new TestListStrategy<>(it -> Arrays.asList(it * 1, it * 2, it * 3));
+
+        // Act
+        final Seq<Integer> result = strategy.evalInternal(engine, executor, s1, s2, 42);
+
+        // Assert
+        assertEquals(Arrays.asList(42, 84, 126), result.collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldRethrowException_whenAlternativeThrows() {
+        // Arrange
+        final TegoEngine engine = new TegoRuntimeImpl(null);
+        final ParallelOrStrategy<Integer, Integer> strategy = ParallelOrStrategy.getInstance();
+        final TestListStrategy<Integer, Integer> s1 = new TestListStrategy<>(it -> Arrays.asList(it + 1));
+        final TestListStrategy<Integer, Integer> s2 = new TestListStrategy<>(it -> { throw new IllegalStateException("Failed"); });
+
+        // Act
+        final Seq<Integer> result = strategy.evalInternal(engine, executor, s1, s2, 42);
+
+        // Assert
+        assertThrows(IllegalStateException.class, result::toList);
+    }
+
+}
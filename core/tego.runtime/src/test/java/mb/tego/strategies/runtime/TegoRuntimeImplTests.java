@@ -0,0 +1,65 @@
+package mb.tego.strategies.runtime;
+
+import mb.tego.strategies.StrategyDecl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link TegoRuntimeImpl} class.
+ */
+public final class TegoRuntimeImplTests {
+
+    @Test
+    public void shouldCallInstrumentationWithDepthAndToken() {
+        // Arrange
+        final RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        final TegoRuntimeImpl runtime = new TegoRuntimeImpl(null, instrumentation);
+        final IdStrategy<String> strategy = IdStrategy.getInstance();
+        final String input = "My input";
+
+        // Act
+        final @Nullable String result = runtime.eval(strategy, input);
+
+        // Assert
+        assertEquals(input, result);
+        assertEquals(Arrays.asList("enter id 1", "exit id 1 42"), instrumentation.events);
+    }
+
+    @Test
+    public void shouldResetDepthAfterEvaluation() {
+        // Arrange
+        final RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        final TegoRuntimeImpl runtime = new TegoRuntimeImpl(null, instrumentation);
+        final IdStrategy<String> strategy = IdStrategy.getInstance();
+
+        // Act
+        runtime.eval(strategy, "a");
+        runtime.eval(strategy, "b");
+
+        // Assert
+        assertEquals(Arrays.asList("enter id 1", "exit id 1 42", "enter id 1", "exit id 1 42"), instrumentation.events);
+    }
+
+    private static final class RecordingInstrumentation implements TegoInstrumentation {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public long enter(StrategyDecl strategy, int depth) {
+            events.add("enter " + strategy.getName() + " " + depth);
+            return 42;
+        }
+
+        @Override
+        public <R> @Nullable R exit(StrategyDecl strategy, int depth, long token, @Nullable R result) {
+            events.add("exit " + strategy.getName() + " " + depth + " " + token);
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package mb.multilang.example;
+
+import mb.common.result.Result;
+import mb.pie.api.MixedSession;
+import mb.statix.multilang.MultiLangAnalysisException;
+import mb.statix.multilang.metadata.FileResult;
+import mb.statix.multilang.metadata.LanguageId;
+import mb.statix.multilang.pie.AnalysisResults;
+import mb.statix.multilang.pie.FileKey;
+import mb.statix.multilang.pie.SmlSolveProject;
+import mb.statix.solver.persistent.SolverResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentSolveTests extends TestBase {
+    @Test public void concurrentSolveEqualsSerialSolve() throws Exception {
+        textFile("a.msdf", "module a sorts ID A context-free syntax A.B = <<ID*>>");
+        textFile("b.mstr", "module b imports a rules rw: B(lid) -> B([])");
+        textFile("c.msdf", "module c sorts ID C context-free syntax C.E = <<ID*>>");
+        textFile("d.mstr", "module d imports c rules rw: E(lid) -> E([])");
+
+        final SmlSolveProject solveProject = multiLangComponent.getAnalyzeProject();
+        final SmlSolveProject.Input input = new SmlSolveProject.Input(
+            rootDirectory.getPath(),
+            new HashSet<>(Arrays.asList(new LanguageId("mb.minisdf"), new LanguageId("mb.ministr"))),
+            null
+        );
+
+        final AnalysisResults serialResults;
+        try(MixedSession session = newSession()) {
+            final Result<AnalysisResults, MultiLangAnalysisException> result = session.require(solveProject.createTask(input));
+            assertTrue(result.isOk());
+            serialResults = result.unwrap();
+            session.dropStore();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final AnalysisResults concurrentResults;
+        try(MixedSession session = newSession()) {
+            solveProject.setSolveExecutor(executor);
+            final Result<AnalysisResults, MultiLangAnalysisException> result = session.require(solveProject.createTask(input));
+            assertTrue(result.isOk());
+            concurrentResults = result.unwrap();
+        } finally {
+            solveProject.setSolveExecutor(null);
+            executor.shutdown();
+        }
+
+        assertEquals(serialResults.projectResults().keySet(), concurrentResults.projectResults().keySet());
+        for(Map.Entry<LanguageId, Result<SolverResult, MultiLangAnalysisException>> entry : serialResults.projectResults().entrySet()) {
+            assertSameSolverResult(entry.getValue(), concurrentResults.projectResults().get(entry.getKey()));
+        }
+        assertEquals(serialResults.fileResults().keySet(), concurrentResults.fileResults().keySet());
+        assertEquals(4, serialResults.fileResults().size());
+        for(Map.Entry<FileKey, Result<FileResult, MultiLangAnalysisException>> entry : serialResults.fileResults().entrySet()) {
+            final Result<FileResult, MultiLangAnalysisException> concurrentResult = concurrentResults.fileResults().get(entry.getKey());
+            assertNotNull(concurrentResult);
+            assertTrue(entry.getValue().isOk());
+            assertTrue(concurrentResult.isOk());
+            assertEquals(entry.getValue().unwrap().ast(), concurrentResult.unwrap().ast());
+        }
+        assertSameSolverResult(serialResults.finalResult(), concurrentResults.finalResult());
+    }
+
+    /**
+     * Compares solver results by their outcome, since the order in which the combined solve adds states and
+     * constraints, and thus the messages it reports, is not deterministic.
+     */
+    private static void assertSameSolverResult(
+        Result<SolverResult, MultiLangAnalysisException> expected,
+        Result<SolverResult, MultiLangAnalysisException> actual
+    ) throws Exception {
+        assertNotNull(actual);
+        assertTrue(expected.isOk());
+        assertTrue(actual.isOk());
+        assertEquals(expected.unwrap().hasErrors(), actual.unwrap().hasErrors());
+        assertEquals(expected.unwrap().delays().isEmpty(), actual.unwrap().delays().isEmpty());
+    }
+}
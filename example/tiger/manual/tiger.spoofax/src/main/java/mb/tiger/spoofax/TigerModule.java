@@ -91,9 +91,9 @@ public class TigerModule {
         return builder.build();
     }
 
-    @Provides /* Unscoped: new session every call. */
+    @Provides /* Unscoped: new session every call, which creates its interpreter when first used. */
     static StrategoRuntime provideStrategoRuntime(StrategoRuntimeBuilder builder, @Named("prototype") StrategoRuntime prototype) {
-        return builder.buildFromPrototype(prototype);
+        return builder.buildFromPrototypeLazily(prototype);
     }
 
 
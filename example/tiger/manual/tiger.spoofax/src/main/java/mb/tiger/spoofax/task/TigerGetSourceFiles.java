@@ -11,13 +11,13 @@ import mb.resource.hierarchical.walk.ResourceWalker;
 import mb.tiger.spoofax.TigerScope;
 
 import javax.inject.Inject;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.ArrayList;
 
 @TigerScope
 public class TigerGetSourceFiles implements TaskDef<ResourcePath, ListView<ResourcePath>> {
     private static final ResourceWalker WALKER = ResourceWalker.ofNoHidden();
     private static final ResourceMatcher MATCHER = ResourceMatcher.ofPath(PathMatcher.ofExtensions("tig")).and(ResourceMatcher.ofFile());
+    private static final ResourceMatcher DIRECTORY_OR_MATCHER = ResourceMatcher.ofDirectory().or(MATCHER);
 
     @Inject
     public TigerGetSourceFiles() {}
@@ -28,10 +28,16 @@ public class TigerGetSourceFiles implements TaskDef<ResourcePath, ListView<Resou
 
     @Override public ListView<ResourcePath> exec(ExecContext context, ResourcePath input) throws Exception {
         final HierarchicalResource rootDirectory = context.getHierarchicalResource(input);
-        // Require directories recursively, so we re-execute whenever a file is added/removed from a directory.
-        rootDirectory.walkForEach(WALKER, ResourceMatcher.ofDirectory(), context::require);
-        try(final Stream<? extends HierarchicalResource> files = rootDirectory.walk(WALKER, MATCHER)) {
-            return ListView.of(files.map(HierarchicalResource::getPath).collect(Collectors.toList()));
-        }
+        // Walk once: require directories recursively, so we re-execute whenever a file is added/removed from a
+        // directory, and collect the source files.
+        final ArrayList<ResourcePath> files = new ArrayList<>();
+        rootDirectory.walkForEach(WALKER, DIRECTORY_OR_MATCHER, resource -> {
+            if(resource.isDirectory()) {
+                context.require(resource);
+            } else {
+                files.add(resource.getPath());
+            }
+        });
+        return ListView.of(files);
     }
 }
@@ -9,19 +9,18 @@ import mb.jsglr.pie.JsglrParseTaskDef;
 import mb.pie.api.ExecContext;
 import mb.resource.ResourceKey;
 import mb.resource.hierarchical.ResourcePath;
-import mb.tiger.TigerParser;
+import mb.tiger.TigerParserFactory;
 import mb.tiger.spoofax.TigerScope;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
 @TigerScope
 public class TigerParse extends JsglrParseTaskDef {
-    private final Provider<TigerParser> parserProvider;
+    private final TigerParserFactory parserFactory;
 
-    @Inject public TigerParse(Provider<TigerParser> parserProvider) {
-        this.parserProvider = parserProvider;
+    @Inject public TigerParse(TigerParserFactory parserFactory) {
+        this.parserFactory = parserFactory;
     }
 
     @Override public String getId() {
@@ -35,9 +34,8 @@ public class TigerParse extends JsglrParseTaskDef {
         @Nullable ResourceKey fileHint,
         @Nullable ResourcePath rootDirectoryHint
     ) throws InterruptedException {
-        final TigerParser parser = parserProvider.get();
         try {
-            return Result.ofOk(parser.parse(new JsglrParseInput(text, startSymbol != null ? startSymbol : "Module", fileHint, rootDirectoryHint)));
+            return Result.ofOk(parserFactory.getPool().parse(new JsglrParseInput(text, startSymbol != null ? startSymbol : "Module", fileHint, rootDirectoryHint)));
         } catch(JsglrParseException e) {
             return Result.ofErr(e);
         }
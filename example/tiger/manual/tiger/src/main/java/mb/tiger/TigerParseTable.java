@@ -1,5 +1,6 @@
 package mb.tiger;
 
+import mb.jsglr.common.ParseTableStreams;
 import mb.jsglr1.common.JSGLR1ParseTable;
 import mb.jsglr1.common.JSGLR1ParseTableException;
 import mb.resource.hierarchical.HierarchicalResource;
@@ -17,7 +18,7 @@ public class TigerParseTable implements Serializable {
 
     public static TigerParseTable fromDefinitionDir(HierarchicalResource definitionDir) {
         final HierarchicalResource resource = definitionDir.appendRelativePath("target/metaborg/sdf.tbl");
-        try(final InputStream inputStream = resource.openRead()) {
+        try(final InputStream inputStream = ParseTableStreams.openRead(resource)) {
             final JSGLR1ParseTable parseTable = JSGLR1ParseTable.fromStream(inputStream);
             return new TigerParseTable(parseTable);
         } catch(JSGLR1ParseTableException | IOException e) {
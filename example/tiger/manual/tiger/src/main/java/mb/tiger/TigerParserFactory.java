@@ -2,9 +2,11 @@ package mb.tiger;
 
 import mb.resource.hierarchical.HierarchicalResource;
 import mb.spoofax.compiler.interfaces.spoofaxcore.ParserFactory;
+import mb.spoofax.compiler.interfaces.spoofaxcore.ParserPool;
 
 public class TigerParserFactory implements ParserFactory {
     private final TigerParseTable parseTable;
+    private final ParserPool<TigerParser> pool = new ParserPool<>(this::create);
 
     public TigerParserFactory(HierarchicalResource definitionDir) {
         this.parseTable = TigerParseTable.fromDefinitionDir(definitionDir);
@@ -13,4 +15,8 @@ public class TigerParserFactory implements ParserFactory {
     @Override public TigerParser create() {
         return new TigerParser(parseTable);
     }
+
+    @Override public ParserPool<TigerParser> getPool() {
+        return pool;
+    }
 }
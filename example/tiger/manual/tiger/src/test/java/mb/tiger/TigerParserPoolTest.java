@@ -0,0 +1,57 @@
+package mb.tiger;
+
+import mb.jsglr.common.JsglrParseInput;
+import mb.jsglr.common.JsglrParseOutput;
+import mb.spoofax.compiler.interfaces.spoofaxcore.ParserPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TigerParserPoolTest {
+    private final TigerParserFactory parserFactory = new TigerParserFactory(TestBase.classloaderResources.definitionDirectory);
+
+    @Test void reusesParsers() throws Exception {
+        final ParserPool<TigerParser> pool = parserFactory.getPool();
+        assertSame(pool, parserFactory.getPool());
+
+        for(int i = 0; i < 10; ++i) {
+            final JsglrParseOutput parsed = pool.parse(new JsglrParseInput("1 + " + i, "Module"));
+            assertFalse(parsed.recovered);
+        }
+
+        final ParserPool.Stats stats = pool.getStats();
+        assertEquals(1, stats.created);
+        assertEquals(9, stats.reused);
+        assertEquals(0, stats.dropped);
+        assertEquals(1, stats.idle);
+        assertEquals(10, stats.parses);
+    }
+
+    @Test void concurrentParsing() throws Exception {
+        final ParserPool<TigerParser> pool = new ParserPool<>(parserFactory::create, 2);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ArrayList<Future<JsglrParseOutput>> futures = new ArrayList<>();
+            for(int i = 0; i < 100; ++i) {
+                final String text = "1 + " + i;
+                futures.add(executor.submit(() -> pool.parse(new JsglrParseInput(text, "Module"))));
+            }
+            for(Future<JsglrParseOutput> future : futures) {
+                assertFalse(future.get().recovered);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final ParserPool.Stats stats = pool.getStats();
+        assertEquals(100, stats.parses);
+        assertEquals(100, stats.created + stats.reused);
+        assertTrue(stats.created <= 100);
+        assertTrue(stats.idle <= 2);
+    }
+}
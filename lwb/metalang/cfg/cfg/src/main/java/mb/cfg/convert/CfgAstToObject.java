@@ -444,6 +444,8 @@ public class CfgAstToObject {
             subParts.forOneSubtermAsInt("ConstraintAnalyzerDefaultStatixMessageTermDepth", adapter::defaultStatixMessageTermDepth);
             subParts.forOneSubtermAsString("ConstraintAnalyzerDefaultStatixTestLogLevel", adapter::defaultStatixTestLogLevel);
             subParts.forOneSubtermAsBool("ConstraintAnalyzerDefaultStatixSuppressCascadingErrors", adapter::defaultStatixSuppressCascadingErrors);
+            subParts.forOneSubtermAsBool("ConstraintAnalyzerStoreAnalysisResults", adapter::storeAnalysisResults);
+            subParts.forOneSubtermAsBool("ConstraintAnalyzerPrefetchAsts", adapter::prefetchAsts);
             // TODO: constraintAnalyzer adapter properties
         });
         parts.getAllSubTermsInListAsParts("MultilangAnalyzerSection").ifSome(subParts -> {
@@ -476,6 +478,7 @@ public class CfgAstToObject {
         });
         parts.getAllSubTermsInListAsParts("CodeCompletionSection").ifSome(subParts -> {
             final CodeCompletionAdapterCompiler.Input.Builder adapter = adapterBuilder.withCodeCompletion();
+            subParts.forOneSubtermAsInt("CodeCompletionTimeBudgetMillis", adapter::timeBudgetMillis);
         });
         parts.getAllSubTermsInListAsParts("DynamixSection").ifSome(subParts -> {
             final DynamixAdapterCompiler.Input.Builder adapter = adapterBuilder.withDynamix();
@@ -486,12 +489,14 @@ public class CfgAstToObject {
             subParts.getOneSubterm("ReferenceResolutionVariant").ifSome(variant -> {
                 TermUtils.asJavaStringAt(variant.getSubterm(0), 0).ifPresent(builder::resolveStrategy);
             });
+            subParts.forOneSubtermAsBool("ReferenceResolutionPrecomputeIndex", builder::precomputeIndex);
         });
         parts.getAllSubTermsInListAsParts("HoverSection").ifSome(subParts -> {
             final HoverAdapterCompiler.Input.Builder builder = adapterBuilder.withHover();
             subParts.getOneSubterm("HoverVariant").ifSome(variant -> {
                 TermUtils.asJavaStringAt(variant.getSubterm(0), 0).ifPresent(builder::hoverStrategy);
             });
+            subParts.forOneSubtermAsBool("HoverPrecomputeIndex", builder::precomputeIndex);
         });
 
         // LanguageAdapterCompilerInput > Task definitions
@@ -15,9 +15,9 @@ import mb.common.result.Result;
 import mb.jsglr.pie.JsglrParseTaskInput;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.ResourceKey;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.inject.Inject;
@@ -81,7 +81,7 @@ public class CfgCheck implements TaskDef<CfgCheck.Input, KeyedMessages> {
     }
 
     @Override public KeyedMessages exec(ExecContext context, Input input) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         final KeyedMessagesBuilder messagesBuilder = new KeyedMessagesBuilder();
 
         final JsglrParseTaskInput.Builder parseInputBuilder = parse.inputBuilder().withFile(input.file).rootDirectoryHint(Optional.ofNullable(input.rootDirectoryHint));
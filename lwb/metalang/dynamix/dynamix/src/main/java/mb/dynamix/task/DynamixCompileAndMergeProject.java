@@ -7,8 +7,8 @@ import mb.pie.api.ExecContext;
 import mb.pie.api.Interactivity;
 import mb.pie.api.None;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.stratego.common.StrategoRuntime;
 import org.spoofax.interpreter.terms.IStrategoList;
 import org.spoofax.interpreter.terms.IStrategoTerm;
@@ -49,7 +49,7 @@ public class DynamixCompileAndMergeProject implements TaskDef<ResourcePath, Resu
 
     @Override
     public Result<IStrategoTerm, ?> exec(ExecContext context, ResourcePath rootDirectory) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
 
         final StrategoRuntime strategoRuntime = context.require(getStrategoRuntimeProvider, None.instance).getValue().get();
         final ITermFactory termFactory = strategoRuntime.getTermFactory();
@@ -11,8 +11,8 @@ import mb.pie.api.Interactivity;
 import mb.pie.api.None;
 import mb.pie.api.TaskDef;
 import mb.pie.api.stamp.output.OutputStampers;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.stratego.common.StrategoException;
 import mb.stratego.common.StrategoRuntime;
 import mb.stratego.common.StrategoUtil;
@@ -110,9 +110,9 @@ public class DynamixCompileModule implements TaskDef<DynamixCompileModule.Input,
 
     @Override
     public Result<Option<Output>, ?> exec(ExecContext context, DynamixCompileModule.Input input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(Input.class), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(Output.class), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(Input.class), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(Output.class), new MemoizedHashResourceStamper());
 
         final ResourcePath rootDirectory = input.rootDirectory;
         final ResourcePath file = input.file;
@@ -11,8 +11,8 @@ import mb.dynamix.task.spoofax.DynamixGetSourceFiles;
 import mb.pie.api.ExecContext;
 import mb.pie.api.Interactivity;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
@@ -45,7 +45,7 @@ public class DynamixCompileProject implements TaskDef<ResourcePath, Result<ListV
 
     @Override
     public Result<ListView<DynamixCompileModule.Output>, ?> exec(ExecContext context, ResourcePath input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
 
         final KeyedMessages messages = context.require(check, input);
         if(messages.containsError()) {
@@ -10,6 +10,7 @@ import mb.resource.hierarchical.ResourcePath;
 import mb.resource.hierarchical.match.ResourceMatcher;
 import mb.resource.hierarchical.match.path.PathMatcher;
 import mb.resource.hierarchical.walk.ResourceWalker;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -37,7 +38,7 @@ public class DynamixGetSourceFiles implements TaskDef<ResourcePath, ListView<Res
     }
 
     @Override public ListView<ResourcePath> exec(ExecContext context, ResourcePath rootDirectory) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         return configFunctionWrapper.get().apply(context, rootDirectory).mapThrowingOrElse(
             o -> o.mapThrowingOrElse(
                 config -> {
@@ -2,7 +2,7 @@ package mb.dynamix.task.spoofax;
 
 import mb.common.result.Result;
 import mb.dynamix.DynamixClassLoaderResources;
-import mb.dynamix.DynamixParser;
+import mb.dynamix.DynamixParserFactory;
 import mb.dynamix.DynamixScope;
 import mb.dynamix.task.DynamixParse;
 import mb.jsglr.common.JsglrParseException;
@@ -10,10 +10,9 @@ import mb.jsglr.common.JsglrParseOutput;
 import mb.jsglr.pie.JsglrParseTaskInput;
 import mb.pie.api.ExecContext;
 import mb.pie.api.stamp.output.OutputStampers;
-import mb.pie.api.stamp.resource.ResourceStampers;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
 @DynamixScope
 public class DynamixParseWrapper extends DynamixParse {
@@ -22,10 +21,10 @@ public class DynamixParseWrapper extends DynamixParse {
 
     @Inject public DynamixParseWrapper(
         DynamixClassLoaderResources classLoaderResources,
-        Provider<DynamixParser> parserProvider,
+        DynamixParserFactory parserFactory,
         DynamixConfigFunctionWrapper configFunctionWrapper
     ) {
-        super(classLoaderResources, parserProvider);
+        super(classLoaderResources, parserFactory);
         this.classLoaderResources = classLoaderResources;
         this.configFunctionWrapper = configFunctionWrapper;
     }
@@ -36,7 +35,7 @@ public class DynamixParseWrapper extends DynamixParse {
 
     @Override
     public Result<JsglrParseOutput, JsglrParseException> exec(ExecContext context, JsglrParseTaskInput input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         // TODO: instead of requiring all origins for each file to parse, only require the origins that corresponds to a certain file?
         input.rootDirectoryHint().ifPresent(d -> configFunctionWrapper.get().apply(context, d).ifOk(o -> o.ifSome(c -> c.sourceFileOrigins.forEach((origin -> context.require(origin, OutputStampers.inconsequential()))))));
         return super.exec(context, input);
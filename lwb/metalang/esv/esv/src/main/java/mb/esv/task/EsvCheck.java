@@ -13,8 +13,8 @@ import mb.jsglr.common.JsglrParseException;
 import mb.jsglr.common.JsglrParseOutput;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.ResourceKey;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spoofax.interpreter.terms.IStrategoTerm;
 
@@ -35,7 +35,7 @@ public class EsvCheck implements TaskDef<EsvConfig, KeyedMessages> {
     }
 
     @Override public KeyedMessages exec(ExecContext context, EsvConfig config) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         final KeyedMessagesBuilder messagesBuilder = new KeyedMessagesBuilder();
         final EsvVisitor visitor = new EsvVisitor(parse, config.includeDirectorySuppliers, config.includeAstSuppliers) {
             @Override
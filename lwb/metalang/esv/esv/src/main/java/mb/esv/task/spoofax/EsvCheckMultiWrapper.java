@@ -9,8 +9,8 @@ import mb.esv.task.EsvCheck;
 import mb.esv.task.EsvConfig;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -39,7 +39,7 @@ public class EsvCheckMultiWrapper implements TaskDef<ResourcePath, KeyedMessages
     }
 
     @Override public KeyedMessages exec(ExecContext context, ResourcePath rootDirectory) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         return configFunctionWrapper.get().apply(context, rootDirectory).mapOrElse(
             o -> o.mapOrElse(
                 c -> checkWithConfig(context, c),
@@ -2,16 +2,15 @@ package mb.esv.task.spoofax;
 
 import mb.common.result.Result;
 import mb.esv.EsvClassLoaderResources;
-import mb.esv.EsvParser;
+import mb.esv.EsvParserFactory;
 import mb.esv.task.EsvParse;
 import mb.jsglr.common.JsglrParseException;
 import mb.jsglr.common.JsglrParseOutput;
 import mb.jsglr.pie.JsglrParseTaskInput;
 import mb.pie.api.ExecContext;
-import mb.pie.api.stamp.resource.ResourceStampers;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
 public class EsvParseWrapper extends EsvParse {
     private final EsvClassLoaderResources classLoaderResources;
@@ -19,10 +18,10 @@ public class EsvParseWrapper extends EsvParse {
 
     @Inject public EsvParseWrapper(
         EsvClassLoaderResources classLoaderResources,
-        Provider<EsvParser> parserProvider,
+        EsvParserFactory parserFactory,
         EsvConfigFunctionWrapper configFunctionWrapper
     ) {
-        super(classLoaderResources, parserProvider);
+        super(classLoaderResources, parserFactory);
         this.classLoaderResources = classLoaderResources;
         this.configFunctionWrapper = configFunctionWrapper;
     }
@@ -33,7 +32,7 @@ public class EsvParseWrapper extends EsvParse {
 
     @Override
     public Result<JsglrParseOutput, JsglrParseException> exec(ExecContext context, JsglrParseTaskInput input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         // TODO: instead of requiring all origins for each file to parse, only require the origins that corresponds to a certain file.
         input.rootDirectoryHint().ifPresent(d -> configFunctionWrapper.get().apply(context, d).ifOk(o -> o.ifSome(c -> c.sourceFileOrigins.forEach(context::require))));
         return super.exec(context, input);
@@ -13,7 +13,6 @@ import mb.jsglr.pie.JsglrParseTaskInput;
 import mb.pie.api.ExecContext;
 import mb.pie.api.None;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
 import mb.resource.util.SeparatorUtil;
 import mb.sdf3.Sdf3ClassLoaderResources;
@@ -22,6 +21,7 @@ import mb.sdf3.task.Sdf3AnalyzeMulti;
 import mb.sdf3.task.Sdf3GetStrategoRuntimeProvider;
 import mb.sdf3.task.spoofax.Sdf3GetSourceFilesWrapper;
 import mb.sdf3.task.spoofax.Sdf3ParseWrapper;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.stratego.common.StrategoException;
 import mb.stratego.common.StrategoRuntime;
 import mb.stratego.common.StrategoTermMessageCollector;
@@ -58,7 +58,7 @@ public class Sdf3CheckSpec implements TaskDef<Sdf3SpecConfig, KeyedMessages> {
     }
 
     @Override public KeyedMessages exec(ExecContext context, Sdf3SpecConfig input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         final KeyedMessagesBuilder messagesBuilder = new KeyedMessagesBuilder();
 
         final StrategoRuntime strategoRuntime = context.require(getStrategoRuntimeProvider, None.instance).getValue().get();
@@ -1,6 +1,7 @@
 package mb.sdf3.task.spec;
 
 import mb.common.result.Result;
+import mb.jsglr.common.ParseTableStreams;
 import mb.pie.api.ExecContext;
 import mb.pie.api.Interactivity;
 import mb.pie.api.None;
@@ -16,8 +17,8 @@ import org.metaborg.sdf2table.parsetable.ParseTable;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
-import java.nio.charset.StandardCharsets;
 import java.util.Set;
 
 @Sdf3Scope
@@ -108,7 +109,11 @@ public class Sdf3ParseTableToFile implements TaskDef<Sdf3ParseTableToFile.Input,
             .mapCatching(parseTable -> {
                 final HierarchicalResource atermOutputFile = context.getHierarchicalResource(input.atermOutputFile);
                 atermOutputFile.ensureFileExists();
-                atermOutputFile.writeString(ParseTableIO.generateATerm(parseTable).toString(), StandardCharsets.UTF_8);
+                // Write in binary ATerm format, which is faster to read than the textual format when loading the language.
+                try(final OutputStream stream = atermOutputFile.openWriteBuffered()) {
+                    ParseTableStreams.writeBinary(ParseTableIO.generateATerm(parseTable), stream);
+                    stream.flush();
+                }
                 context.provide(atermOutputFile);
 
                 final HierarchicalResource persistedOutputFile = context.getHierarchicalResource(input.persistedOutputFile);
@@ -5,12 +5,12 @@ import mb.common.message.Message;
 import mb.common.util.ListView;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
 import mb.sdf3.Sdf3ClassLoaderResources;
 import mb.sdf3.Sdf3Scope;
 import mb.sdf3.task.spec.Sdf3CheckSpec;
 import mb.sdf3.task.spec.Sdf3SpecConfig;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -38,7 +38,7 @@ public class Sdf3CheckMultiWrapper implements TaskDef<ResourcePath, KeyedMessage
     }
 
     @Override public KeyedMessages exec(ExecContext context, ResourcePath rootDirectory) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         return configFunctionWrapper.get().apply(context, rootDirectory).mapOrElse(
             o -> o.mapOrElse(
                 c -> checkWithConfig(context, c),
@@ -5,13 +5,13 @@ import mb.log.api.Logger;
 import mb.log.api.LoggerFactory;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.HierarchicalResource;
 import mb.resource.hierarchical.ResourcePath;
 import mb.sdf3.Sdf3ClassLoaderResources;
 import mb.sdf3.Sdf3Scope;
 import mb.sdf3.task.spec.Sdf3SpecConfig;
 import mb.sdf3.task.util.Sdf3Util;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -42,7 +42,7 @@ public class Sdf3GetSourceFilesWrapper implements TaskDef<ResourcePath, ListView
     }
 
     @Override public ListView<ResourcePath> exec(ExecContext context, ResourcePath rootDirectory) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         return configFunctionWrapper.get().apply(context, rootDirectory).mapThrowingOrElse(
             o -> o.mapThrowingOrElse(c -> getSourceFiles(context, c), () -> context.require(baseGetSourceFiles, rootDirectory)),
             e -> {
@@ -77,10 +77,13 @@ public class Sdf3GetSourceFilesWrapper implements TaskDef<ResourcePath, ListView
 
         // NOTE: Require directories recursively, so we re-execute whenever a file is added/removed from
         // a directory. Also require each directory separately, to ensure that changes in directories
-        // are properly detected in bottom-up builds.
-        directory.walkForEach(Sdf3Util.resourceWalker, Sdf3Util.directoryMatcher, context::require);
-        directory.walkForEach(Sdf3Util.resourceWalker, Sdf3Util.fileMatcher, file -> {
-            final ResourcePath path = file.getPath();
+        // are properly detected in bottom-up builds. Directories and files are visited in a single walk.
+        directory.walkForEach(Sdf3Util.resourceWalker, Sdf3Util.directoryMatcher.or(Sdf3Util.fileMatcher), resource -> {
+            if(resource.isDirectory()) {
+                context.require(resource);
+                return;
+            }
+            final ResourcePath path = resource.getPath();
             if(!path.equals(mainFile)) {
                 sourceFiles.add(path);
             }
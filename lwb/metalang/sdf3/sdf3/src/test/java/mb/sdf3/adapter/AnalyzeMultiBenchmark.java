@@ -0,0 +1,58 @@
+package mb.sdf3.adapter;
+
+import mb.common.result.Result;
+import mb.pie.api.MixedSession;
+import mb.resource.fs.FSResource;
+import mb.sdf3.task.Sdf3AnalyzeMulti;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the time to the first (cold) multi-file analysis against the number of files, with and without prefetching
+ * ASTs concurrently. Tagged with {@code benchmark}, and only enabled with {@code -Dbenchmark=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AnalyzeMultiBenchmark {
+    private static final int[] numFilesToMeasure = {10, 100, 500, 1000};
+
+    @Test void timeToFirstAnalysis() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            measure(numFilesToMeasure[0], null); // Warm up.
+            measure(numFilesToMeasure[0], executor);
+            for(int numFiles : numFilesToMeasure) {
+                final long serialNanos = measure(numFiles, null);
+                final long prefetchNanos = measure(numFiles, executor);
+                System.out.printf("%5d files: serial %6d ms, prefetching %6d ms, speedup %.2fx%n", numFiles, serialNanos / 1_000_000, prefetchNanos / 1_000_000, (double)serialNanos / prefetchNanos);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long measure(int numFiles, @Nullable Executor executor) throws Exception {
+        final TestBase base = new TestBase() {};
+        base.analyze.setAstPrefetchExecutor(executor);
+        FSResource firstFile = null;
+        for(int i = 0; i < numFiles; ++i) {
+            final FSResource file = base.textFile("m" + i + ".sdf3", "module m" + i + " context-free syntax A" + i + " = <a" + i + "> A" + i + ".B" + i + " = <b <A" + i + ">>");
+            if(firstFile == null) firstFile = file;
+        }
+        assertNotNull(firstFile);
+        final long start = System.nanoTime();
+        try(final MixedSession session = base.newSession()) {
+            final Result<Sdf3AnalyzeMulti.SingleFileOutput, ?> result = session.require(base.singleFileAnalysisResultSupplier(firstFile));
+            assertTrue(result.isOk());
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,95 @@
+package mb.sdf3.adapter;
+
+import mb.common.result.Result;
+import mb.pie.api.MixedSession;
+import mb.resource.fs.FSResource;
+import mb.sdf3.task.Sdf3AnalyzeMulti;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that prefetching ASTs concurrently on cold multi-file analysis produces the same results as parsing serially.
+ */
+class AnalyzeMultiPrefetchTest extends TestBase {
+    private static final int numFiles = 10;
+
+    private final TestBase serial = new TestBase() {};
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach void closeSerialAndExecutor() throws Exception {
+        executor.shutdown();
+        serial.pieComponent.close();
+        serial.component.close();
+        serial.platformComponent.close();
+        serial.resourceServiceComponent.close();
+    }
+
+
+    @Test void prefetchedResultsEqualSerialResults() throws Exception {
+        analyze.setAstPrefetchExecutor(executor);
+        final ArrayList<FSResource> files = writeFiles(this, "A");
+        final ArrayList<FSResource> serialFiles = writeFiles(serial, "A");
+
+        assertResultsEqual(files, serialFiles);
+        assertTrue(parse.getPrefetchedTakenCount() > 0);
+    }
+
+    @Test void stalePrefetchedResultsAreDiscarded() throws Exception {
+        final ArrayList<FSResource> files = writeFiles(this, "A");
+        // Changes all files when the last file is submitted for prefetching, after the text of all files has been read.
+        analyze.setAstPrefetchExecutor(new Executor() {
+            private int submitted = 0;
+
+            @Override public void execute(Runnable command) {
+                if(++submitted == numFiles) {
+                    try {
+                        writeFiles(AnalyzeMultiPrefetchTest.this, "C");
+                    } catch(IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                command.run();
+            }
+        });
+        final ArrayList<FSResource> serialFiles = writeFiles(serial, "C");
+
+        assertResultsEqual(files, serialFiles);
+        assertEquals(0, parse.getPrefetchedTakenCount());
+        assertEquals(numFiles, parse.getPrefetchedDiscardedCount());
+    }
+
+
+    private static ArrayList<FSResource> writeFiles(TestBase base, String sortPrefix) throws IOException {
+        final ArrayList<FSResource> files = new ArrayList<>();
+        for(int i = 0; i < numFiles; ++i) {
+            final String sort = sortPrefix + i;
+            files.add(base.textFile("m" + i + ".sdf3", "module m" + i + " context-free syntax " + sort + " = <a" + i + "> " + sort + ".B" + i + " = <b <" + sort + ">>"));
+        }
+        return files;
+    }
+
+    private void assertResultsEqual(ArrayList<FSResource> files, ArrayList<FSResource> serialFiles) throws Exception {
+        try(final MixedSession session = newSession(); final MixedSession serialSession = serial.newSession()) {
+            for(int i = 0; i < numFiles; ++i) {
+                final Result<Sdf3AnalyzeMulti.SingleFileOutput, ?> result = session.require(singleFileAnalysisResultSupplier(files.get(i)));
+                final Result<Sdf3AnalyzeMulti.SingleFileOutput, ?> serialResult = serialSession.require(serial.singleFileAnalysisResultSupplier(serialFiles.get(i)));
+                assertTrue(result.isOk());
+                assertTrue(serialResult.isOk());
+                final Sdf3AnalyzeMulti.SingleFileOutput output = result.unwrap();
+                final Sdf3AnalyzeMulti.SingleFileOutput serialOutput = serialResult.unwrap();
+                assertEquals(serialOutput.result.parsedAst, output.result.parsedAst);
+                assertEquals(serialOutput.result.analyzedAst, output.result.analyzedAst);
+                assertEquals(serialOutput.result.messages, output.result.messages);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package mb.sdf3.adapter;
+
+import mb.common.region.Region;
+import mb.common.result.Result;
+import mb.jsglr.common.TermTracer;
+import mb.pie.api.MixedSession;
+import mb.resource.fs.FSResource;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.spoofax.interpreter.terms.IStrategoTerm;
+import org.spoofax.terms.visitor.AStrategoTermVisitor;
+import org.spoofax.terms.visitor.IStrategoTermVisitor;
+import org.spoofax.terms.visitor.StrategoTermVisitee;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Stack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the region selection queries of {@link TermTracer} return the same terms as traversing the AST, for all
+ * regions of a parsed AST.
+ */
+class TermTracerTest extends TestBase {
+    private static final String text = "module start context-free syntax A = <a> A.B = <b <A>> A.C = [c [A] [B]] {left}";
+
+    @Test void testQueriesEqualTraversal() throws Exception {
+        final FSResource resource = textFile("src/start.sdf3", text);
+        try(final MixedSession session = newSession()) {
+            final Result<IStrategoTerm, ?> result = session.require(parsedAstSupplier(resource));
+            assertTrue(result.isOk());
+            final IStrategoTerm ast = result.unwrap();
+            for(int start = 0; start <= text.length(); ++start) {
+                for(int end = start; end <= text.length(); ++end) {
+                    final Region region = Region.fromOffsets(start, end);
+                    assertSame(traverseSmallestTermEncompassingRegion(ast, region), TermTracer.getSmallestTermEncompassingRegion(ast, region), region.toString());
+                    assertSame(traverseBiggestTermInsideRegion(ast, region), TermTracer.getBiggestTermInsideRegion(ast, region), region.toString());
+                    assertSameTerms(traverseTermsInsideRegion(ast, region), TermTracer.getTermsInsideRegion(ast, region), region.toString());
+                    assertSameTerms(traverseTermsEncompassingRegion(ast, region), TermTracer.getTermsEncompassingRegion(ast, region), region.toString());
+                }
+            }
+        }
+    }
+
+
+    private static void assertSameTerms(Iterable<IStrategoTerm> expected, Iterable<IStrategoTerm> actual, String message) {
+        final Iterator<IStrategoTerm> actualIterator = actual.iterator();
+        for(IStrategoTerm expectedTerm : expected) {
+            assertTrue(actualIterator.hasNext(), message);
+            assertSame(expectedTerm, actualIterator.next(), message);
+        }
+        assertFalse(actualIterator.hasNext(), message);
+    }
+
+
+    // Implementations of the queries of TermTracer before they used TermRegionIndex.
+
+    private static IStrategoTerm traverseSmallestTermEncompassingRegion(IStrategoTerm ast, Region region) {
+        IStrategoTerm minimalTerm = ast;
+        int minimalLength = Integer.MAX_VALUE;
+        final Stack<IStrategoTerm> stack = new Stack<>();
+        stack.push(ast);
+        while(!stack.empty()) {
+            final IStrategoTerm term = stack.pop();
+            final @Nullable Region termRegion = TermTracer.getInFragmentRegion(term);
+            if(termRegion != null) {
+                final int length = termRegion.getLength();
+                if(termRegion.contains(region) && length < minimalLength) {
+                    minimalTerm = term;
+                    minimalLength = length;
+                }
+            }
+            for(int i = term.getSubtermCount() - 1; i >= 0; --i) {
+                stack.push(term.getSubterm(i));
+            }
+        }
+        return minimalTerm;
+    }
+
+    private static IStrategoTerm traverseBiggestTermInsideRegion(IStrategoTerm ast, Region region) {
+        IStrategoTerm maxTerm = ast;
+        int maxLength = -1;
+        final Stack<IStrategoTerm> stack = new Stack<>();
+        stack.push(ast);
+        while(!stack.empty()) {
+            final IStrategoTerm term = stack.pop();
+            final @Nullable Region termRegion = TermTracer.getInFragmentRegion(term);
+            if(termRegion != null && region.contains(termRegion)) {
+                final int length = termRegion.getLength();
+                if(length > maxLength) {
+                    maxTerm = term;
+                    maxLength = length;
+                }
+            } else {
+                for(int i = term.getSubtermCount() - 1; i >= 0; --i) {
+                    stack.push(term.getSubterm(i));
+                }
+            }
+        }
+        return maxTerm;
+    }
+
+    private static List<IStrategoTerm> traverseTermsInsideRegion(IStrategoTerm ast, Region region) {
+        final Stack<IStrategoTerm> stack = new Stack<>();
+        final List<IStrategoTerm> terms = new ArrayList<>();
+        stack.push(ast);
+        while(!stack.empty()) {
+            final IStrategoTerm term = stack.pop();
+            final @Nullable Region termRegion = TermTracer.getInFragmentRegion(term);
+            if(termRegion != null && region.contains(termRegion)) {
+                terms.add(term);
+            } else {
+                for(int i = term.getSubtermCount() - 1; i >= 0; --i) {
+                    stack.push(term.getSubterm(i));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static Collection<IStrategoTerm> traverseTermsEncompassingRegion(IStrategoTerm ast, Region region) {
+        final Collection<IStrategoTerm> parsed = new LinkedList<>();
+        final IStrategoTermVisitor visitor = new AStrategoTermVisitor() {
+            @Override public boolean visit(IStrategoTerm term) {
+                final @Nullable Region location = TermTracer.getInFragmentRegion(term);
+                if(location != null && location.contains(region)) {
+                    parsed.add(term);
+                    return false;
+                }
+                return true;
+            }
+        };
+        StrategoTermVisitee.bottomup(visitor, ast);
+        return parsed;
+    }
+}
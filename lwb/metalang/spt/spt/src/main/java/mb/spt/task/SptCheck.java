@@ -12,9 +12,9 @@ import mb.pie.api.MixedSession;
 import mb.pie.api.None;
 import mb.pie.api.TaskDef;
 import mb.pie.api.exec.CancelToken;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.ResourceKey;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.spt.SptClassLoaderResources;
 import mb.spt.SptScope;
 import mb.spt.fromterm.FromTermException;
@@ -102,7 +102,7 @@ public class SptCheck implements TaskDef<SptCheck.Input, KeyedMessages> {
     }
 
     @Override public KeyedMessages exec(ExecContext context, Input input) throws IOException, InterruptedException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         final KeyedMessagesBuilder messagesBuilder = new KeyedMessagesBuilder();
         final mb.jsglr.pie.JsglrParseTaskInput.Builder parseInputBuilder = parse.inputBuilder().withFile(input.file).rootDirectoryHint(Optional.ofNullable(input.rootDirectoryHint));
         final Result<JsglrParseOutput, JsglrParseException> parseResult = context.require(parse, parseInputBuilder.build());
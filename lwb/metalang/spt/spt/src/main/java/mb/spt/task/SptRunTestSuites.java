@@ -3,7 +3,6 @@ package mb.spt.task;
 import mb.common.util.ListView;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.ResourceKey;
 import mb.resource.hierarchical.HierarchicalResource;
 import mb.resource.hierarchical.ResourcePath;
@@ -12,12 +11,14 @@ import mb.resource.hierarchical.match.path.PathMatcher;
 import mb.resource.hierarchical.walk.ResourceWalker;
 import mb.spoofax.core.language.testrunner.TestResults;
 import mb.spoofax.core.language.testrunner.TestSuiteResult;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
@@ -68,20 +69,24 @@ public class SptRunTestSuites implements TaskDef<SptRunTestSuites.Input, TestRes
         return getClass().getName();
     }
 
-    @Override public TestResults exec(ExecContext context, SptRunTestSuites.Input input) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+    @Override public TestResults exec(ExecContext context, SptRunTestSuites.Input input) throws IOException, InterruptedException {
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         final ResourceWalker walker = ResourceWalker.ofPath(PathMatcher.ofNoHidden());
         final HierarchicalResource rootDirectory = context.getHierarchicalResource(input.rootDirectory);
         final HierarchicalResource selectedDirectory = context.getHierarchicalResource(input.directory);
         // Require directories recursively, so we re-execute whenever a file is added/removed from a directory.
         rootDirectory.walkForEach(walker, ResourceMatcher.ofDirectory(), context::require);
         final ResourceMatcher matcher = ResourceMatcher.ofFile().and(ResourceMatcher.ofPath(PathMatcher.ofExtensions("spt")));
-        final List<TestSuiteResult> suiteResults = new ArrayList<>();
-        selectedDirectory.walkForEach(walker, matcher, file -> {
-            final ResourceKey fileKey = file.getKey();
-            final TestSuiteResult result = context.require(check, new SptRunTestSuite.Input(fileKey, input.rootDirectory));
-            suiteResults.add(result);
-        });
+        // Collect and sort the test suite files first, such that test suites are run, and their results are listed, in
+        // the same order regardless of the order in which the file system lists files.
+        final List<ResourceKey> files = new ArrayList<>();
+        selectedDirectory.walkForEach(walker, matcher, file -> files.add(file.getKey()));
+        files.sort(Comparator.comparing(ResourceKey::asString));
+        final List<TestSuiteResult> suiteResults = new ArrayList<>(files.size());
+        for(ResourceKey file : files) {
+            context.cancelToken().throwIfCanceled();
+            suiteResults.add(context.require(check, new SptRunTestSuite.Input(file, input.rootDirectory)));
+        }
         return new TestResults(ListView.of(suiteResults));
     }
 }
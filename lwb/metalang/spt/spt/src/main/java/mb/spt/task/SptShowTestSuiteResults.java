@@ -3,12 +3,12 @@ package mb.spt.task;
 import mb.common.util.ListView;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.ResourceKey;
 import mb.resource.hierarchical.ResourcePath;
 import mb.spoofax.core.language.command.CommandFeedback;
 import mb.spoofax.core.language.command.ShowFeedback;
 import mb.spoofax.core.language.testrunner.TestResults;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.spt.SptClassLoaderResources;
 import mb.spoofax.core.language.testrunner.TestSuiteResult;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -57,7 +57,7 @@ public class SptShowTestSuiteResults implements TaskDef<SptShowTestSuiteResults.
 
     @Override
     public CommandFeedback exec(ExecContext context, Args input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         TestSuiteResult result = context.require(checkForOutput, new SptRunTestSuite.Input(input.file, input.rootDir));
         return CommandFeedback.of(ShowFeedback.showTestResults(new TestResults(ListView.of(result))));
     }
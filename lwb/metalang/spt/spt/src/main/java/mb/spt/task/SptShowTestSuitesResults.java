@@ -2,10 +2,10 @@ package mb.spt.task;
 
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
 import mb.spoofax.core.language.command.CommandFeedback;
 import mb.spoofax.core.language.command.ShowFeedback;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.spt.SptClassLoaderResources;
 import mb.spoofax.core.language.testrunner.TestResults;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -54,7 +54,7 @@ public class SptShowTestSuitesResults implements TaskDef<SptShowTestSuitesResult
 
     @Override
     public CommandFeedback exec(ExecContext context, Args input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         TestResults result = context.require(checkForOutputAggregator, new SptRunTestSuites.Input(input.directory, input.rootDir));
         return CommandFeedback.of(ShowFeedback.showTestResults(result));
     }
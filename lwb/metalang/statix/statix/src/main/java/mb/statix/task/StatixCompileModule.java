@@ -8,8 +8,8 @@ import mb.pie.api.Interactivity;
 import mb.pie.api.None;
 import mb.pie.api.TaskDef;
 import mb.pie.api.stamp.output.OutputStampers;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.statix.StatixClassLoaderResources;
 import mb.statix.StatixScope;
 import mb.statix.task.spoofax.StatixConfigFunctionWrapper;
@@ -110,9 +110,9 @@ public class StatixCompileModule implements TaskDef<StatixCompileModule.Input, R
 
     @Override
     public Result<Option<Output>, ?> exec(ExecContext context, StatixCompileModule.Input input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(Input.class), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(Output.class), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(Input.class), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(Output.class), new MemoizedHashResourceStamper());
 
         final ResourcePath rootDirectory = input.rootDirectory;
         final ResourcePath file = input.file;
@@ -8,8 +8,8 @@ import mb.common.util.ListView;
 import mb.pie.api.ExecContext;
 import mb.pie.api.Interactivity;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.statix.StatixClassLoaderResources;
 import mb.statix.StatixScope;
 import mb.statix.task.spoofax.StatixGetSourceFiles;
@@ -45,7 +45,7 @@ public class StatixCompileProject implements TaskDef<ResourcePath, Result<ListVi
 
     @Override
     public Result<ListView<StatixCompileModule.Output>, ?> exec(ExecContext context, ResourcePath input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
 
         final KeyedMessages messages = context.require(check, input);
         if(messages.containsError()) {
@@ -8,8 +8,8 @@ import mb.pie.api.ExecContext;
 import mb.pie.api.Interactivity;
 import mb.pie.api.None;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.statix.StatixClassLoaderResources;
 import mb.statix.StatixScope;
 import mb.statix.spec.Rule;
@@ -53,7 +53,7 @@ public class StatixCompileSpec implements TaskDef<ResourcePath, Result<Spec, ?>>
 
     @Override
     public Result<Spec, ?> exec(ExecContext context, ResourcePath rootDirectory) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
 
         final StrategoRuntime strategoRuntime = context.require(getStrategoRuntimeProvider, None.instance).getValue().get();
         return context.require(compileMergedProject, rootDirectory).mapThrowing(specAst -> toSpec(specAst, strategoRuntime.getTermFactory()));
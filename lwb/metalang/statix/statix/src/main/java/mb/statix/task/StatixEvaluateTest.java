@@ -14,11 +14,11 @@ import mb.nabl2.terms.unification.ud.IUniDisunifier;
 import mb.pie.api.ExecContext;
 import mb.pie.api.None;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.ResourceKey;
 import mb.resource.hierarchical.ResourcePath;
 import mb.spoofax.core.language.command.CommandFeedback;
 import mb.spoofax.core.language.command.ShowFeedback;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.statix.StatixClassLoaderResources;
 import mb.statix.StatixScope;
 import mb.statix.common.MessageUtils;
@@ -105,8 +105,8 @@ public class StatixEvaluateTest implements TaskDef<StatixEvaluateTest.Args, Comm
     }
 
     @Override public CommandFeedback exec(ExecContext context, Args input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(Args.class), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(Args.class), new MemoizedHashResourceStamper());
 
         final ResourcePath rootDirectory = input.rootDirectory;
         final ResourceKey file = input.file;
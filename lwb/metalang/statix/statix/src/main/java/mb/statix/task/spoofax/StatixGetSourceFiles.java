@@ -5,9 +5,9 @@ import mb.log.api.Logger;
 import mb.log.api.LoggerFactory;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.HierarchicalResource;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.statix.StatixClassLoaderResources;
 import mb.statix.StatixScope;
 import mb.statix.task.StatixConfig;
@@ -42,7 +42,7 @@ public class StatixGetSourceFiles implements TaskDef<ResourcePath, ListView<Reso
     }
 
     @Override public ListView<ResourcePath> exec(ExecContext context, ResourcePath rootDirectory) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         return configFunctionWrapper.get().apply(context, rootDirectory).mapThrowingOrElse(
             o -> o.mapThrowingOrElse(c -> getSourceFiles(context, c), () -> context.require(baseGetSourceFiles, rootDirectory)),
             e -> {
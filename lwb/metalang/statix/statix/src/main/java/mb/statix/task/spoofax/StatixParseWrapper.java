@@ -6,14 +6,13 @@ import mb.jsglr.common.JsglrParseOutput;
 import mb.jsglr.pie.JsglrParseTaskInput;
 import mb.pie.api.ExecContext;
 import mb.pie.api.stamp.output.OutputStampers;
-import mb.pie.api.stamp.resource.ResourceStampers;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.statix.StatixClassLoaderResources;
-import mb.statix.StatixParser;
+import mb.statix.StatixParserFactory;
 import mb.statix.StatixScope;
 import mb.statix.task.StatixParse;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
 @StatixScope
 public class StatixParseWrapper extends StatixParse {
@@ -22,10 +21,10 @@ public class StatixParseWrapper extends StatixParse {
 
     @Inject public StatixParseWrapper(
         StatixClassLoaderResources classLoaderResources,
-        Provider<StatixParser> parserProvider,
+        StatixParserFactory parserFactory,
         StatixConfigFunctionWrapper configFunctionWrapper
     ) {
-        super(classLoaderResources, parserProvider);
+        super(classLoaderResources, parserFactory);
         this.classLoaderResources = classLoaderResources;
         this.configFunctionWrapper = configFunctionWrapper;
     }
@@ -36,7 +35,7 @@ public class StatixParseWrapper extends StatixParse {
 
     @Override
     public Result<JsglrParseOutput, JsglrParseException> exec(ExecContext context, JsglrParseTaskInput input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         // TODO: instead of requiring all origins for each file to parse, only require the origins that corresponds to a certain file?
         input.rootDirectoryHint().ifPresent(d -> configFunctionWrapper.get().apply(context, d).ifOk(o -> o.ifSome(c -> c.sourceFileOrigins.forEach((origin -> context.require(origin, OutputStampers.inconsequential()))))));
         return super.exec(context, input);
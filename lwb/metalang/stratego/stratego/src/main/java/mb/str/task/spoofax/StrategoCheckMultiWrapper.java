@@ -5,8 +5,8 @@ import mb.common.message.Message;
 import mb.common.util.ListView;
 import mb.pie.api.ExecContext;
 import mb.pie.api.TaskDef;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.str.StrategoClassLoaderResources;
 import mb.str.StrategoScope;
 import mb.str.config.StrategoAnalyzeConfig;
@@ -39,7 +39,7 @@ public class StrategoCheckMultiWrapper implements TaskDef<ResourcePath, KeyedMes
     }
 
     @Override public KeyedMessages exec(ExecContext context, ResourcePath rootDirectory) throws IOException {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         return configFunctionWrapper.get().apply(context, rootDirectory).mapOrElse(
             o -> o.mapOrElse(
                 c -> checkWithConfig(context, c),
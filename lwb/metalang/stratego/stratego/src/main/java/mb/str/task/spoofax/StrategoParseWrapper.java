@@ -10,9 +10,9 @@ import mb.jsglr.pie.JsglrParseTaskDef;
 import mb.jsglr.pie.JsglrParseTaskInput;
 import mb.pie.api.ExecContext;
 import mb.pie.api.stamp.output.OutputStampers;
-import mb.pie.api.stamp.resource.ResourceStampers;
 import mb.resource.ResourceKey;
 import mb.resource.hierarchical.ResourcePath;
+import mb.spoofax.core.resource.MemoizedHashResourceStamper;
 import mb.str.StrategoClassLoaderResources;
 import mb.str.StrategoParseTable;
 import mb.str.StrategoParser;
@@ -47,7 +47,7 @@ public class StrategoParseWrapper extends JsglrParseTaskDef {
 
     @Override
     public Result<JsglrParseOutput, JsglrParseException> exec(ExecContext context, JsglrParseTaskInput input) throws Exception {
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
         // TODO: instead of requiring all origins for each file to parse, only require the origins that corresponds to a certain file.
         return Option.ofOptional(input.rootDirectoryHint()).mapThrowingOrElseThrowing(
             d -> configFunctionWrapper.get().apply(context, d).mapThrowingOrElse(
@@ -75,11 +75,11 @@ public class StrategoParseWrapper extends JsglrParseTaskDef {
         // Copied from `StrategoParse`, but uses a `Provider<StrategoParser>` provided by `strategoParserSelector`.
         context.require(classLoaderResources.tryGetAsNativeDefinitionResource("target/metaborg/sdf.tbl"));
         context.require(classLoaderResources.tryGetAsNativeDefinitionResource("target/metaborg/table.bin"));
-        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParser.class), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParserFactory.class), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParseTable.class), ResourceStampers.hashFile());
-        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParserSelector.class), ResourceStampers.hashFile());
+        context.require(classLoaderResources.tryGetAsNativeResource(getClass()), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParser.class), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParserFactory.class), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParseTable.class), new MemoizedHashResourceStamper());
+        context.require(classLoaderResources.tryGetAsNativeResource(StrategoParserSelector.class), new MemoizedHashResourceStamper());
         final Result<Provider<StrategoParser>, ?> provider = strategoParserSelector.getParserProvider(context, fileHint, rootDirectoryHint);
         try {
             final StrategoParser parser = provider.unwrap().get();
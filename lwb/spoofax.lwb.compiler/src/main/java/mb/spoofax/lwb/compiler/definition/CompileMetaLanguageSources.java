@@ -3,6 +3,9 @@ package mb.spoofax.lwb.compiler.definition;
 import mb.common.message.KeyedMessages;
 import mb.common.message.KeyedMessagesBuilder;
 import mb.common.result.Result;
+import mb.log.api.Level;
+import mb.log.api.Logger;
+import mb.log.api.LoggerFactory;
 import mb.pie.api.ExecContext;
 import mb.pie.api.Interactivity;
 import mb.pie.api.TaskDef;
@@ -19,12 +22,20 @@ import javax.inject.Inject;
 import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Compiles the meta-langauge sources by running their compilers.
  *
+ * The compilers form a dependency graph: the Stratego compiler uses the Stratego sources generated by the SDF3, Statix,
+ * and Dynamix compilers, whereas the SDF3, ESV, Statix, and Dynamix compilers are independent. The compilers are
+ * required in a topological order of this graph, one after another, as a PIE session executes tasks on a single thread.
+ * The time spent in each compiler, which is close to zero when it is up-to-date, is logged at debug level.
+ *
  * Takes as input a {@link ResourcePath} path to the root directory of the meta-language sources.
  *
  * Produces a {@link Result} that is either an output with all {@link KeyedMessages messages} produced by the
@@ -51,19 +62,22 @@ public class CompileMetaLanguageSources implements TaskDef<ResourcePath, Result<
     private final SpoofaxStatixCompile spoofaxStatixCompile;
     private final SpoofaxDynamixCompile spoofaxDynamixCompile;
     private final SpoofaxStrategoCompile spoofaxStrategoCompile;
+    private final Logger log;
 
     @Inject public CompileMetaLanguageSources(
         SpoofaxSdf3Compile spoofaxSdf3Compile,
         SpoofaxEsvCompile spoofaxEsvCompile,
         SpoofaxStatixCompile spoofaxStatixCompile,
         SpoofaxDynamixCompile spoofaxDynamixCompile,
-        SpoofaxStrategoCompile spoofaxStrategoCompile
+        SpoofaxStrategoCompile spoofaxStrategoCompile,
+        LoggerFactory loggerFactory
     ) {
         this.spoofaxSdf3Compile = spoofaxSdf3Compile;
         this.spoofaxEsvCompile = spoofaxEsvCompile;
         this.spoofaxStatixCompile = spoofaxStatixCompile;
         this.spoofaxDynamixCompile = spoofaxDynamixCompile;
         this.spoofaxStrategoCompile = spoofaxStrategoCompile;
+        this.log = loggerFactory.create(getClass());
     }
 
 
@@ -76,30 +90,34 @@ public class CompileMetaLanguageSources implements TaskDef<ResourcePath, Result<
         final ArrayList<ResourcePath> providedJavaFiles = new ArrayList<>();
         final KeyedMessagesBuilder messagesBuilder = new KeyedMessagesBuilder();
         final ArrayList<File> javaClassPaths = new ArrayList<>();
-        final Result<?, CompileMetaLanguageSourcesException> result = context.require(spoofaxSdf3Compile, rootDirectory)
+        final LinkedHashMap<String, Long> timings = new LinkedHashMap<>();
+        // Independent compilers.
+        final Result<?, CompileMetaLanguageSourcesException> sdf3Result = timed(timings, "SDF3", () -> context.require(spoofaxSdf3Compile, rootDirectory))
+            .ifOk(messagesBuilder::addMessages)
+            .mapErr(CompileMetaLanguageSourcesException::sdf3CompileFail);
+        final Result<?, CompileMetaLanguageSourcesException> esvResult = timed(timings, "ESV", () -> context.require(spoofaxEsvCompile, rootDirectory))
+            .ifOk(messagesBuilder::addMessages)
+            .mapErr(CompileMetaLanguageSourcesException::esvCompileFail);
+        final Result<?, CompileMetaLanguageSourcesException> statixResult = timed(timings, "Statix", () -> context.require(spoofaxStatixCompile, rootDirectory))
+            .ifOk(messagesBuilder::addMessages)
+            .mapErr(CompileMetaLanguageSourcesException::statixCompileFail);
+        final Result<?, CompileMetaLanguageSourcesException> dynamixResult = timed(timings, "Dynamix", () -> context.require(spoofaxDynamixCompile, rootDirectory))
             .ifOk(messagesBuilder::addMessages)
-            .mapErr(CompileMetaLanguageSourcesException::sdf3CompileFail)
-            .and(
-                context.require(spoofaxEsvCompile, rootDirectory)
-                    .ifOk(messagesBuilder::addMessages)
-                    .mapErr(CompileMetaLanguageSourcesException::esvCompileFail)
-            ).and(
-                context.require(spoofaxStatixCompile, rootDirectory)
-                    .ifOk(messagesBuilder::addMessages)
-                    .mapErr(CompileMetaLanguageSourcesException::statixCompileFail)
-            ).and(
-                context.require(spoofaxDynamixCompile, rootDirectory)
-                    .ifOk(messagesBuilder::addMessages)
-                    .mapErr(CompileMetaLanguageSourcesException::dynamixCompileFail)
-            ).and(
-                context.require(spoofaxStrategoCompile, rootDirectory)
-                    .ifOk(o -> {
-                        messagesBuilder.addMessages(o.messages());
-                        providedJavaFiles.addAll(o.providedJavaFiles());
-                        javaClassPaths.addAll(o.javaClassPaths());
-                    })
-                    .mapErr(CompileMetaLanguageSourcesException::strategoCompileFail)
-            );
+            .mapErr(CompileMetaLanguageSourcesException::dynamixCompileFail);
+        // Depends on the Stratego sources generated by the SDF3, Statix, and Dynamix compilers.
+        final Result<?, CompileMetaLanguageSourcesException> strategoResult = timed(timings, "Stratego", () -> context.require(spoofaxStrategoCompile, rootDirectory))
+            .ifOk(o -> {
+                messagesBuilder.addMessages(o.messages());
+                providedJavaFiles.addAll(o.providedJavaFiles());
+                javaClassPaths.addAll(o.javaClassPaths());
+            })
+            .mapErr(CompileMetaLanguageSourcesException::strategoCompileFail);
+        logTimings(rootDirectory, timings);
+        final Result<?, CompileMetaLanguageSourcesException> result = sdf3Result
+            .and(esvResult)
+            .and(statixResult)
+            .and(dynamixResult)
+            .and(strategoResult);
         if(result.isErr()) return result.ignoreValueIfErr();
         return Result.ofOk(Output.builder()
             .providedJavaFiles(providedJavaFiles)
@@ -109,6 +127,27 @@ public class CompileMetaLanguageSources implements TaskDef<ResourcePath, Result<
         );
     }
 
+    private static <T> T timed(LinkedHashMap<String, Long> timings, String name, Supplier<T> supplier) {
+        final long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            timings.put(name, System.nanoTime() - start);
+        }
+    }
+
+    private void logTimings(ResourcePath rootDirectory, LinkedHashMap<String, Long> timings) {
+        if(!log.isEnabled(Level.Debug)) return;
+        long total = 0;
+        final StringBuilder sb = new StringBuilder();
+        for(Map.Entry<String, Long> entry : timings.entrySet()) {
+            total += entry.getValue();
+            if(sb.length() > 0) sb.append(", ");
+            sb.append(entry.getKey()).append(": ").append(entry.getValue() / 1_000_000).append("ms");
+        }
+        log.debug("Compiled meta-language sources of '{}' in {}ms ({})", rootDirectory, total / 1_000_000, sb);
+    }
+
     @Override public boolean shouldExecWhenAffected(ResourcePath input, Set<?> tags) {
         return tags.isEmpty() || tags.contains(Interactivity.NonInteractive);
     }
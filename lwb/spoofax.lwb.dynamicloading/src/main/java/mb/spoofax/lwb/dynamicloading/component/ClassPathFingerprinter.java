@@ -0,0 +1,121 @@
+package mb.spoofax.lwb.dynamicloading.component;
+
+import mb.common.util.StreamIterable;
+import mb.resource.ReadableResource;
+import mb.resource.ResourceKey;
+import mb.resource.ResourceService;
+import mb.resource.hierarchical.HierarchicalResource;
+import mb.resource.hierarchical.ResourcePath;
+import mb.resource.hierarchical.match.ResourceMatcher;
+import mb.resource.hierarchical.walk.ResourceWalker;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Computes content-based fingerprints of Java class paths, used by {@link DynamicComponentManagerImpl} to detect that
+ * a dynamic component is reloaded from unchanged compiled sources. A fingerprint is a hash over the paths and content
+ * hashes of all files in the class path, regardless of modification dates.
+ *
+ * Content hashes of files are memoized by their last modified date and size, so that unchanged files are not read
+ * again when a fingerprint is recomputed. A memoized hash is only trusted when the file was last modified well before
+ * the hash was computed: file systems with a coarse modification date resolution may not change the date of a file
+ * that is rewritten shortly after it was hashed, so such files are hashed again. Not thread-safe.
+ */
+class ClassPathFingerprinter {
+    private static final Duration modificationDateResolution = Duration.ofSeconds(2);
+
+    private final HashMap<ResourceKey, FileHash> fileHashes = new HashMap<>();
+
+
+    /**
+     * Computes the fingerprint of {@code classPath}, which consists of directories and JAR files.
+     */
+    String fingerprint(Iterable<ResourcePath> classPath, ResourceService resourceService) throws IOException {
+        final Instant now = Instant.now();
+        final TreeMap<String, byte[]> hashes = new TreeMap<>();
+        for(ResourcePath path : classPath) {
+            final HierarchicalResource resource = resourceService.getHierarchicalResource(path);
+            if(resource.isDirectory()) {
+                try(final Stream<? extends HierarchicalResource> files = resource.walk(ResourceWalker.ofTrue(), ResourceMatcher.ofFile())) {
+                    for(HierarchicalResource file : new StreamIterable<>(files)) {
+                        hashes.put(file.getKey().toString(), hash(file, now));
+                    }
+                }
+            } else {
+                hashes.put(resource.getKey().toString(), hash(resource, now));
+            }
+        }
+        // Hash entries in order of their key, so that the order in which files are walked does not matter.
+        final MessageDigest digest = newDigest();
+        for(Map.Entry<String, byte[]> entry : hashes.entrySet()) {
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)0);
+            digest.update(entry.getValue());
+        }
+        final byte[] bytes = digest.digest();
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for(byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Drops all memoized content hashes.
+     */
+    void clear() {
+        fileHashes.clear();
+    }
+
+
+    private byte[] hash(ReadableResource resource, Instant now) throws IOException {
+        final ResourceKey key = resource.getKey();
+        if(!resource.exists()) {
+            fileHashes.remove(key);
+            return new byte[0];
+        }
+        final Instant lastModified = resource.getLastModifiedTime();
+        final long size = resource.getSize();
+        final @Nullable FileHash fileHash = fileHashes.get(key);
+        if(fileHash != null && fileHash.lastModified.equals(lastModified) && fileHash.size == size
+            && lastModified.plus(modificationDateResolution).isBefore(fileHash.hashedAt)) {
+            return fileHash.hash;
+        }
+        final byte[] hash = newDigest().digest(resource.readBytes());
+        fileHashes.put(key, new FileHash(lastModified, size, hash, now));
+        return hash;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException e) {
+            throw new RuntimeException("BUG: SHA-256 message digest is not available", e);
+        }
+    }
+
+
+    private static class FileHash {
+        private final Instant lastModified;
+        private final long size;
+        private final byte[] hash;
+        private final Instant hashedAt;
+
+        private FileHash(Instant lastModified, long size, byte[] hash, Instant hashedAt) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+            this.hashedAt = hashedAt;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import mb.resource.hierarchical.ResourcePath;
 import mb.spoofax.core.Coordinate;
 import mb.spoofax.core.component.Component;
 import mb.spoofax.core.component.ComponentImpl;
+import mb.spoofax.core.component.StaticComponentManager;
 import mb.spoofax.core.language.LanguageComponent;
 import mb.spoofax.core.resource.ResourcesComponent;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -24,6 +25,9 @@ public class DynamicComponent implements Component, AutoCloseable {
     private URLClassLoader classLoader;
     private ComponentImpl component;
     SerializingStoreInMemoryBuffer serializingStoreInMemoryBuffer;
+    @Nullable StaticComponentManager staticComponentManager;
+    @Nullable String participantClassQualifiedId;
+    @Nullable String classPathFingerprint;
     private boolean closed = false;
 
 
@@ -68,6 +72,7 @@ public class DynamicComponent implements Component, AutoCloseable {
             component = null;
             classLoader.close();
             classLoader = null;
+            staticComponentManager = null;
         } finally {
             closed = true;
         }
@@ -154,6 +159,22 @@ public class DynamicComponent implements Component, AutoCloseable {
         return closed;
     }
 
+    /**
+     * Returns true if this dynamically loaded component is open and was loaded with {@code staticComponentManager}, from
+     * participant class {@code participantClassQualifiedId}, and from a class path with fingerprint {@code
+     * classPathFingerprint}. Returns false when {@code classPathFingerprint} is {@code null}.
+     */
+    boolean isLoadedFrom(
+        StaticComponentManager staticComponentManager,
+        String participantClassQualifiedId,
+        @Nullable String classPathFingerprint
+    ) {
+        if(closed || classPathFingerprint == null) return false;
+        return this.staticComponentManager == staticComponentManager
+            && participantClassQualifiedId.equals(this.participantClassQualifiedId)
+            && classPathFingerprint.equals(this.classPathFingerprint);
+    }
+
     /**
      * Gets the {@link URLClassLoader classloader} of this dynamically loaded language.
      *
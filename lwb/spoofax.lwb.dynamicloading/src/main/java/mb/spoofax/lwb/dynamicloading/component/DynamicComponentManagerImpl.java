@@ -54,6 +54,7 @@ public class DynamicComponentManagerImpl<L extends LoggerComponent, R extends Re
     private final HashMap<Coordinate, DynamicComponent> dynamicComponentPerCoordinate = new HashMap<>();
     private final HashMap<ResourcePath, DynamicComponent> dynamicComponentPerCompiledSources = new HashMap<>();
     private final Set<DynamicComponentManagerListener> listeners = new LinkedHashSet<>();
+    private final ClassPathFingerprinter classPathFingerprinter = new ClassPathFingerprinter();
 
     public DynamicComponentManagerImpl(
         L loggerComponent,
@@ -87,6 +88,7 @@ public class DynamicComponentManagerImpl<L extends LoggerComponent, R extends Re
         dynamicComponentPerCompiledSources.clear();
         dynamicComponentPerCoordinate.clear();
         dynamicComponentPerFileExtension.clear();
+        classPathFingerprinter.clear();
         if(exceptions.size() > 0) {
             final RuntimeException exception = new RuntimeException("Closing one or more dynamically loaded components failed; resources may have been leaked");
             exceptions.forEach(exception::addSuppressed);
@@ -200,6 +202,15 @@ public class DynamicComponentManagerImpl<L extends LoggerComponent, R extends Re
         Iterable<ResourcePath> javaClassPaths,
         String participantClassQualifiedId
     ) throws DynamicLoadException {
+        // Keep the existing component when it was loaded from the same compiled sources. Reloading it would close its
+        // classloader and serialize and deserialize its entire PIE store, only to end up with an equivalent component.
+        final @Nullable String classPathFingerprint = fingerprintClassPath(javaClassPaths);
+        final @Nullable DynamicComponent existingComponent = dynamicComponentPerCompiledSources.get(rootDirectory);
+        if(existingComponent != null && existingComponent.isLoadedFrom(staticComponentManager, participantClassQualifiedId, classPathFingerprint)) {
+            logger.debug("Keeping dynamically loaded component '{}'; its compiled sources did not change", existingComponent);
+            return existingComponent;
+        }
+
         // Create classloader
         final URLClassLoader classLoader;
         try {
@@ -301,6 +312,9 @@ public class DynamicComponentManagerImpl<L extends LoggerComponent, R extends Re
         ); // NOTE: global providers from `result` are ignored, as it would require all participants to be reconstructed.
         final ComponentImpl component = result.component;
         final DynamicComponent dynamicComponent = new DynamicComponent(rootDirectory, component.coordinate, classLoader, component, serializingStoreInMemoryBuffer);
+        dynamicComponent.staticComponentManager = staticComponentManager;
+        dynamicComponent.participantClassQualifiedId = participantClassQualifiedId;
+        dynamicComponent.classPathFingerprint = classPathFingerprint;
         registerComponent(rootDirectory, dynamicComponent);
         component.started(staticComponentManager, this);
         return dynamicComponent;
@@ -383,6 +397,16 @@ public class DynamicComponentManagerImpl<L extends LoggerComponent, R extends Re
         listeners.forEach(l -> l.unload(component, removedFileExtensions));
     }
 
+    private @Nullable String fingerprintClassPath(Iterable<ResourcePath> javaClassPaths) {
+        try {
+            return classPathFingerprinter.fingerprint(javaClassPaths, baseResourceServiceComponent.getResourceService());
+        } catch(IOException e) {
+            // Not fingerprinting only costs always reloading the component.
+            logger.warn("Failed to fingerprint class path '{}'; dynamically loaded component will always be reloaded", e, javaClassPaths);
+            return null;
+        }
+    }
+
     private static URL[] classPathToUrl(Iterable<ResourcePath> classPath, ResourceService resourceService) throws MalformedURLException {
         final ArrayList<URL> classPathUrls = new ArrayList<>();
         for(ResourcePath path : classPath) {
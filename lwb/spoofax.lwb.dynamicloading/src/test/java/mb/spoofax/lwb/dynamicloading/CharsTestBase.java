@@ -103,6 +103,14 @@ class CharsTestBase extends TestBase {
         return session.updateAffectedBy(Collections.singleton(path));
     }
 
+    TopDownSession rewriteStylerUnchanged(MixedSession session, CompileLanguageDefinitionInput input) throws IOException, ExecException, InterruptedException {
+        final CfgEsvSource.Files files = input.compileMetaLanguageSourcesInput().esv().get().source().getFiles().orElseThrow(() -> new RuntimeException("Not using source files with ESV"));
+        final ResourcePath path = files.mainFile();
+        final WritableResource file = resourceService.getWritableResource(path);
+        file.writeString(file.readString());
+        return session.updateAffectedBy(Collections.singleton(path));
+    }
+
     TopDownSession modifyParser(MixedSession session, CompileLanguageDefinitionInput input) throws IOException, ExecException, InterruptedException {
         final CfgSdf3Source.Files files = input.compileMetaLanguageSourcesInput().sdf3().get().source().getFiles().orElseThrow(() -> new RuntimeException("Not using source files with SDF3"));
         final ResourcePath path = files.mainFile();
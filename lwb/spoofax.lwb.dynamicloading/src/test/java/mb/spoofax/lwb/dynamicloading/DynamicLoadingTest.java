@@ -372,6 +372,40 @@ class DynamicLoadingTest extends CharsTestBase {
         }
     }
 
+    @Test void testReloadReusesDynamicComponentOnlyWhenClassPathIsUnchanged() throws Exception {
+        CompileLanguageDefinitionInput previousInput;
+
+        final DynamicComponent initialComponent;
+        try(final MixedSession session = newSession()) {
+            initialComponent = requireDynamicLoad(session, rootDirectoryPath);
+            previousInput = requireCompileLanguageInput(session, rootDirectoryPath);
+        }
+
+        final DynamicComponent unchangedComponent;
+        try(final MixedSession session = newSession()) {
+            // Rewrite the styler with the same text, which rebuilds the language into identical class files.
+            final TopDownSession topDownSession = rewriteStylerUnchanged(session, previousInput);
+            unchangedComponent = getDynamicLoadOutput(topDownSession, rootDirectoryPath);
+            previousInput = requireCompileLanguageInput(topDownSession, rootDirectoryPath);
+        }
+        assertSame(initialComponent, unchangedComponent);
+        assertFalse(initialComponent.isClosed());
+
+        final DynamicComponent changedComponent;
+        try(final MixedSession session = newSession()) {
+            final TopDownSession topDownSession = modifyStyler(session, previousInput);
+            changedComponent = getDynamicLoadOutput(topDownSession, rootDirectoryPath);
+        }
+        assertNotSame(initialComponent, changedComponent);
+        assertTrue(initialComponent.isClosed());
+        assertFalse(changedComponent.isClosed());
+
+        try(final MixedSession session = newSession()) {
+            dynamicComponentManager.unloadFromCompiledSources(rootDirectoryPath);
+            session.deleteUnobservedTasks(t -> true, (t, r) -> false);
+        }
+    }
+
     @Disabled @Test void testDynamicLanguage() throws Exception {
         CompileLanguageDefinitionInput previousInput;
 